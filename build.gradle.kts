@@ -22,6 +22,7 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 
 	/* Banco */
 	runtimeOnly("com.mysql:mysql-connector-j")
@@ -35,8 +36,136 @@ dependencies {
 
 	// Swagger UI
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.8")
+
+	/* Índices em memória */
+	implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+	implementation("com.tdunning:t-digest:3.3")
+
+	/* Busca textual */
+	implementation("org.apache.lucene:lucene-core:9.12.0")
+	implementation("org.apache.lucene:lucene-analysis-common:9.12.0")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// Testes de estresse, benchmarks e a geração do OpenAPI ficam fora do "test" padrão
+tasks.named<Test>("test") {
+	useJUnitPlatform {
+		excludeTags("stress", "benchmark", "openapi")
+	}
+}
+
+tasks.register<Test>("stressTest") {
+	description = "Executa os testes de estresse de concorrência (tag \"stress\")."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("stress")
+	}
+}
+
+tasks.register<Test>("benchmarkTest") {
+	description = "Executa os benchmarks de algoritmos (tag \"benchmark\")."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	maxHeapSize = "2g"
+	testLogging.showStandardStreams = true
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+}
+
+/* ───────── OpenAPI gerado em build ───────── */
+// "./gradlew bootJar -PopenapiEstatico" gera o documento OpenAPI e o inclui no jar como recurso
+// estático (/openapi/cadastro.json), servido no perfil "prod" sem a varredura do springdoc.
+val diretorioOpenApi = layout.buildDirectory.dir("openapi")
+val gerarOpenApi by tasks.registering(Test::class) {
+	description = "Gera build/openapi/cadastro.json a partir dos controladores."
+	group = "documentation"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("openapi")
+	}
+	systemProperty("cadastro.openapi.saida", diretorioOpenApi.get().file("cadastro.json").asFile.absolutePath)
+	outputs.dir(diretorioOpenApi)
+}
+
+if (project.hasProperty("openapiEstatico")) {
+	tasks.bootJar {
+		dependsOn(gerarOpenApi)
+		from(diretorioOpenApi) {
+			into("BOOT-INF/classes/static/openapi")
+		}
+	}
+}
+
+/* ───────── Inicialização: Spring AOT + AppCDS ───────── */
+// "./gradlew bootJar -Paot" executa o processamento AOT do Spring e inclui o código gerado no jar.
+// O código AOT só é usado quando a aplicação sobe com -Dspring.aot.enabled=true.
+val aotHabilitado = project.hasProperty("aot")
+if (aotHabilitado) {
+	apply(plugin = "org.springframework.boot.aot")
+}
+
+val javaInicializacao = javaToolchains.launcherFor {
+	languageVersion.set(JavaLanguageVersion.of(21))
+}
+val diretorioExtraido = layout.buildDirectory.dir("extraido")
+val jarExtraido = tasks.bootJar.flatMap { it.archiveFileName }
+val arquivoCds = "cadastro.jsa"
+val flagsAot = if (aotHabilitado) listOf("-Dspring.aot.enabled=true") else emptyList()
+
+// Extrai o jar no layout recomendado para AppCDS (jar da aplicação + diretório lib/)
+val extrairJar by tasks.registering(Exec::class) {
+	description = "Extrai o bootJar em build/extraido para uso com AppCDS."
+	group = "inicializacao"
+	dependsOn(tasks.bootJar)
+	doFirst {
+		delete(diretorioExtraido)
+		commandLine(
+			javaInicializacao.get().executablePath.asFile.absolutePath,
+			"-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+			"extract", "--destination", diretorioExtraido.get().asFile.absolutePath
+		)
+	}
+}
+
+// Execução de treino: sobe o contexto (inclusive Hibernate, portanto precisa do banco),
+// encerra logo após o refresh e grava as classes carregadas no arquivo AppCDS.
+val treinarAppCds by tasks.registering(Exec::class) {
+	description = "Gera build/extraido/$arquivoCds a partir de uma execução de treino da aplicação."
+	group = "inicializacao"
+	dependsOn(extrairJar)
+	workingDir(diretorioExtraido)
+	doFirst {
+		commandLine(
+			listOf(javaInicializacao.get().executablePath.asFile.absolutePath,
+				"-XX:ArchiveClassesAtExit=$arquivoCds", "-Dspring.context.exit=onRefresh")
+				+ flagsAot + listOf("-jar", jarExtraido.get())
+		)
+	}
+}
+
+// Mede o tempo até a primeira requisição bem-sucedida, com e sem AppCDS (e AOT, se -Paot).
+tasks.register<JavaExec>("benchmarkInicializacao") {
+	description = "Compara o tempo até a primeira requisição com e sem AppCDS/AOT."
+	group = "inicializacao"
+	dependsOn(treinarAppCds, tasks.testClasses)
+	classpath = sourceSets.test.get().runtimeClasspath
+	mainClass.set("com.teste.cadastro.benchmark.BenchmarkInicializacao")
+	doFirst {
+		args(
+			javaInicializacao.get().executablePath.asFile.absolutePath,
+			diretorioExtraido.get().asFile.absolutePath,
+			jarExtraido.get(),
+			arquivoCds,
+			aotHabilitado.toString(),
+			(project.findProperty("repeticoes") ?: "5").toString()
+		)
+	}
+}
@@ -0,0 +1,137 @@
+package com.teste.cadastro.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.cadastro.laboratorios.LaboratorioService;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.pessoas.PessoaService;
+import com.teste.cadastro.propriedades.PropriedadeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fase de aquecimento executada na inicialização, antes de a aplicação ser marcada como pronta.
+ *
+ * Os {@link ApplicationRunner} rodam antes de o Spring publicar {@link ReadinessState#ACCEPTING_TRAFFIC},
+ * então enquanto o aquecimento não termina a probe de readiness ({@code /actuator/health/readiness})
+ * continua fora do ar e o balanceador não envia tráfego para a instância.
+ *
+ * O aquecimento exercita os caminhos de leitura principais contra os dados reais (planos de query do
+ * Hibernate, serializadores do Jackson, JIT) usando várias threads, o que também preenche o pool de conexões.
+ * A duração é publicada na métrica {@code cadastro.aquecimento.duracao}.
+ * Habilitado com {@code cadastro.aquecimento.habilitado=true}.
+ */
+@Component
+public class AquecimentoInicial implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoInicial.class);
+
+    private final PessoaService pessoaService;
+    private final PessoaRepository pessoaRepository;
+    private final LaboratorioService laboratorioService;
+    private final PropriedadeService propriedadeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ApplicationContext context;
+
+    @Value("${cadastro.aquecimento.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${cadastro.aquecimento.iteracoes:100}")
+    private int iteracoes;
+
+    @Value("${cadastro.aquecimento.threads:4}")
+    private int threads;
+
+    public AquecimentoInicial(PessoaService pessoaService,
+                              PessoaRepository pessoaRepository,
+                              LaboratorioService laboratorioService,
+                              PropriedadeService propriedadeService,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              ApplicationContext context) {
+        this.pessoaService = pessoaService;
+        this.pessoaRepository = pessoaRepository;
+        this.laboratorioService = laboratorioService;
+        this.propriedadeService = propriedadeService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!habilitado) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+        long inicio = System.nanoTime();
+        List<Long> ids = pessoaRepository.findAll(PageRequest.of(0, 20)).stream()
+                .map(Pessoa::getId)
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            int porThread = Math.max(1, iteracoes / Math.max(1, threads));
+            for (int t = 0; t < Math.max(1, threads); t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        exercitarLeituras(ids, i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(5, TimeUnit.MINUTES);
+            }
+        } catch (Exception e) {
+            // Um aquecimento incompleto não deve impedir a aplicação de subir
+            log.warn("Aquecimento interrompido: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        meterRegistry.ifAvailable(registry -> Timer.builder("cadastro.aquecimento.duracao")
+                .description("Duração da fase de aquecimento na inicialização")
+                .register(registry)
+                .record(duracaoNanos, TimeUnit.NANOSECONDS));
+        log.info("Aquecimento concluído em {} ms ({} iterações, {} threads)",
+                TimeUnit.NANOSECONDS.toMillis(duracaoNanos), iteracoes, threads);
+    }
+
+    /**
+     * Uma iteração do aquecimento: os mesmos serviços usados pelos endpoints de leitura,
+     * com o resultado serializado em JSON como na resposta HTTP.
+     */
+    private void exercitarLeituras(List<Long> ids, int iteracao) throws Exception {
+        if (!ids.isEmpty()) {
+            objectMapper.writeValueAsBytes(pessoaService.findById(ids.get(iteracao % ids.size())));
+        }
+        objectMapper.writeValueAsBytes(laboratorioService.findAll());
+        objectMapper.writeValueAsBytes(propriedadeService.findAll());
+        objectMapper.writeValueAsBytes(laboratorioService.listarLaboratoriosComResumo(
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), 0L));
+    }
+}
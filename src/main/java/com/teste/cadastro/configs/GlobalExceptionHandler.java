@@ -1,6 +1,9 @@
 package com.teste.cadastro.configs;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -38,6 +41,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
     }
 
+    /**
+     * Trata conflitos de concorrência otimista: o registro foi alterado por outra requisição
+     * depois de lido (versão diferente da informada ou da conferida no UPDATE).
+     * Retorna status 409 (Conflict) para que o cliente recarregue o registro antes de gravar.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("O registro foi alterado por outra requisição. Recarregue e tente novamente."));
+    }
+
+    /**
+     * Trata falhas de acesso ao banco de dados, como conexão derrubada ou consulta que
+     * excedeu o tempo limite. São falhas temporárias, não "registro não encontrado".
+     * Retorna status 503 (Service Unavailable) para que o cliente possa tentar novamente.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, QueryTimeoutException.class})
+    public ResponseEntity<String> handleDatabaseUnavailable(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("Banco de dados indisponível no momento. Tente novamente.");
+    }
+
     /**
      * Trata erros de validação de dados provenientes da anotação @Valid,
      * retornando lista de mensagens de erro para os campos inválidos.
@@ -0,0 +1,121 @@
+package com.teste.cadastro.configs.latencia;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link DataSource} que envolve o original e injeta latência, variação (jitter), travamentos
+ * e quedas de conexão na execução das instruções, conforme {@link LatenciaProperties}.
+ *
+ * As conexões e statements devolvidos são proxies dinâmicos: apenas os métodos {@code execute*}
+ * sofrem interferência, todo o resto é repassado diretamente ao objeto real.
+ *
+ * Fica abaixo do pool (envolve o DataSource do driver, veja {@link LatenciaConfig}): uma queda fecha
+ * a conexão física e lança a exceção pelos proxies do pool, que a descartam em vez de devolvê-la como saudável.
+ */
+public class InjetorLatencia extends DelegatingDataSource {
+
+    /**
+     * SQLState de "falha de comunicação", o mesmo usado pelo driver do MySQL quando a conexão cai.
+     */
+    static final String SQL_STATE_QUEDA = "08S01";
+
+    private final LatenciaProperties properties;
+
+    public InjetorLatencia(DataSource dataSource, LatenciaProperties properties) {
+        super(dataSource);
+        this.properties = properties;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolverConexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolverConexao(super.getConnection(username, password));
+    }
+
+    private Connection envolverConexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object resultado = invocar(conexao, method, args);
+                    // prepareStatement/prepareCall: o SQL já é conhecido na criação do statement
+                    if (resultado instanceof CallableStatement cs) {
+                        return envolverStatement(conexao, cs, CallableStatement.class, (String) args[0]);
+                    }
+                    if (resultado instanceof PreparedStatement ps) {
+                        return envolverStatement(conexao, ps, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (resultado instanceof Statement st) {
+                        return envolverStatement(conexao, st, Statement.class, null);
+                    }
+                    return resultado;
+                });
+    }
+
+    private Object envolverStatement(Connection conexao, Statement statement, Class<? extends Statement> tipo,
+                                     String sqlPreparado) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = sqlPreparado;
+                if (sql == null && args != null && args.length > 0 && args[0] instanceof String s) {
+                    sql = s;
+                }
+                interferir(conexao, TipoInstrucao.de(sql));
+            }
+            return invocar(statement, method, args);
+        };
+        return Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    /**
+     * Aplica a regra do tipo de instrução: eventualmente derruba a conexão,
+     * eventualmente trava, e sempre aplica o atraso fixo mais o jitter.
+     */
+    private void interferir(Connection conexao, TipoInstrucao tipo) throws SQLException {
+        LatenciaProperties.Regra regra = properties.regraPara(tipo);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (regra.getProbabilidadeQueda() > 0 && random.nextDouble() < regra.getProbabilidadeQueda()) {
+            // Fecha a conexão física, como faria uma queda de rede; o pool descarta a conexão pelo SQLState 08S01
+            conexao.close();
+            throw new SQLNonTransientConnectionException(
+                    "Conexão derrubada pelo injetor de latência (" + tipo + ").", SQL_STATE_QUEDA);
+        }
+
+        long espera = regra.getAtrasoMs();
+        if (regra.getJitterMs() > 0) {
+            espera += random.nextLong(regra.getJitterMs() + 1);
+        }
+        if (regra.getProbabilidadeTravamento() > 0 && random.nextDouble() < regra.getProbabilidadeTravamento()) {
+            espera += regra.getTravamentoMs();
+        }
+        if (espera > 0) {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTimeoutException("Execução interrompida durante a latência injetada.", e);
+            }
+        }
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
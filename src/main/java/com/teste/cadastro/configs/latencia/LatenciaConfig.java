@@ -0,0 +1,48 @@
+package com.teste.cadastro.configs.latencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Registra o {@link InjetorLatencia} abaixo do pool de conexões (Hikari) da aplicação
+ * quando {@code cadastro.latencia.habilitada=true}. Com a propriedade desligada
+ * (padrão) o DataSource original é usado sem nenhum proxy.
+ *
+ * O injetor envolve o DataSource do driver que o Hikari usa para abrir as conexões físicas, e não o
+ * pool: assim as exceções de queda passam pelos proxies do Hikari, que descartam a conexão quebrada.
+ * O pool só é iniciado na primeira conexão pedida, então o DataSource ainda pode ser trocado aqui.
+ */
+@Configuration
+public class LatenciaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LatenciaConfig.class);
+
+    @Bean
+    public static BeanPostProcessor injetorLatenciaPostProcessor(ObjectProvider<LatenciaProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !properties.getObject().isHabilitada()) {
+                    return bean;
+                }
+                if (bean instanceof HikariDataSource hikari && hikari.getDataSource() == null) {
+                    DataSource driver = new DriverDataSource(hikari.getJdbcUrl(), hikari.getDriverClassName(),
+                            hikari.getDataSourceProperties(), hikari.getUsername(), hikari.getPassword());
+                    hikari.setDataSource(new InjetorLatencia(driver, properties.getObject()));
+                } else {
+                    log.warn("Injetor de latência não aplicado ao DataSource '{}': apenas o Hikari com URL JDBC é suportado.",
+                            beanName);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.teste.cadastro.configs.latencia;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuração do injetor de latência no banco de dados (prefixo {@code cadastro.latencia}).
+ * Permite simular um MySQL lento ou instável para testes de resiliência e de carga,
+ * com regras independentes por tipo de instrução (SELECT, INSERT, UPDATE, DELETE e demais).
+ *
+ * Os valores podem ser alterados em tempo de execução (por exemplo, dentro de um teste);
+ * apenas a ativação ({@code habilitada}) é lida na inicialização.
+ */
+@Component
+@ConfigurationProperties(prefix = "cadastro.latencia")
+public class LatenciaProperties {
+
+    private boolean habilitada = false;
+
+    private Regra select = new Regra();
+    private Regra insert = new Regra();
+    private Regra update = new Regra();
+    private Regra delete = new Regra();
+    private Regra outros = new Regra();
+
+    /**
+     * Retorna a regra aplicável ao tipo de instrução informado.
+     *
+     * @param tipo Tipo da instrução SQL
+     * @return {@link Regra} configurada para o tipo
+     */
+    public Regra regraPara(TipoInstrucao tipo) {
+        return switch (tipo) {
+            case SELECT -> select;
+            case INSERT -> insert;
+            case UPDATE -> update;
+            case DELETE -> delete;
+            case OUTROS -> outros;
+        };
+    }
+
+    /**
+     * Restaura todas as regras para o padrão (sem atraso, sem falhas).
+     */
+    public void limpar() {
+        select = new Regra();
+        insert = new Regra();
+        update = new Regra();
+        delete = new Regra();
+        outros = new Regra();
+    }
+
+    // Getters e Setters
+    public boolean isHabilitada() {return habilitada;}
+    public void setHabilitada(boolean habilitada) {this.habilitada = habilitada;}
+
+    public Regra getSelect() {return select;}
+    public void setSelect(Regra select) {this.select = select;}
+
+    public Regra getInsert() {return insert;}
+    public void setInsert(Regra insert) {this.insert = insert;}
+
+    public Regra getUpdate() {return update;}
+    public void setUpdate(Regra update) {this.update = update;}
+
+    public Regra getDelete() {return delete;}
+    public void setDelete(Regra delete) {this.delete = delete;}
+
+    public Regra getOutros() {return outros;}
+    public void setOutros(Regra outros) {this.outros = outros;}
+
+    /**
+     * Regra de injeção para um tipo de instrução.
+     */
+    public static class Regra {
+
+        // Atraso fixo aplicado a toda execução
+        private volatile long atrasoMs = 0;
+
+        // Variação aleatória somada ao atraso, entre 0 e jitterMs
+        private volatile long jitterMs = 0;
+
+        // Probabilidade (0 a 1) de a execução "travar" por travamentoMs
+        private volatile double probabilidadeTravamento = 0;
+        private volatile long travamentoMs = 5000;
+
+        // Probabilidade (0 a 1) de a conexão ser derrubada durante a execução
+        private volatile double probabilidadeQueda = 0;
+
+        public long getAtrasoMs() {return atrasoMs;}
+        public void setAtrasoMs(long atrasoMs) {this.atrasoMs = atrasoMs;}
+
+        public long getJitterMs() {return jitterMs;}
+        public void setJitterMs(long jitterMs) {this.jitterMs = jitterMs;}
+
+        public double getProbabilidadeTravamento() {return probabilidadeTravamento;}
+        public void setProbabilidadeTravamento(double probabilidadeTravamento) {this.probabilidadeTravamento = probabilidadeTravamento;}
+
+        public long getTravamentoMs() {return travamentoMs;}
+        public void setTravamentoMs(long travamentoMs) {this.travamentoMs = travamentoMs;}
+
+        public double getProbabilidadeQueda() {return probabilidadeQueda;}
+        public void setProbabilidadeQueda(double probabilidadeQueda) {this.probabilidadeQueda = probabilidadeQueda;}
+    }
+}
@@ -0,0 +1,36 @@
+package com.teste.cadastro.configs.latencia;
+
+import java.util.Locale;
+
+/**
+ * Tipos de instrução SQL reconhecidos pelo injetor de latência.
+ */
+public enum TipoInstrucao {
+    SELECT, INSERT, UPDATE, DELETE, OUTROS;
+
+    /**
+     * Identifica o tipo da instrução pela primeira palavra do SQL.
+     *
+     * @param sql Instrução SQL (pode ser nula)
+     * @return Tipo correspondente, ou {@link #OUTROS} se não for reconhecido
+     */
+    public static TipoInstrucao de(String sql) {
+        if (sql == null) {
+            return OUTROS;
+        }
+        String inicio = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (inicio.startsWith("select") || inicio.startsWith("with") || inicio.startsWith("(")) {
+            return SELECT;
+        }
+        if (inicio.startsWith("insert")) {
+            return INSERT;
+        }
+        if (inicio.startsWith("update")) {
+            return UPDATE;
+        }
+        if (inicio.startsWith("delete")) {
+            return DELETE;
+        }
+        return OUTROS;
+    }
+}
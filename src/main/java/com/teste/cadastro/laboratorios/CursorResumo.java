@@ -0,0 +1,64 @@
+package com.teste.cadastro.laboratorios;
+
+import com.teste.cadastro.utils.Datas;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+/**
+ * Posição do último laboratório entregue em uma página do resumo, na ordenação
+ * {@code quantidade DESC, primeiraDataInicial ASC, id ASC}. A próxima página começa
+ * imediatamente depois dessa posição (paginação por chave, sem OFFSET).
+ *
+ * Trafega como texto opaco: Base64 URL-safe de {@code quantidade:microssegundos:id}.
+ */
+public record CursorResumo(long quantidade, long primeiraDataInicial, int id) {
+
+    /**
+     * Cursor posicionado no laboratório informado.
+     */
+    public static CursorResumo apos(LaboratorioResumoDTO resumo) {
+        return new CursorResumo(resumo.getQuantidadePessoas(), Datas.micros(resumo.getPrimeiraDataInicial()), resumo.getId());
+    }
+
+    /**
+     * Lê um cursor recebido na requisição.
+     *
+     * @throws IllegalArgumentException se o texto não for um cursor válido
+     */
+    public static CursorResumo decodificar(String texto) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(texto), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return new CursorResumo(Long.parseLong(partes[0]), Long.parseLong(partes[1]), Integer.parseInt(partes[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException e erros de Base64 também são IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
+    public String codificar() {
+        String texto = quantidade + ":" + primeiraDataInicial + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Indica se um laboratório com os valores informados vem depois do cursor na ordenação do resumo.
+     */
+    public boolean antecede(long quantidade, long primeiraDataInicial, int id) {
+        if (quantidade != this.quantidade) {
+            return quantidade < this.quantidade;
+        }
+        if (primeiraDataInicial != this.primeiraDataInicial) {
+            return primeiraDataInicial > this.primeiraDataInicial;
+        }
+        return id > this.id;
+    }
+
+    public ZonedDateTime getDataInicial() {
+        return Datas.data(primeiraDataInicial);
+    }
+}
@@ -0,0 +1,55 @@
+package com.teste.cadastro.laboratorios;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Conjunto de filtros do resumo de laboratórios, com a mesma semântica dos parâmetros
+ * de {@code GET /laboratorio/resumo}. Todos os filtros são opcionais, exceto a quantidade mínima.
+ */
+public class FiltroResumo {
+
+    private ZonedDateTime dataInicialInicio;
+    private ZonedDateTime dataInicialFim;
+    private ZonedDateTime dataFinalInicio;
+    private ZonedDateTime dataFinalFim;
+    private String observacoes;
+
+    @NotNull(message = "A quantidade mínima é obrigatória.")
+    @Min(value = 0, message = "A quantidade mínima deve ser igual ou maior que zero.")
+    private Long quantidadeMinima;
+
+    public FiltroResumo() {}
+
+    public FiltroResumo(ZonedDateTime dataInicialInicio, ZonedDateTime dataInicialFim,
+                        ZonedDateTime dataFinalInicio, ZonedDateTime dataFinalFim,
+                        String observacoes, Long quantidadeMinima) {
+        this.dataInicialInicio = dataInicialInicio;
+        this.dataInicialFim = dataInicialFim;
+        this.dataFinalInicio = dataFinalInicio;
+        this.dataFinalFim = dataFinalFim;
+        this.observacoes = observacoes;
+        this.quantidadeMinima = quantidadeMinima;
+    }
+
+    // Getters e Setters
+    public ZonedDateTime getDataInicialInicio() {return dataInicialInicio;}
+    public void setDataInicialInicio(ZonedDateTime dataInicialInicio) {this.dataInicialInicio = dataInicialInicio;}
+
+    public ZonedDateTime getDataInicialFim() {return dataInicialFim;}
+    public void setDataInicialFim(ZonedDateTime dataInicialFim) {this.dataInicialFim = dataInicialFim;}
+
+    public ZonedDateTime getDataFinalInicio() {return dataFinalInicio;}
+    public void setDataFinalInicio(ZonedDateTime dataFinalInicio) {this.dataFinalInicio = dataFinalInicio;}
+
+    public ZonedDateTime getDataFinalFim() {return dataFinalFim;}
+    public void setDataFinalFim(ZonedDateTime dataFinalFim) {this.dataFinalFim = dataFinalFim;}
+
+    public String getObservacoes() {return observacoes;}
+    public void setObservacoes(String observacoes) {this.observacoes = observacoes;}
+
+    public Long getQuantidadeMinima() {return quantidadeMinima;}
+    public void setQuantidadeMinima(Long quantidadeMinima) {this.quantidadeMinima = quantidadeMinima;}
+}
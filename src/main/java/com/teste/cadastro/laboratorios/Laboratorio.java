@@ -6,10 +6,14 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(
-        name = "tb_laboratorios"
+        name = "tb_laboratorios",
+        uniqueConstraints = @UniqueConstraint(name = Laboratorio.UK_NOME, columnNames = "nome")
 )
 public class Laboratorio {
 
+    /** Nome da restrição de unicidade do nome, usado para reconhecer a violação na gravação. */
+    public static final String UK_NOME = "uk_laboratorios_nome";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
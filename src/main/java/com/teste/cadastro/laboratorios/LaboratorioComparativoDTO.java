@@ -0,0 +1,37 @@
+package com.teste.cadastro.laboratorios;
+
+/**
+ * Quantidade de pessoas de um laboratório em dois períodos de dataInicial e a variação entre eles.
+ * {@code variacaoPercentual} é nulo quando o período anterior não tem pessoas.
+ */
+public class LaboratorioComparativoDTO {
+    private int id;
+    private String nome;
+    private long quantidadeAtual;
+    private long quantidadeAnterior;
+    private long variacao;
+    private Double variacaoPercentual;
+
+    // Construtor que corresponde aos parâmetros da consulta JPQL
+    public LaboratorioComparativoDTO(int id, String nome, Long quantidadeAtual, Long quantidadeAnterior) {
+        this.id = id;
+        this.nome = nome;
+        this.quantidadeAtual = quantidadeAtual == null ? 0 : quantidadeAtual;
+        this.quantidadeAnterior = quantidadeAnterior == null ? 0 : quantidadeAnterior;
+        this.variacao = this.quantidadeAtual - this.quantidadeAnterior;
+        this.variacaoPercentual = this.quantidadeAnterior == 0 ? null : 100.0 * variacao / this.quantidadeAnterior;
+    }
+
+    public int getId() {return id;}
+    public void setId(int id) {this.id = id;}
+    public String getNome() {return nome;}
+    public void setNome(String nome) {this.nome = nome;}
+    public long getQuantidadeAtual() {return quantidadeAtual;}
+    public void setQuantidadeAtual(long quantidadeAtual) {this.quantidadeAtual = quantidadeAtual;}
+    public long getQuantidadeAnterior() {return quantidadeAnterior;}
+    public void setQuantidadeAnterior(long quantidadeAnterior) {this.quantidadeAnterior = quantidadeAnterior;}
+    public long getVariacao() {return variacao;}
+    public void setVariacao(long variacao) {this.variacao = variacao;}
+    public Double getVariacaoPercentual() {return variacaoPercentual;}
+    public void setVariacaoPercentual(Double variacaoPercentual) {this.variacaoPercentual = variacaoPercentual;}
+}
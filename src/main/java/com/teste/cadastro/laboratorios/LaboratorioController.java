@@ -1,5 +1,9 @@
 package com.teste.cadastro.laboratorios;
 
+import com.teste.cadastro.pessoas.OcupacaoDTO;
+import com.teste.cadastro.pessoas.OcupacaoService;
+import com.teste.cadastro.pessoas.QuantidadePessoasDTO;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
@@ -23,9 +27,14 @@ import java.util.stream.Collectors;
 public class LaboratorioController {
 
     private final LaboratorioService laboratorioService;
+    private final OcupacaoService ocupacaoService;
+    private final SugestoesLaboratorioService sugestoesService;
 
-    public LaboratorioController(LaboratorioService laboratorioService) {
+    public LaboratorioController(LaboratorioService laboratorioService, OcupacaoService ocupacaoService,
+                                 SugestoesLaboratorioService sugestoesService) {
         this.laboratorioService = laboratorioService;
+        this.ocupacaoService = ocupacaoService;
+        this.sugestoesService = sugestoesService;
     }
 
     /**
@@ -38,6 +47,33 @@ public class LaboratorioController {
         return ResponseEntity.ok(laboratorioService.findAll());
     }
 
+    /**
+     * Sugere laboratórios cujo nome começa com o prefixo informado, para campos com autocompletar.
+     * Não diferencia maiúsculas/minúsculas nem acentos.
+     *
+     * @param prefixo Início do nome
+     * @param limite  Quantidade máxima de sugestões (padrão 10, máximo 100)
+     * @return Lista de {@link LaboratorioDTO} em ordem alfabética com status 200 (OK)
+     */
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<LaboratorioDTO>> sugerir(@RequestParam(defaultValue = "") String prefixo,
+                                                        @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(sugestoesService.sugerir(prefixo, limite));
+    }
+
+    /**
+     * Retorna vários laboratórios pelos IDs informados ({@code ?ids=1,2,3}) em uma única requisição.
+     * Os laboratórios seguem a ordem dos IDs pedidos; os IDs inexistentes são listados em
+     * {@code naoEncontrados}.
+     *
+     * @param ids IDs separados por vírgula (máximo 1000)
+     * @return {@link ResultadoPorIdsDTO} com status 200 (OK)
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ResultadoPorIdsDTO<LaboratorioDTO, Integer>> findByIds(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(laboratorioService.findByIds(ids));
+    }
+
     /**
      * Retorna um laboratório pelo seu ID.
      *
@@ -95,6 +131,37 @@ public class LaboratorioController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Retorna a quantidade de pessoas vinculadas ao laboratório, opcionalmente
+     * restrita às pessoas da propriedade informada.
+     *
+     * @param id            Identificador do laboratório
+     * @param propriedadeId Identificador da propriedade (opcional)
+     * @return {@link QuantidadePessoasDTO} com status 200 (OK)
+     */
+    @GetMapping("/{id}/pessoas/quantidade")
+    public ResponseEntity<QuantidadePessoasDTO> contarPessoas(@PathVariable Integer id,
+                                                             @RequestParam Optional<Integer> propriedadeId) {
+        return ResponseEntity.ok(laboratorioService.contarPessoas(id, propriedadeId));
+    }
+
+    /**
+     * Retorna a linha do tempo da quantidade de pessoas simultâneas no laboratório e o pico,
+     * dentro da janela informada.
+     *
+     * @param id  Identificador do laboratório
+     * @param de  Início da janela (opcional)
+     * @param ate Fim da janela (opcional)
+     * @return {@link OcupacaoDTO} com status 200 (OK)
+     * @throws jakarta.persistence.EntityNotFoundException se o ID não existir
+     */
+    @GetMapping("/{id}/ocupacao")
+    public ResponseEntity<OcupacaoDTO> ocupacao(@PathVariable Integer id,
+                                                @RequestParam Optional<ZonedDateTime> de,
+                                                @RequestParam Optional<ZonedDateTime> ate) {
+        return ResponseEntity.ok(ocupacaoService.calcularPorLaboratorio(id, de, ate));
+    }
+
     /**
      * Exclui um laboratório existente.
      *
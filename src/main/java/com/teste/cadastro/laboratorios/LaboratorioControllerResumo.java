@@ -1,5 +1,7 @@
 package com.teste.cadastro.laboratorios;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -26,6 +28,10 @@ public class LaboratorioControllerResumo {
 
     /**
      * Endpoint adicional: resumo de laboratórios com filtros.
+     * Com {@code aproximado=true} as quantidades são estimadas a partir de uma amostra,
+     * acompanhadas da margem de erro e do nível de confiança.
+     * Com {@code limite} a resposta é uma página ({@code itens} e {@code proximoCursor}) com os primeiros
+     * laboratórios; as páginas seguintes são pedidas repassando o {@code proximoCursor} em {@code cursor}.
      */
     @GetMapping("/resumo")
     public ResponseEntity<?> listarResumoLaboratorios(
@@ -34,15 +40,82 @@ public class LaboratorioControllerResumo {
             @RequestParam Optional<ZonedDateTime> dataFinalInicio,
             @RequestParam Optional<ZonedDateTime> dataFinalFim,
             @RequestParam Optional<String> observacoes,
-            @RequestParam(required = true) @Min(value = 0, message = "A quantidade mínima deve ser igual ou maior que zero.") Long quantidadeMinima
+            @RequestParam(required = true) @Min(value = 0, message = "A quantidade mínima deve ser igual ou maior que zero.") Long quantidadeMinima,
+            @RequestParam(defaultValue = "false") boolean aproximado,
+            @RequestParam(required = false) @Min(value = 1, message = "O limite deve ser maior que zero.")
+            @Max(value = 1000, message = "O limite deve ser no máximo 1000.") Integer limite,
+            @RequestParam Optional<String> cursor
     ) {
 
+        if (limite == null && cursor.isPresent()) {
+            throw new IllegalArgumentException("O cursor exige o parâmetro limite.");
+        }
+
+        if (limite != null) {
+            if (aproximado) {
+                throw new IllegalArgumentException("A paginação não está disponível para o resumo aproximado.");
+            }
+            return ResponseEntity.ok(laboratorioService.listarLaboratoriosComResumoPaginado(
+                    dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim, observacoes, quantidadeMinima,
+                    limite, cursor
+            ));
+        }
+
+        if (aproximado) {
+            return ResponseEntity.ok(laboratorioService.listarLaboratoriosComResumoAproximado(
+                    dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim, observacoes, quantidadeMinima
+            ));
+        }
+
         List<LaboratorioResumoDTO> resultado = laboratorioService.listarLaboratoriosComResumo(
                 dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim, observacoes, quantidadeMinima
         );
         return ResponseEntity.ok(resultado);
 
     }
-}
 
+    /**
+     * Comparativo entre dois períodos de dataInicial (por exemplo, mês atual e mês anterior):
+     * quantidade de pessoas por laboratório em cada período e a variação, calculados em uma única consulta.
+     */
+    @GetMapping("/resumo/comparativo")
+    public ResponseEntity<List<LaboratorioComparativoDTO>> compararPeriodos(
+            @RequestParam ZonedDateTime atualInicio,
+            @RequestParam ZonedDateTime atualFim,
+            @RequestParam ZonedDateTime anteriorInicio,
+            @RequestParam ZonedDateTime anteriorFim,
+            @RequestParam Optional<String> observacoes,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "A quantidade mínima deve ser igual ou maior que zero.") Long quantidadeMinima
+    ) {
+        return ResponseEntity.ok(laboratorioService.compararPeriodos(
+                atualInicio, atualFim, anteriorInicio, anteriorFim, observacoes, quantidadeMinima
+        ));
+    }
+
+    /**
+     * Resumo em lote: recebe vários conjuntos de filtros e devolve um resumo por conjunto, na mesma ordem,
+     * calculados sobre uma única leitura das pessoas.
+     */
+    @PostMapping("/resumo/lote")
+    public ResponseEntity<List<List<LaboratorioResumoDTO>>> resumirLote(@RequestBody List<@Valid FiltroResumo> filtros) {
+        return ResponseEntity.ok(laboratorioService.resumirLote(filtros));
+    }
 
+    /**
+     * Estatísticas de duração das estadias por laboratório (média, p50/p90/p99, mínimo e máximo, em segundos),
+     * com os mesmos filtros do resumo.
+     */
+    @GetMapping("/resumo/duracoes")
+    public ResponseEntity<List<LaboratorioDuracoesDTO>> listarDuracoesLaboratorios(
+            @RequestParam Optional<ZonedDateTime> dataInicialInicio,
+            @RequestParam Optional<ZonedDateTime> dataInicialFim,
+            @RequestParam Optional<ZonedDateTime> dataFinalInicio,
+            @RequestParam Optional<ZonedDateTime> dataFinalFim,
+            @RequestParam Optional<String> observacoes,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "A quantidade mínima deve ser igual ou maior que zero.") Long quantidadeMinima
+    ) {
+        return ResponseEntity.ok(laboratorioService.listarDuracoes(
+                dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim, observacoes, quantidadeMinima
+        ));
+    }
+}
@@ -0,0 +1,50 @@
+package com.teste.cadastro.laboratorios;
+
+/**
+ * Estatísticas da duração das estadias (dataFinal - dataInicial) das pessoas de um laboratório, em segundos.
+ * Média, mínimo e máximo são exatos; os percentis são estimados por t-digest.
+ */
+public class LaboratorioDuracoesDTO {
+    private int id;
+    private String nome;
+    private long quantidadePessoas;
+    private double mediaSegundos;
+    private double p50Segundos;
+    private double p90Segundos;
+    private double p99Segundos;
+    private double minimoSegundos;
+    private double maximoSegundos;
+
+    public LaboratorioDuracoesDTO(int id, String nome, long quantidadePessoas, double mediaSegundos,
+                                  double p50Segundos, double p90Segundos, double p99Segundos,
+                                  double minimoSegundos, double maximoSegundos) {
+        this.id = id;
+        this.nome = nome;
+        this.quantidadePessoas = quantidadePessoas;
+        this.mediaSegundos = mediaSegundos;
+        this.p50Segundos = p50Segundos;
+        this.p90Segundos = p90Segundos;
+        this.p99Segundos = p99Segundos;
+        this.minimoSegundos = minimoSegundos;
+        this.maximoSegundos = maximoSegundos;
+    }
+
+    public int getId() {return id;}
+    public void setId(int id) {this.id = id;}
+    public String getNome() {return nome;}
+    public void setNome(String nome) {this.nome = nome;}
+    public long getQuantidadePessoas() {return quantidadePessoas;}
+    public void setQuantidadePessoas(long quantidadePessoas) {this.quantidadePessoas = quantidadePessoas;}
+    public double getMediaSegundos() {return mediaSegundos;}
+    public void setMediaSegundos(double mediaSegundos) {this.mediaSegundos = mediaSegundos;}
+    public double getP50Segundos() {return p50Segundos;}
+    public void setP50Segundos(double p50Segundos) {this.p50Segundos = p50Segundos;}
+    public double getP90Segundos() {return p90Segundos;}
+    public void setP90Segundos(double p90Segundos) {this.p90Segundos = p90Segundos;}
+    public double getP99Segundos() {return p99Segundos;}
+    public void setP99Segundos(double p99Segundos) {this.p99Segundos = p99Segundos;}
+    public double getMinimoSegundos() {return minimoSegundos;}
+    public void setMinimoSegundos(double minimoSegundos) {this.minimoSegundos = minimoSegundos;}
+    public double getMaximoSegundos() {return maximoSegundos;}
+    public void setMaximoSegundos(double maximoSegundos) {this.maximoSegundos = maximoSegundos;}
+}
@@ -0,0 +1,36 @@
+package com.teste.cadastro.laboratorios;
+
+/**
+ * Evento publicado pelo {@link LaboratorioService} a cada gravação ou exclusão de laboratório,
+ * usado pelos índices em memória que guardam o nome do laboratório.
+ */
+public class LaboratorioEvento {
+
+    public enum Tipo { SALVO, REMOVIDO }
+
+    private final Tipo tipo;
+    private final Integer id;
+    private final String nome;
+
+    private LaboratorioEvento(Tipo tipo, Integer id, String nome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public static LaboratorioEvento salvo(LaboratorioDTO laboratorio) {
+        return new LaboratorioEvento(Tipo.SALVO, laboratorio.getId(), laboratorio.getNome());
+    }
+
+    public static LaboratorioEvento removido(Integer id) {
+        return new LaboratorioEvento(Tipo.REMOVIDO, id, null);
+    }
+
+    public Tipo getTipo() {return tipo;}
+    public Integer getId() {return id;}
+
+    /**
+     * @return Nome após a gravação, ou null quando o evento é de exclusão
+     */
+    public String getNome() {return nome;}
+}
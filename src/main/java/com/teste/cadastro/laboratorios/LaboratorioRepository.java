@@ -1,12 +1,17 @@
 package com.teste.cadastro.laboratorios;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para a entidade Laboratorio.
@@ -74,4 +79,102 @@ public interface LaboratorioRepository extends JpaRepository<Laboratorio, Intege
             @Param("quantidadeMinima") Long quantidadeMinima
     );
 
+    /**
+     * Versão paginada de {@link #listarLaboratoriosComResumo}: mesmos filtros, com {@code l.id} como último
+     * critério de desempate para que a ordenação seja total. A página começa logo após o cursor
+     * (paginação por chave aplicada no HAVING, sem OFFSET) e o tamanho vem de {@code pagina}, que vira
+     * um LIMIT: o banco ordena apenas os primeiros grupos em vez da lista inteira.
+     *
+     * @param cursorQuantidade Quantidade de pessoas do último laboratório entregue, ou null na primeira página
+     * @param cursorData       Menor dataInicial do último laboratório entregue
+     * @param cursorId         ID do último laboratório entregue
+     * @param pagina           Página com o limite de resultados (apenas a primeira página é usada)
+     * @return Lista de objetos LaboratorioResumoDTO, com a menor dataInicial de cada laboratório preenchida
+     */
+    @Query("SELECT new com.teste.cadastro.laboratorios.LaboratorioResumoDTO(" +
+            "l.id, l.nome, COUNT(p), MIN(p.dataInicial)) " +
+            "FROM Laboratorio l " +
+            "JOIN Pessoa p ON p.laboratorio = l " +
+            "WHERE (:dataInicialInicio IS NULL OR p.dataInicial >= :dataInicialInicio) " +
+            "AND (:dataInicialFim IS NULL OR p.dataInicial <= :dataInicialFim) " +
+            "AND (:dataFinalInicio IS NULL OR p.dataFinal >= :dataFinalInicio) " +
+            "AND (:dataFinalFim IS NULL OR p.dataFinal <= :dataFinalFim) " +
+            "AND (:observacoes IS NULL OR LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :observacoes, '%'))) " +
+            "GROUP BY l.id, l.nome " +
+            "HAVING COUNT(p) >= :quantidadeMinima " +
+            "AND (:cursorQuantidade IS NULL " +
+            "OR COUNT(p) < :cursorQuantidade " +
+            "OR (COUNT(p) = :cursorQuantidade AND MIN(p.dataInicial) > :cursorData) " +
+            "OR (COUNT(p) = :cursorQuantidade AND MIN(p.dataInicial) = :cursorData AND l.id > :cursorId)) " +
+            "ORDER BY COUNT(p) DESC, MIN(p.dataInicial) ASC, l.id ASC")
+    List<LaboratorioResumoDTO> listarLaboratoriosComResumoPaginado(
+            @Param("dataInicialInicio") ZonedDateTime dataInicialInicio,
+            @Param("dataInicialFim") ZonedDateTime dataInicialFim,
+            @Param("dataFinalInicio") ZonedDateTime dataFinalInicio,
+            @Param("dataFinalFim") ZonedDateTime dataFinalFim,
+            @Param("observacoes") String observacoes,
+            @Param("quantidadeMinima") Long quantidadeMinima,
+            @Param("cursorQuantidade") Long cursorQuantidade,
+            @Param("cursorData") ZonedDateTime cursorData,
+            @Param("cursorId") Integer cursorId,
+            Pageable pagina
+    );
+
+    /**
+     * Compara a quantidade de pessoas por laboratório em dois períodos de dataInicial (limites inclusivos)
+     * em uma única passada: o WHERE seleciona as pessoas de qualquer um dos períodos e cada contagem é
+     * uma soma condicional. Entram os laboratórios com ao menos {@code quantidadeMinima} pessoas em
+     * algum dos períodos, ordenados pela quantidade no período atual.
+     *
+     * @param observacoes Texto a ser buscado nas observações, ignorando maiúsculas/minúsculas
+     * @return Lista de {@link LaboratorioComparativoDTO}
+     */
+    @Query("SELECT new com.teste.cadastro.laboratorios.LaboratorioComparativoDTO(l.id, l.nome, " +
+            "SUM(CASE WHEN p.dataInicial >= :atualInicio AND p.dataInicial <= :atualFim THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.dataInicial >= :anteriorInicio AND p.dataInicial <= :anteriorFim THEN 1 ELSE 0 END)) " +
+            "FROM Laboratorio l " +
+            "JOIN Pessoa p ON p.laboratorio = l " +
+            "WHERE ((p.dataInicial >= :atualInicio AND p.dataInicial <= :atualFim) " +
+            "OR (p.dataInicial >= :anteriorInicio AND p.dataInicial <= :anteriorFim)) " +
+            "AND (:observacoes IS NULL OR LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :observacoes, '%'))) " +
+            "GROUP BY l.id, l.nome " +
+            "HAVING SUM(CASE WHEN p.dataInicial >= :atualInicio AND p.dataInicial <= :atualFim THEN 1 ELSE 0 END) >= :quantidadeMinima " +
+            "OR SUM(CASE WHEN p.dataInicial >= :anteriorInicio AND p.dataInicial <= :anteriorFim THEN 1 ELSE 0 END) >= :quantidadeMinima " +
+            "ORDER BY SUM(CASE WHEN p.dataInicial >= :atualInicio AND p.dataInicial <= :atualFim THEN 1 ELSE 0 END) DESC, l.id ASC")
+    List<LaboratorioComparativoDTO> compararPeriodos(
+            @Param("atualInicio") ZonedDateTime atualInicio,
+            @Param("atualFim") ZonedDateTime atualFim,
+            @Param("anteriorInicio") ZonedDateTime anteriorInicio,
+            @Param("anteriorFim") ZonedDateTime anteriorFim,
+            @Param("observacoes") String observacoes,
+            @Param("quantidadeMinima") Long quantidadeMinima
+    );
+
+    /**
+     * Lê o laboratório e o período de cada pessoa que atende aos mesmos filtros do resumo,
+     * por um cursor somente-leitura (streaming no driver do MySQL), para o cálculo das
+     * estatísticas de duração em uma única passada. Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de [laboratorioId, laboratorioNome, dataInicial, dataFinal]
+     * @see #listarLaboratoriosComResumo
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.id, l.nome, p.dataInicial, p.dataFinal " +
+            "FROM Laboratorio l " +
+            "JOIN Pessoa p ON p.laboratorio = l " +
+            "WHERE (:dataInicialInicio IS NULL OR p.dataInicial >= :dataInicialInicio) " +
+            "AND (:dataInicialFim IS NULL OR p.dataInicial <= :dataInicialFim) " +
+            "AND (:dataFinalInicio IS NULL OR p.dataFinal >= :dataFinalInicio) " +
+            "AND (:dataFinalFim IS NULL OR p.dataFinal <= :dataFinalFim) " +
+            "AND (:observacoes IS NULL OR LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :observacoes, '%')))")
+    Stream<Object[]> streamPeriodosParaResumo(
+            @Param("dataInicialInicio") ZonedDateTime dataInicialInicio,
+            @Param("dataInicialFim") ZonedDateTime dataInicialFim,
+            @Param("dataFinalInicio") ZonedDateTime dataFinalInicio,
+            @Param("dataFinalFim") ZonedDateTime dataFinalFim,
+            @Param("observacoes") String observacoes
+    );
 }
@@ -0,0 +1,23 @@
+package com.teste.cadastro.laboratorios;
+
+/**
+ * Resumo de laboratório com quantidade de pessoas estimada a partir de uma amostra.
+ * A quantidade real está em {@code quantidadePessoas ± margemErro} com o nível de confiança informado.
+ */
+public class LaboratorioResumoAproximadoDTO extends LaboratorioResumoDTO {
+
+    private Long margemErro;
+
+    private double nivelConfianca;
+
+    public LaboratorioResumoAproximadoDTO(int id, String nome, Long quantidadePessoas, Long margemErro, double nivelConfianca) {
+        super(id, nome, quantidadePessoas);
+        this.margemErro = margemErro;
+        this.nivelConfianca = nivelConfianca;
+    }
+
+    public Long getMargemErro() {return margemErro;}
+    public void setMargemErro(Long margemErro) {this.margemErro = margemErro;}
+    public double getNivelConfianca() {return nivelConfianca;}
+    public void setNivelConfianca(double nivelConfianca) {this.nivelConfianca = nivelConfianca;}
+}
@@ -1,8 +1,11 @@
 package com.teste.cadastro.laboratorios;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.ZonedDateTime;
+
 public class LaboratorioResumoDTO {
     private int id;
 
@@ -12,6 +15,10 @@ public class LaboratorioResumoDTO {
     @Min(value = 0, message = "Quantidade de pessoas não pode ser negativa.")
     private Long quantidadePessoas;
 
+    // Critério de desempate da ordenação, usado apenas para montar o cursor da paginação
+    @JsonIgnore
+    private ZonedDateTime primeiraDataInicial;
+
     // Construtor que corresponde aos parâmetros da consulta JPQL
     public LaboratorioResumoDTO(int id, String nome, Long quantidadePessoas) {
         this.id = id;
@@ -19,10 +26,17 @@ public class LaboratorioResumoDTO {
         this.quantidadePessoas = quantidadePessoas;
     }
 
+    public LaboratorioResumoDTO(int id, String nome, Long quantidadePessoas, ZonedDateTime primeiraDataInicial) {
+        this(id, nome, quantidadePessoas);
+        this.primeiraDataInicial = primeiraDataInicial;
+    }
+
     public int getId() {return id;}
     public void setId(int id) {this.id = id;}
     public String getNome() {return nome;}
     public void setNome(String nome) {this.nome = nome;}
     public Long getQuantidadePessoas() {return quantidadePessoas;}
     public void setQuantidadePessoas(Long quantidadePessoas) {this.quantidadePessoas = quantidadePessoas;}
+    public ZonedDateTime getPrimeiraDataInicial() {return primeiraDataInicial;}
+    public void setPrimeiraDataInicial(ZonedDateTime primeiraDataInicial) {this.primeiraDataInicial = primeiraDataInicial;}
 }
\ No newline at end of file
@@ -2,15 +2,36 @@ package com.teste.cadastro.laboratorios;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import com.tdunning.math.stats.MergingDigest;
+import com.tdunning.math.stats.TDigest;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.pessoas.QuantidadePessoasDTO;
+import com.teste.cadastro.pessoas.indices.AmostraPessoas;
+import com.teste.cadastro.pessoas.indices.IndiceBitmapPessoas;
+import com.teste.cadastro.pessoas.indices.IndiceTextoObservacoes;
+import com.teste.cadastro.pessoas.indices.ReplicaColunarPessoas;
+import com.teste.cadastro.utils.BuscaPorIds;
+import com.teste.cadastro.utils.Restricoes;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela lógica de negócio relacionada os Laboratórios.
@@ -19,12 +40,30 @@ import java.util.stream.Collectors;
 @Service
 public class LaboratorioService {
 
+    /** Quantidade máxima de conjuntos de filtros em um resumo em lote. */
+    public static final int LIMITE_FILTROS_LOTE = 100;
+
     private final LaboratorioRepository laboratorioRepository;
     private final EntityManager em;
+    private final ReplicaColunarPessoas replicaColunar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndiceBitmapPessoas indiceBitmap;
+    private final PessoaRepository pessoaRepository;
+    private final AmostraPessoas amostra;
+    private final IndiceTextoObservacoes indiceTexto;
 
-    public LaboratorioService(LaboratorioRepository laboratorioRepository, EntityManager em) {
+    public LaboratorioService(LaboratorioRepository laboratorioRepository, EntityManager em,
+                              ReplicaColunarPessoas replicaColunar, ApplicationEventPublisher eventPublisher,
+                              IndiceBitmapPessoas indiceBitmap, PessoaRepository pessoaRepository,
+                              AmostraPessoas amostra, IndiceTextoObservacoes indiceTexto) {
         this.laboratorioRepository = laboratorioRepository;
         this.em = em;
+        this.replicaColunar = replicaColunar;
+        this.eventPublisher = eventPublisher;
+        this.indiceBitmap = indiceBitmap;
+        this.pessoaRepository = pessoaRepository;
+        this.amostra = amostra;
+        this.indiceTexto = indiceTexto;
     }
 
     /**
@@ -51,6 +90,17 @@ public class LaboratorioService {
         return new LaboratorioDTO(laboratorio);
     }
 
+    /**
+     * Busca vários laboratórios pelos IDs, com uma única consulta por lote.
+     *
+     * @param ids IDs pedidos
+     * @return {@link ResultadoPorIdsDTO} com os laboratórios na ordem dos IDs e os IDs não encontrados
+     * @throws IllegalArgumentException se nenhum ID for informado ou se houver mais de {@link BuscaPorIds#LIMITE_IDS}
+     */
+    public ResultadoPorIdsDTO<LaboratorioDTO, Integer> findByIds(List<Integer> ids) {
+        return BuscaPorIds.buscar(ids, laboratorioRepository::findAllById, Laboratorio::getId, LaboratorioDTO::new);
+    }
+
     /**
      * Cria um novo laboratório.
      *
@@ -65,8 +115,9 @@ public class LaboratorioService {
         }
         Laboratorio laboratorio = new Laboratorio();
         laboratorio.setNome(dto.getNome());
-        laboratorio = laboratorioRepository.save(laboratorio);
-        return new LaboratorioDTO(laboratorio);
+        LaboratorioDTO salvo = new LaboratorioDTO(salvarComNomeUnico(laboratorio));
+        eventPublisher.publishEvent(LaboratorioEvento.salvo(salvo));
+        return salvo;
     }
 
     /**
@@ -88,22 +139,80 @@ public class LaboratorioService {
         }
 
         laboratorio.setNome(dto.getNome());
-        laboratorio = laboratorioRepository.save(laboratorio);
-        return new LaboratorioDTO(laboratorio);
+        LaboratorioDTO salvo = new LaboratorioDTO(salvarComNomeUnico(laboratorio));
+        eventPublisher.publishEvent(LaboratorioEvento.salvo(salvo));
+        return salvo;
+    }
+
+    /**
+     * Persiste o laboratório imediatamente no banco de dados.
+     * A verificação prévia de nome (existsByNome) não é atômica: duas requisições simultâneas podem
+     * passar por ela com o mesmo nome. Nesse caso a restrição de unicidade da coluna é quem barra
+     * a segunda gravação, e a violação é convertida na mesma mensagem da validação. Outras violações
+     * (como nulos ou tamanho excedido) são relançadas sem alteração.
+     *
+     * @param laboratorio Laboratório a ser persistido
+     * @return Laboratório persistido
+     * @throws IllegalArgumentException se o nome já estiver em uso
+     */
+    private Laboratorio salvarComNomeUnico(Laboratorio laboratorio) {
+        try {
+            return laboratorioRepository.saveAndFlush(laboratorio);
+        } catch (DataIntegrityViolationException e) {
+            // O código de chave duplicada cobre bancos criados antes de a restrição ter nome: além da
+            // chave primária, a do nome é a única chave única da tabela
+            if (Restricoes.violou(e, Laboratorio.UK_NOME) || Restricoes.codigoErro(e) == Restricoes.CHAVE_DUPLICADA) {
+                throw new IllegalArgumentException("Nome do laboratório já existe.");
+            }
+            throw e;
+        }
     }
 
     /**
      * Remove um laboratório pelo ID.
+     * Quem decide se o laboratório está em uso é o banco: o índice de bitmaps só antecipa a recusa,
+     * confirmada por uma consulta antes do 409, e quando ele não aponta pessoas (ou está defasado) a
+     * chave estrangeira de tb_pessoas rejeita o DELETE, também respondido com 409.
      *
      * @param id Identificador do laboratório
      * @throws EntityNotFoundException se o ID não existir
+     * @throws DataIntegrityViolationException se houver pessoas vinculadas ao laboratório
      */
     public void delete(Integer id) {
         boolean exists = laboratorioRepository.existsById(id);
         if (!exists) {
             throw new EntityNotFoundException("Laboratório com ID " + id + " não encontrado.");
         }
-        laboratorioRepository.deleteById(id);
+        String emUso = "Laboratório com ID " + id + " está em uso por pessoas.";
+        if (indiceBitmap.contarPorLaboratorio(id).orElse(0) > 0 && pessoaRepository.existsByLaboratorioId(id)) {
+            throw new DataIntegrityViolationException(emUso);
+        }
+        try {
+            laboratorioRepository.deleteById(id);
+            // Dentro de uma transação maior o DELETE só iria ao banco no commit, fora deste tratamento
+            laboratorioRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityViolationException(emUso, e);
+        }
+        eventPublisher.publishEvent(LaboratorioEvento.removido(id));
+    }
+
+    /**
+     * Conta as pessoas vinculadas ao laboratório, opcionalmente apenas as da propriedade informada.
+     * Responde pelo índice de bitmaps em memória quando disponível, senão consulta o banco.
+     * Um laboratório inexistente resulta em quantidade zero.
+     *
+     * @param id            Identificador do laboratório
+     * @param propriedadeId Identificador da propriedade (opcional)
+     * @return {@link QuantidadePessoasDTO} com a quantidade de pessoas
+     */
+    public QuantidadePessoasDTO contarPessoas(Integer id, Optional<Integer> propriedadeId) {
+        long quantidade = propriedadeId
+                .map(propriedade -> indiceBitmap.contarPorLaboratorioEPropriedade(id, propriedade)
+                        .orElseGet(() -> pessoaRepository.countByLaboratorioIdAndInfosPropriedadeId(id, propriedade)))
+                .orElseGet(() -> indiceBitmap.contarPorLaboratorio(id)
+                        .orElseGet(() -> pessoaRepository.countByLaboratorioId(id)));
+        return new QuantidadePessoasDTO(id, propriedadeId.orElse(null), quantidade);
     }
 
     /**
@@ -141,8 +250,423 @@ public class LaboratorioService {
             Optional<String> observacoes,
             Long quantidadeMinima
     ) {
+        validarDatas(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim);
+
+        // Com a réplica em memória habilitada e carregada, o resumo não consulta o banco
+        if (replicaColunar.isDisponivel()) {
+            return replicaColunar.resumir(new FiltroResumo(
+                    dataInicialInicio.orElse(null),
+                    dataInicialFim.orElse(null),
+                    dataFinalInicio.orElse(null),
+                    dataFinalFim.orElse(null),
+                    observacoes.orElse(null),
+                    quantidadeMinima
+            ));
+        }
+
+        // Termos longos o bastante são buscados pelo índice FULLTEXT em vez do LIKE
+        if (observacoes.isPresent() && indiceTexto.isAplicavel(observacoes.get())) {
+            return listarLaboratoriosComResumoFullText(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim,
+                    observacoes.get(), quantidadeMinima);
+        }
+
+        // Chama o repositório para realizar a consulta personalizada
+        return laboratorioRepository.listarLaboratoriosComResumo(
+                dataInicialInicio.orElse(null),
+                dataInicialFim.orElse(null),
+                dataFinalInicio.orElse(null),
+                dataFinalFim.orElse(null),
+                observacoes.orElse(null),
+                quantidadeMinima
+        );
+    }
+
+    /**
+     * Resumo com o filtro de observações resolvido por {@code MATCH ... AGAINST} sobre o índice FULLTEXT.
+     * Consulta nativa montada apenas com os filtros de data informados.
+     *
+     * @see IndiceTextoObservacoes
+     */
+    private List<LaboratorioResumoDTO> listarLaboratoriosComResumoFullText(
+            Optional<ZonedDateTime> dataInicialInicio,
+            Optional<ZonedDateTime> dataInicialFim,
+            Optional<ZonedDateTime> dataFinalInicio,
+            Optional<ZonedDateTime> dataFinalFim,
+            String observacoes,
+            Long quantidadeMinima
+    ) {
+        StringBuilder sql = new StringBuilder("SELECT l.id, l.nome, COUNT(*) FROM tb_pessoas p " +
+                "JOIN tb_laboratorios l ON l.id = p.laboratorio_id " +
+                "WHERE MATCH(p.observacoes) AGAINST (:observacoes IN BOOLEAN MODE)");
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("observacoes", indiceTexto.expressao(observacoes));
+        dataInicialInicio.ifPresent(data -> {
+            sql.append(" AND p.data_inicial >= :dataInicialInicio");
+            parametros.put("dataInicialInicio", data);
+        });
+        dataInicialFim.ifPresent(data -> {
+            sql.append(" AND p.data_inicial <= :dataInicialFim");
+            parametros.put("dataInicialFim", data);
+        });
+        dataFinalInicio.ifPresent(data -> {
+            sql.append(" AND p.data_final >= :dataFinalInicio");
+            parametros.put("dataFinalInicio", data);
+        });
+        dataFinalFim.ifPresent(data -> {
+            sql.append(" AND p.data_final <= :dataFinalFim");
+            parametros.put("dataFinalFim", data);
+        });
+        sql.append(" GROUP BY l.id, l.nome HAVING COUNT(*) >= :quantidadeMinima" +
+                " ORDER BY COUNT(*) DESC, MIN(p.data_inicial) ASC");
+        parametros.put("quantidadeMinima", quantidadeMinima);
+
+        Query query = em.createNativeQuery(sql.toString());
+        parametros.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> linhas = query.getResultList();
+        return linhas.stream()
+                .map(linha -> new LaboratorioResumoDTO(((Number) linha[0]).intValue(), (String) linha[1],
+                        ((Number) linha[2]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Página do resumo de laboratórios: os {@code limite} primeiros laboratórios na ordenação do resumo,
+     * a partir do cursor devolvido pela página anterior. Busca um laboratório além do limite para saber
+     * se existe uma próxima página.
+     *
+     * Pela réplica em memória os laboratórios são selecionados com um heap limitado; pelo banco o limite
+     * e o cursor são aplicados na própria consulta.
+     *
+     * @param limite Quantidade máxima de laboratórios na página
+     * @param cursor Cursor devolvido em {@code proximoCursor} pela página anterior (opcional)
+     * @return {@link PaginaResumoDTO} com os laboratórios e o cursor da próxima página
+     * @throws IllegalArgumentException caso as datas não estejam em conformidade ou o cursor seja inválido
+     * @see #listarLaboratoriosComResumo
+     */
+    public PaginaResumoDTO listarLaboratoriosComResumoPaginado(
+            Optional<ZonedDateTime> dataInicialInicio,
+            Optional<ZonedDateTime> dataInicialFim,
+            Optional<ZonedDateTime> dataFinalInicio,
+            Optional<ZonedDateTime> dataFinalFim,
+            Optional<String> observacoes,
+            Long quantidadeMinima,
+            int limite,
+            Optional<String> cursor
+    ) {
+        validarDatas(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim);
+        CursorResumo apos = cursor.map(CursorResumo::decodificar).orElse(null);
+
+        if (replicaColunar.isDisponivel()) {
+            return PaginaResumoDTO.de(replicaColunar.resumir(new FiltroResumo(
+                    dataInicialInicio.orElse(null),
+                    dataInicialFim.orElse(null),
+                    dataFinalInicio.orElse(null),
+                    dataFinalFim.orElse(null),
+                    observacoes.orElse(null),
+                    quantidadeMinima
+            ), apos, limite + 1), limite);
+        }
+
+        return PaginaResumoDTO.de(laboratorioRepository.listarLaboratoriosComResumoPaginado(
+                dataInicialInicio.orElse(null),
+                dataInicialFim.orElse(null),
+                dataFinalInicio.orElse(null),
+                dataFinalFim.orElse(null),
+                observacoes.orElse(null),
+                quantidadeMinima,
+                apos == null ? null : apos.quantidade(),
+                apos == null ? null : apos.getDataInicial(),
+                apos == null ? null : apos.id(),
+                PageRequest.of(0, limite + 1)
+        ), limite);
+    }
+
+    /**
+     * Compara a quantidade de pessoas por laboratório entre dois períodos de dataInicial (atual e anterior),
+     * com a variação absoluta e percentual. As duas contagens saem de uma única leitura de tb_pessoas:
+     * pela réplica em memória, uma varredura com um acumulador por período; pelo banco, uma consulta
+     * com somas condicionais.
+     *
+     * @param observacoes      Texto a ser buscado nas observações (opcional)
+     * @param quantidadeMinima Quantidade mínima de pessoas em pelo menos um dos períodos
+     * @return Lista de {@link LaboratorioComparativoDTO} ordenada pela quantidade no período atual
+     * @throws IllegalArgumentException se o início de algum período for posterior ao fim
+     */
+    public List<LaboratorioComparativoDTO> compararPeriodos(
+            ZonedDateTime atualInicio,
+            ZonedDateTime atualFim,
+            ZonedDateTime anteriorInicio,
+            ZonedDateTime anteriorFim,
+            Optional<String> observacoes,
+            Long quantidadeMinima
+    ) {
+        if (atualInicio.isAfter(atualFim)) {
+            throw new IllegalArgumentException("O início do período atual não pode ser posterior ao fim.");
+        }
+        if (anteriorInicio.isAfter(anteriorFim)) {
+            throw new IllegalArgumentException("O início do período anterior não pode ser posterior ao fim.");
+        }
+
+        if (!replicaColunar.isDisponivel()) {
+            return laboratorioRepository.compararPeriodos(atualInicio, atualFim, anteriorInicio, anteriorFim,
+                    observacoes.orElse(null), quantidadeMinima);
+        }
+
+        List<List<LaboratorioResumoDTO>> resumos = replicaColunar.resumir(List.of(
+                new FiltroResumo(atualInicio, atualFim, null, null, observacoes.orElse(null), 0L),
+                new FiltroResumo(anteriorInicio, anteriorFim, null, null, observacoes.orElse(null), 0L)));
+        Map<Integer, LaboratorioResumoDTO> anteriores = new HashMap<>();
+        resumos.get(1).forEach(r -> anteriores.put(r.getId(), r));
+
+        Map<Integer, LaboratorioComparativoDTO> comparativos = new HashMap<>();
+        for (LaboratorioResumoDTO r : resumos.get(0)) {
+            LaboratorioResumoDTO anterior = anteriores.get(r.getId());
+            comparativos.put(r.getId(), new LaboratorioComparativoDTO(r.getId(), r.getNome(),
+                    r.getQuantidadePessoas(), anterior == null ? 0L : anterior.getQuantidadePessoas()));
+        }
+        // Laboratórios que só têm pessoas no período anterior
+        for (LaboratorioResumoDTO r : resumos.get(1)) {
+            comparativos.computeIfAbsent(r.getId(),
+                    id -> new LaboratorioComparativoDTO(id, r.getNome(), 0L, r.getQuantidadePessoas()));
+        }
+        return comparativos.values().stream()
+                .filter(c -> c.getQuantidadeAtual() >= quantidadeMinima || c.getQuantidadeAnterior() >= quantidadeMinima)
+                .sorted(Comparator.comparingLong(LaboratorioComparativoDTO::getQuantidadeAtual).reversed()
+                        .thenComparingInt(LaboratorioComparativoDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Calcula o resumo de laboratórios para vários conjuntos de filtros de uma vez, com uma única leitura
+     * das pessoas em vez de uma consulta por conjunto.
+     *
+     * Pela réplica em memória, uma varredura com um acumulador por conjunto de filtros. Pelo banco, uma
+     * consulta montada dinamicamente que agrupa por laboratório e calcula, para cada conjunto, a contagem
+     * e a menor dataInicial com somas condicionais; a quantidade mínima e a ordenação são aplicadas aqui.
+     *
+     * @param filtros Conjuntos de filtros, com a mesma semântica dos parâmetros de {@code GET /laboratorio/resumo}
+     * @return Um resumo por conjunto de filtros, na ordem recebida
+     * @throws IllegalArgumentException se o lote estiver vazio, exceder {@link #LIMITE_FILTROS_LOTE}
+     *                                  ou algum conjunto tiver datas incoerentes
+     */
+    public List<List<LaboratorioResumoDTO>> resumirLote(List<FiltroResumo> filtros) {
+        if (filtros.isEmpty() || filtros.size() > LIMITE_FILTROS_LOTE) {
+            throw new IllegalArgumentException("O lote deve ter entre 1 e " + LIMITE_FILTROS_LOTE + " conjuntos de filtros.");
+        }
+        for (FiltroResumo filtro : filtros) {
+            validarDatas(Optional.ofNullable(filtro.getDataInicialInicio()), Optional.ofNullable(filtro.getDataInicialFim()),
+                    Optional.ofNullable(filtro.getDataFinalInicio()), Optional.ofNullable(filtro.getDataFinalFim()));
+        }
+
+        if (replicaColunar.isDisponivel()) {
+            return replicaColunar.resumir(filtros);
+        }
+
+        // Uma condição por conjunto de filtros; um conjunto sem filtros aceita todas as pessoas
+        List<String> condicoes = new ArrayList<>(filtros.size());
+        Map<String, Object> parametros = new HashMap<>();
+        for (int f = 0; f < filtros.size(); f++) {
+            condicoes.add(condicaoResumo(filtros.get(f), f, parametros));
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT l.id, l.nome");
+        for (String condicao : condicoes) {
+            jpql.append(", SUM(CASE WHEN ").append(condicao).append(" THEN 1 ELSE 0 END)")
+                    .append(", MIN(CASE WHEN ").append(condicao).append(" THEN p.dataInicial END)");
+        }
+        jpql.append(" FROM Laboratorio l JOIN Pessoa p ON p.laboratorio = l");
+        if (!condicoes.contains("1 = 1")) {
+            jpql.append(" WHERE ").append(condicoes.stream().map(c -> "(" + c + ")").collect(Collectors.joining(" OR ")));
+        }
+        jpql.append(" GROUP BY l.id, l.nome");
+
+        TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class);
+        parametros.forEach(query::setParameter);
+        List<Object[]> linhas = query.getResultList();
+
+        List<List<LaboratorioResumoDTO>> resultados = new ArrayList<>(filtros.size());
+        for (int f = 0; f < filtros.size(); f++) {
+            long quantidadeMinima = filtros.get(f).getQuantidadeMinima() == null ? 0 : filtros.get(f).getQuantidadeMinima();
+            List<LaboratorioResumoDTO> resumo = new ArrayList<>();
+            for (Object[] linha : linhas) {
+                long quantidade = ((Number) linha[2 + 2 * f]).longValue();
+                if (quantidade > 0 && quantidade >= quantidadeMinima) {
+                    resumo.add(new LaboratorioResumoDTO((Integer) linha[0], (String) linha[1], quantidade,
+                            (ZonedDateTime) linha[3 + 2 * f]));
+                }
+            }
+            // Mesma ordenação da consulta do resumo: COUNT(p) DESC, MIN(p.dataInicial) ASC, l.id ASC
+            resumo.sort(Comparator.comparingLong(LaboratorioResumoDTO::getQuantidadePessoas).reversed()
+                    .thenComparing(LaboratorioResumoDTO::getPrimeiraDataInicial)
+                    .thenComparingInt(LaboratorioResumoDTO::getId));
+            resultados.add(resumo);
+        }
+        return resultados;
+    }
+
+    /**
+     * Monta a condição JPQL de um conjunto de filtros do resumo, registrando os parâmetros
+     * com o sufixo do índice do conjunto.
+     */
+    private String condicaoResumo(FiltroResumo filtro, int indice, Map<String, Object> parametros) {
+        List<String> predicados = new ArrayList<>();
+        if (filtro.getDataInicialInicio() != null) {
+            predicados.add("p.dataInicial >= :dataInicialInicio" + indice);
+            parametros.put("dataInicialInicio" + indice, filtro.getDataInicialInicio());
+        }
+        if (filtro.getDataInicialFim() != null) {
+            predicados.add("p.dataInicial <= :dataInicialFim" + indice);
+            parametros.put("dataInicialFim" + indice, filtro.getDataInicialFim());
+        }
+        if (filtro.getDataFinalInicio() != null) {
+            predicados.add("p.dataFinal >= :dataFinalInicio" + indice);
+            parametros.put("dataFinalInicio" + indice, filtro.getDataFinalInicio());
+        }
+        if (filtro.getDataFinalFim() != null) {
+            predicados.add("p.dataFinal <= :dataFinalFim" + indice);
+            parametros.put("dataFinalFim" + indice, filtro.getDataFinalFim());
+        }
+        if (filtro.getObservacoes() != null) {
+            predicados.add("LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :observacoes" + indice + ", '%'))");
+            parametros.put("observacoes" + indice, filtro.getObservacoes());
+        }
+        return predicados.isEmpty() ? "1 = 1" : String.join(" AND ", predicados);
+    }
+
+    /**
+     * Versão aproximada do resumo de laboratórios: as quantidades são estimadas a partir de uma amostra
+     * de tamanho fixo de tb_pessoas e acompanhadas da margem de erro, então o tempo de resposta não depende
+     * do tamanho da tabela. A quantidade mínima é aplicada sobre a estimativa.
+     *
+     * Se a amostra não estiver disponível, responde com o resumo exato (margem de erro zero).
+     *
+     * @return Lista de {@link LaboratorioResumoAproximadoDTO} ordenada pela quantidade estimada
+     * @throws IllegalArgumentException caso as datas não estejam em conformidade
+     * @see #listarLaboratoriosComResumo
+     */
+    public List<LaboratorioResumoAproximadoDTO> listarLaboratoriosComResumoAproximado(
+            Optional<ZonedDateTime> dataInicialInicio,
+            Optional<ZonedDateTime> dataInicialFim,
+            Optional<ZonedDateTime> dataFinalInicio,
+            Optional<ZonedDateTime> dataFinalFim,
+            Optional<String> observacoes,
+            Long quantidadeMinima
+    ) {
+        if (!amostra.isDisponivel()) {
+            return listarLaboratoriosComResumo(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim,
+                    observacoes, quantidadeMinima).stream()
+                    .map(r -> new LaboratorioResumoAproximadoDTO(r.getId(), r.getNome(), r.getQuantidadePessoas(), 0L, 1.0))
+                    .collect(Collectors.toList());
+        }
+        validarDatas(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim);
+
+        List<AmostraPessoas.Estimativa> estimativas = amostra.estimar(new FiltroResumo(
+                dataInicialInicio.orElse(null),
+                dataInicialFim.orElse(null),
+                dataFinalInicio.orElse(null),
+                dataFinalFim.orElse(null),
+                observacoes.orElse(null),
+                quantidadeMinima
+        ));
 
-// Validação de dataInicialInicio
+        // A amostra guarda apenas o ID do laboratório; os nomes vêm em uma única consulta
+        Map<Integer, String> nomes = laboratorioRepository.findAllById(estimativas.stream()
+                        .map(AmostraPessoas.Estimativa::laboratorioId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Laboratorio::getId, Laboratorio::getNome));
+
+        return estimativas.stream()
+                .filter(e -> nomes.containsKey(e.laboratorioId()))
+                .map(e -> new LaboratorioResumoAproximadoDTO(e.laboratorioId(), nomes.get(e.laboratorioId()),
+                        e.quantidade(), e.margemErro(), AmostraPessoas.NIVEL_CONFIANCA))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Estatísticas da duração das estadias (dataFinal - dataInicial) por laboratório, com os mesmos
+     * filtros do resumo: média, mínimo e máximo exatos e percentis 50/90/99 estimados por t-digest.
+     *
+     * Os períodos são lidos em uma única passada por um cursor somente-leitura; cada laboratório acumula
+     * um t-digest de tamanho limitado, então a memória não cresce com a quantidade de pessoas.
+     *
+     * @return Lista de {@link LaboratorioDuracoesDTO} ordenada pela quantidade de pessoas
+     * @throws IllegalArgumentException caso as datas não estejam em conformidade
+     * @see #listarLaboratoriosComResumo
+     */
+    @Transactional(readOnly = true)
+    public List<LaboratorioDuracoesDTO> listarDuracoes(
+            Optional<ZonedDateTime> dataInicialInicio,
+            Optional<ZonedDateTime> dataInicialFim,
+            Optional<ZonedDateTime> dataFinalInicio,
+            Optional<ZonedDateTime> dataFinalFim,
+            Optional<String> observacoes,
+            Long quantidadeMinima
+    ) {
+        validarDatas(dataInicialInicio, dataInicialFim, dataFinalInicio, dataFinalFim);
+
+        Map<Integer, AcumuladorDuracoes> porLaboratorio = new HashMap<>();
+        try (Stream<Object[]> periodos = laboratorioRepository.streamPeriodosParaResumo(
+                dataInicialInicio.orElse(null),
+                dataInicialFim.orElse(null),
+                dataFinalInicio.orElse(null),
+                dataFinalFim.orElse(null),
+                observacoes.orElse(null))) {
+            periodos.forEach(periodo -> porLaboratorio
+                    .computeIfAbsent((Integer) periodo[0], id -> new AcumuladorDuracoes((String) periodo[1]))
+                    .adicionar(Duration.between((ZonedDateTime) periodo[2], (ZonedDateTime) periodo[3]).toMillis() / 1000.0));
+        }
+
+        return porLaboratorio.entrySet().stream()
+                .filter(e -> e.getValue().quantidade >= quantidadeMinima)
+                .map(e -> e.getValue().resumir(e.getKey()))
+                .sorted(Comparator.comparingLong(LaboratorioDuracoesDTO::getQuantidadePessoas).reversed()
+                        .thenComparingInt(LaboratorioDuracoesDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Acumula as durações de um laboratório: contagem, soma, mínimo e máximo exatos
+     * e um t-digest para os percentis.
+     */
+    private static final class AcumuladorDuracoes {
+        private final String nome;
+        private final TDigest digest = new MergingDigest(100);
+        private long quantidade;
+        private double soma;
+        private double minimo = Double.POSITIVE_INFINITY;
+        private double maximo = Double.NEGATIVE_INFINITY;
+
+        AcumuladorDuracoes(String nome) {
+            this.nome = nome;
+        }
+
+        void adicionar(double segundos) {
+            digest.add(segundos);
+            quantidade++;
+            soma += segundos;
+            minimo = Math.min(minimo, segundos);
+            maximo = Math.max(maximo, segundos);
+        }
+
+        LaboratorioDuracoesDTO resumir(int id) {
+            return new LaboratorioDuracoesDTO(id, nome, quantidade, soma / quantidade,
+                    digest.quantile(0.50), digest.quantile(0.90), digest.quantile(0.99), minimo, maximo);
+        }
+    }
+
+    /**
+     * Valida a coerência entre os filtros de data do resumo.
+     *
+     * @throws IllegalArgumentException caso as datas não estejam em conformidade
+     */
+    private void validarDatas(
+            Optional<ZonedDateTime> dataInicialInicio,
+            Optional<ZonedDateTime> dataInicialFim,
+            Optional<ZonedDateTime> dataFinalInicio,
+            Optional<ZonedDateTime> dataFinalFim
+    ) {
+        // Validação de dataInicialInicio
         dataInicialInicio.ifPresent(dataInicial -> {
             // Se dataInicialFim estiver presente e dataInicial for posterior a dataInicialFim
             if (dataInicialFim.isPresent() && dataInicial.isAfter(dataInicialFim.get())) {
@@ -199,15 +723,5 @@ public class LaboratorioService {
                 throw new IllegalArgumentException("A Data Final de Término não pode ser anterior à data Data Inicial de Término.");
             }
         });
-
-        // Chama o repositório para realizar a consulta personalizada
-        return laboratorioRepository.listarLaboratoriosComResumo(
-                dataInicialInicio.orElse(null),
-                dataInicialFim.orElse(null),
-                dataFinalInicio.orElse(null),
-                dataFinalFim.orElse(null),
-                observacoes.orElse(null),
-                quantidadeMinima
-        );
     }
 }
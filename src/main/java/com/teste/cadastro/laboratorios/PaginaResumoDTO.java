@@ -0,0 +1,38 @@
+package com.teste.cadastro.laboratorios;
+
+import java.util.List;
+
+/**
+ * Página do resumo de laboratórios. {@code proximoCursor} é nulo na última página.
+ */
+public class PaginaResumoDTO {
+
+    private List<LaboratorioResumoDTO> itens;
+
+    private String proximoCursor;
+
+    public PaginaResumoDTO(List<LaboratorioResumoDTO> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um item além do limite:
+     * se esse item veio, existe uma próxima página, que começa depois do último item entregue.
+     *
+     * @param resultado Até {@code limite + 1} laboratórios, já ordenados
+     * @param limite    Tamanho da página
+     */
+    public static PaginaResumoDTO de(List<LaboratorioResumoDTO> resultado, int limite) {
+        if (resultado.size() <= limite) {
+            return new PaginaResumoDTO(resultado, null);
+        }
+        List<LaboratorioResumoDTO> itens = resultado.subList(0, limite);
+        return new PaginaResumoDTO(itens, CursorResumo.apos(itens.get(limite - 1)).codificar());
+    }
+
+    public List<LaboratorioResumoDTO> getItens() {return itens;}
+    public void setItens(List<LaboratorioResumoDTO> itens) {this.itens = itens;}
+    public String getProximoCursor() {return proximoCursor;}
+    public void setProximoCursor(String proximoCursor) {this.proximoCursor = proximoCursor;}
+}
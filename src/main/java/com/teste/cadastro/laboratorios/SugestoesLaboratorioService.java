@@ -0,0 +1,68 @@
+package com.teste.cadastro.laboratorios;
+
+import com.teste.cadastro.utils.IndicePrefixos;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sugestões de laboratórios pelo início do nome, para os campos de seleção com autocompletar.
+ * Responde por um {@link IndicePrefixos} em memória, carregado na subida da aplicação e mantido
+ * pelos {@link LaboratorioEvento} aplicados após o commit.
+ */
+@Service
+public class SugestoesLaboratorioService {
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    private final LaboratorioRepository laboratorioRepository;
+    private final IndicePrefixos<LaboratorioDTO> indice = new IndicePrefixos<>(LaboratorioDTO::getNome);
+
+    public SugestoesLaboratorioService(LaboratorioRepository laboratorioRepository) {
+        this.laboratorioRepository = laboratorioRepository;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregarNaInicializacao() {
+        recarregar();
+    }
+
+    /**
+     * Descarta o conteúdo atual e recarrega o índice a partir do banco de dados.
+     */
+    public void recarregar() {
+        indice.carregar(() -> laboratorioRepository.findAll().stream()
+                .map(LaboratorioDTO::new)
+                .collect(Collectors.toMap(LaboratorioDTO::getId, Function.identity())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLaboratorio(LaboratorioEvento evento) {
+        if (evento.getTipo() == LaboratorioEvento.Tipo.REMOVIDO) {
+            indice.remover(evento.getId());
+        } else {
+            indice.gravar(evento.getId(), new LaboratorioDTO(evento.getId(), evento.getNome()));
+        }
+    }
+
+    /**
+     * Busca os laboratórios cujo nome começa com o prefixo, em ordem alfabética,
+     * sem diferenciar maiúsculas/minúsculas nem acentos.
+     *
+     * @param prefixo Início do nome
+     * @param limite  Quantidade máxima de sugestões (até {@link #LIMITE_MAXIMO})
+     * @return Lista de {@link LaboratorioDTO}
+     * @throws IllegalArgumentException se o limite estiver fora do intervalo permitido
+     */
+    public List<LaboratorioDTO> sugerir(String prefixo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return indice.sugerir(prefixo, limite);
+    }
+}
@@ -0,0 +1,34 @@
+package com.teste.cadastro.pessoas;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Sobreposição entre os períodos de duas pessoas na mesma propriedade,
+ * com o trecho [inicio, fim) em que as duas estão presentes.
+ */
+public class ConflitoDTO {
+    private Integer propriedadeId;
+    private Long pessoaId;
+    private Long outraPessoaId;
+    private ZonedDateTime inicio;
+    private ZonedDateTime fim;
+
+    public ConflitoDTO(Integer propriedadeId, Long pessoaId, Long outraPessoaId, ZonedDateTime inicio, ZonedDateTime fim) {
+        this.propriedadeId = propriedadeId;
+        this.pessoaId = pessoaId;
+        this.outraPessoaId = outraPessoaId;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    public Integer getPropriedadeId() {return propriedadeId;}
+    public void setPropriedadeId(Integer propriedadeId) {this.propriedadeId = propriedadeId;}
+    public Long getPessoaId() {return pessoaId;}
+    public void setPessoaId(Long pessoaId) {this.pessoaId = pessoaId;}
+    public Long getOutraPessoaId() {return outraPessoaId;}
+    public void setOutraPessoaId(Long outraPessoaId) {this.outraPessoaId = outraPessoaId;}
+    public ZonedDateTime getInicio() {return inicio;}
+    public void setInicio(ZonedDateTime inicio) {this.inicio = inicio;}
+    public ZonedDateTime getFim() {return fim;}
+    public void setFim(ZonedDateTime fim) {this.fim = fim;}
+}
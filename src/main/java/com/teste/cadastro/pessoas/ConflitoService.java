@@ -0,0 +1,102 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.pessoas.conflitos.DetectorConflitos;
+import com.teste.cadastro.utils.Datas;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que encontra pessoas com períodos sobrepostos na mesma propriedade (reservas duplicadas).
+ *
+ * O relatório completo lê os períodos ordenados por (propriedade, dataInicial), usando o índice
+ * idx_pessoas_propriedade_inicio, e os passa pelo {@link DetectorConflitos}. A verificação de uma
+ * única pessoa é uma consulta de sobreposição no mesmo índice.
+ */
+@Service
+public class ConflitoService {
+
+    public static final int LIMITE_PADRAO = 1000;
+    public static final int LIMITE_MAXIMO = 10_000;
+
+    private final PessoaRepository pessoaRepository;
+
+    public ConflitoService(PessoaRepository pessoaRepository) {
+        this.pessoaRepository = pessoaRepository;
+    }
+
+    /**
+     * Lista as sobreposições entre pessoas da mesma propriedade.
+     *
+     * @param propriedadeId Restringe a uma propriedade (opcional)
+     * @param limite        Quantidade máxima de sobreposições retornadas
+     * @return Lista de {@link ConflitoDTO} em ordem de propriedade e início da sobreposição
+     * @throws IllegalArgumentException se o limite estiver fora do intervalo permitido
+     */
+    @Transactional(readOnly = true)
+    public List<ConflitoDTO> listarConflitos(Optional<Integer> propriedadeId, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        List<ConflitoDTO> conflitos = new ArrayList<>();
+        // Datas lidas dos períodos ativos no detector: a sobreposição é devolvida com os valores originais,
+        // como em listarConflitos(id), e não reconstruída a partir dos microssegundos do detector.
+        // Cada período sai do mapa quando deixa os ativos, então o mapa não cresce com a propriedade
+        Map<Long, Periodo> periodosAtivos = new HashMap<>();
+        DetectorConflitos detector = new DetectorConflitos((grupo, id, outroId, inicio, fim) -> {
+            Periodo periodo = periodosAtivos.get(id);
+            Periodo outro = periodosAtivos.get(outroId);
+            // O detector entrega o período mais recente como outroId, então a sobreposição começa nele
+            conflitos.add(new ConflitoDTO((int) grupo, id, outroId, outro.inicio(),
+                    outro.fim().isBefore(periodo.fim()) ? outro.fim() : periodo.fim()));
+            return conflitos.size() < limite;
+        }, periodosAtivos::remove);
+        try (Stream<Object[]> periodos = pessoaRepository.streamPeriodosOrdenadosPorPropriedade(propriedadeId.orElse(null))) {
+            Iterator<Object[]> iterador = periodos.iterator();
+            while (iterador.hasNext() && !detector.isInterrompido()) {
+                Object[] linha = iterador.next();
+                Periodo periodo = new Periodo((ZonedDateTime) linha[2], (ZonedDateTime) linha[3]);
+                // Registrado antes de adicionar: o detector pode entregá-lo já nesta chamada como outroId
+                periodosAtivos.put((Long) linha[0], periodo);
+                detector.adicionar((Integer) linha[1], (Long) linha[0],
+                        Datas.micros(periodo.inicio()), Datas.micros(periodo.fim()));
+            }
+        }
+        return conflitos;
+    }
+
+    /**
+     * Lista as pessoas da mesma propriedade cujos períodos se sobrepõem ao da pessoa informada.
+     *
+     * @param id Identificador da pessoa
+     * @return Lista de {@link ConflitoDTO}, um para cada pessoa sobreposta
+     * @throws EntityNotFoundException se a pessoa não for encontrada
+     */
+    @Transactional(readOnly = true)
+    public List<ConflitoDTO> listarConflitos(Long id) {
+        Pessoa pessoa = pessoaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pessoa com ID " + id + " não encontrada."));
+        return pessoaRepository.listarSobrepostas(pessoa.getInfosPropriedade().getId(),
+                        pessoa.getDataInicial(), pessoa.getDataFinal(), pessoa.getId()).stream()
+                .map(outra -> new ConflitoDTO(
+                        pessoa.getInfosPropriedade().getId(),
+                        pessoa.getId(),
+                        outra.getId(),
+                        outra.getDataInicial().isAfter(pessoa.getDataInicial()) ? outra.getDataInicial() : pessoa.getDataInicial(),
+                        outra.getDataFinal().isBefore(pessoa.getDataFinal()) ? outra.getDataFinal() : pessoa.getDataFinal()))
+                .collect(Collectors.toList());
+    }
+
+    private record Periodo(ZonedDateTime inicio, ZonedDateTime fim) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.pessoas.indices.IndiceBitmapPessoas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Total da listagem filtrada de pessoas sem {@code COUNT(*)}, que custa tanto quanto a própria consulta.
+ *
+ * Sem filtros, ou filtrando apenas por laboratório e/ou propriedade, o total vem dos contadores do
+ * {@link IndiceBitmapPessoas}. Eles são atualizados após o commit, de forma assíncrona, e podem estar
+ * defasados em relação ao banco, então esse total também é informado como estimado. Com os demais filtros
+ * o total é a estimativa de linhas do otimizador ({@code rows * filtered / 100} do {@code EXPLAIN}), obtida
+ * sem ler a tabela; a estimativa vem das estatísticas dos índices e pode se afastar do valor real.
+ */
+@Component
+public class EstimativaTotalPessoas {
+
+    private static final Logger log = LoggerFactory.getLogger(EstimativaTotalPessoas.class);
+
+    private final IndiceBitmapPessoas indiceBitmap;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EstimativaTotalPessoas(IndiceBitmapPessoas indiceBitmap, DataSource dataSource) {
+        this.indiceBitmap = indiceBitmap;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @param filtro Filtros da listagem
+     * @return Total estimado pelos contadores ou pelo otimizador, ou vazio se nenhum estiver disponível
+     */
+    public Optional<TotalPessoas> estimar(FiltroPessoas filtro) {
+        OptionalLong contador = contarPeloIndice(filtro);
+        if (contador.isPresent()) {
+            return Optional.of(new TotalPessoas(contador.getAsLong(), false));
+        }
+        return estimarPeloOtimizador(filtro).stream()
+                .mapToObj(quantidade -> new TotalPessoas(quantidade, false))
+                .findFirst();
+    }
+
+    private OptionalLong contarPeloIndice(FiltroPessoas filtro) {
+        boolean apenasReferencias = (filtro.getNome() == null || filtro.getNome().isBlank())
+                && filtro.getDataInicialInicio() == null && filtro.getDataInicialFim() == null
+                && filtro.getDataFinalInicio() == null && filtro.getDataFinalFim() == null;
+        if (!apenasReferencias) {
+            return OptionalLong.empty();
+        }
+        if (filtro.getLaboratorioId() != null && filtro.getPropriedadeId() != null) {
+            return indiceBitmap.contarPorLaboratorioEPropriedade(filtro.getLaboratorioId(), filtro.getPropriedadeId());
+        }
+        if (filtro.getLaboratorioId() != null) {
+            return indiceBitmap.contarPorLaboratorio(filtro.getLaboratorioId());
+        }
+        if (filtro.getPropriedadeId() != null) {
+            return indiceBitmap.contarPorPropriedade(filtro.getPropriedadeId());
+        }
+        return indiceBitmap.contarTodas();
+    }
+
+    /**
+     * Executa o EXPLAIN de uma consulta com os mesmos predicados de {@link PessoaEspecificacoes}.
+     */
+    private OptionalLong estimarPeloOtimizador(FiltroPessoas filtro) {
+        StringBuilder sql = new StringBuilder("EXPLAIN SELECT id FROM tb_pessoas WHERE 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (filtro.getNome() != null && !filtro.getNome().isBlank()) {
+            sql.append(" AND nome LIKE ? ESCAPE '\\\\'");
+            parametros.add(PessoaEspecificacoes.padraoPrefixo(filtro.getNome().strip()));
+        }
+        adicionar(sql, parametros, " AND laboratorio_id = ?", filtro.getLaboratorioId());
+        adicionar(sql, parametros, " AND propriedade_id = ?", filtro.getPropriedadeId());
+        adicionar(sql, parametros, " AND data_inicial >= ?", filtro.getDataInicialInicio());
+        adicionar(sql, parametros, " AND data_inicial <= ?", filtro.getDataInicialFim());
+        adicionar(sql, parametros, " AND data_final >= ?", filtro.getDataFinalInicio());
+        adicionar(sql, parametros, " AND data_final <= ?", filtro.getDataFinalFim());
+
+        try {
+            List<Long> estimativas = jdbcTemplate.query(sql.toString(),
+                    (rs, linha) -> Math.round(rs.getLong("rows") * rs.getDouble("filtered") / 100.0),
+                    parametros.toArray());
+            return estimativas.isEmpty() ? OptionalLong.empty() : OptionalLong.of(estimativas.get(0));
+        } catch (DataAccessException e) {
+            log.warn("EXPLAIN indisponível para estimar o total de pessoas: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private void adicionar(StringBuilder sql, List<Object> parametros, String condicao, Object valor) {
+        if (valor != null) {
+            sql.append(condicao);
+            parametros.add(valor instanceof ZonedDateTime data ? Timestamp.from(data.toInstant()) : valor);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.teste.cadastro.pessoas;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Filtros opcionais da listagem de pessoas ({@code GET /pessoa}). Filtros nulos não restringem o resultado.
+ */
+public class FiltroPessoas {
+
+    private String nome;
+    private Integer laboratorioId;
+    private Integer propriedadeId;
+    private ZonedDateTime dataInicialInicio;
+    private ZonedDateTime dataInicialFim;
+    private ZonedDateTime dataFinalInicio;
+    private ZonedDateTime dataFinalFim;
+
+    public FiltroPessoas() {}
+
+    public FiltroPessoas(String nome, Integer laboratorioId, Integer propriedadeId,
+                         ZonedDateTime dataInicialInicio, ZonedDateTime dataInicialFim,
+                         ZonedDateTime dataFinalInicio, ZonedDateTime dataFinalFim) {
+        this.nome = nome;
+        this.laboratorioId = laboratorioId;
+        this.propriedadeId = propriedadeId;
+        this.dataInicialInicio = dataInicialInicio;
+        this.dataInicialFim = dataInicialFim;
+        this.dataFinalInicio = dataFinalInicio;
+        this.dataFinalFim = dataFinalFim;
+    }
+
+    /**
+     * @return true se nenhum filtro foi informado
+     */
+    public boolean isVazio() {
+        return (nome == null || nome.isBlank()) && laboratorioId == null && propriedadeId == null
+                && dataInicialInicio == null && dataInicialFim == null
+                && dataFinalInicio == null && dataFinalFim == null;
+    }
+
+    // Getters e Setters
+    public String getNome() {return nome;}
+    public void setNome(String nome) {this.nome = nome;}
+
+    public Integer getLaboratorioId() {return laboratorioId;}
+    public void setLaboratorioId(Integer laboratorioId) {this.laboratorioId = laboratorioId;}
+
+    public Integer getPropriedadeId() {return propriedadeId;}
+    public void setPropriedadeId(Integer propriedadeId) {this.propriedadeId = propriedadeId;}
+
+    public ZonedDateTime getDataInicialInicio() {return dataInicialInicio;}
+    public void setDataInicialInicio(ZonedDateTime dataInicialInicio) {this.dataInicialInicio = dataInicialInicio;}
+
+    public ZonedDateTime getDataInicialFim() {return dataInicialFim;}
+    public void setDataInicialFim(ZonedDateTime dataInicialFim) {this.dataInicialFim = dataInicialFim;}
+
+    public ZonedDateTime getDataFinalInicio() {return dataFinalInicio;}
+    public void setDataFinalInicio(ZonedDateTime dataFinalInicio) {this.dataFinalInicio = dataFinalInicio;}
+
+    public ZonedDateTime getDataFinalFim() {return dataFinalFim;}
+    public void setDataFinalFim(ZonedDateTime dataFinalFim) {this.dataFinalFim = dataFinalFim;}
+}
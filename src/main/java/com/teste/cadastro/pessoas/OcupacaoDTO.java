@@ -0,0 +1,35 @@
+package com.teste.cadastro.pessoas;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Linha do tempo da quantidade de pessoas simultâneas de um laboratório ou de uma propriedade
+ * dentro de uma janela, representada como uma função degrau, com o pico e quando ele começou.
+ */
+public class OcupacaoDTO {
+    private ZonedDateTime de;
+    private ZonedDateTime ate;
+    private int pico;
+    private ZonedDateTime inicioPico;
+    private List<PontoOcupacaoDTO> pontos;
+
+    public OcupacaoDTO(ZonedDateTime de, ZonedDateTime ate, int pico, ZonedDateTime inicioPico, List<PontoOcupacaoDTO> pontos) {
+        this.de = de;
+        this.ate = ate;
+        this.pico = pico;
+        this.inicioPico = inicioPico;
+        this.pontos = pontos;
+    }
+
+    public ZonedDateTime getDe() {return de;}
+    public void setDe(ZonedDateTime de) {this.de = de;}
+    public ZonedDateTime getAte() {return ate;}
+    public void setAte(ZonedDateTime ate) {this.ate = ate;}
+    public int getPico() {return pico;}
+    public void setPico(int pico) {this.pico = pico;}
+    public ZonedDateTime getInicioPico() {return inicioPico;}
+    public void setInicioPico(ZonedDateTime inicioPico) {this.inicioPico = inicioPico;}
+    public List<PontoOcupacaoDTO> getPontos() {return pontos;}
+    public void setPontos(List<PontoOcupacaoDTO> pontos) {this.pontos = pontos;}
+}
@@ -0,0 +1,167 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que calcula a ocupação (quantidade de pessoas simultâneas ao longo do tempo)
+ * de um laboratório ou de uma propriedade.
+ *
+ * Os períodos são lidos do banco em ordem de dataInicial por um cursor somente-leitura e processados
+ * por uma varredura (sweep-line): cada início incrementa a ocupação e os fins pendentes ficam em um
+ * heap de mínimo, liberados assim que a varredura passa por eles. A memória usada é proporcional às
+ * pessoas ativas ao mesmo tempo, não ao total de registros.
+ */
+@Service
+public class OcupacaoService {
+
+    private final PessoaRepository pessoaRepository;
+    private final LaboratorioRepository laboratorioRepository;
+    private final PropriedadeRepository propriedadeRepository;
+
+    public OcupacaoService(PessoaRepository pessoaRepository,
+                           LaboratorioRepository laboratorioRepository,
+                           PropriedadeRepository propriedadeRepository) {
+        this.pessoaRepository = pessoaRepository;
+        this.laboratorioRepository = laboratorioRepository;
+        this.propriedadeRepository = propriedadeRepository;
+    }
+
+    /**
+     * Calcula a ocupação de um laboratório na janela informada.
+     *
+     * @param laboratorioId Identificador do laboratório
+     * @param de            Início da janela (opcional)
+     * @param ate           Fim da janela (opcional)
+     * @return {@link OcupacaoDTO} com a linha do tempo e o pico
+     * @throws EntityNotFoundException se o laboratório não existir
+     * @throws IllegalArgumentException se o início da janela não for anterior ao fim
+     */
+    @Transactional(readOnly = true)
+    public OcupacaoDTO calcularPorLaboratorio(Integer laboratorioId, Optional<ZonedDateTime> de, Optional<ZonedDateTime> ate) {
+        validarJanela(de, ate);
+        if (!laboratorioRepository.existsById(laboratorioId)) {
+            throw new EntityNotFoundException("Laboratório com ID " + laboratorioId + " não encontrado.");
+        }
+        try (Stream<Object[]> periodos = pessoaRepository.streamPeriodosPorLaboratorio(
+                laboratorioId, de.orElse(null), ate.orElse(null))) {
+            return varrer(periodos, de.orElse(null), ate.orElse(null));
+        }
+    }
+
+    /**
+     * Calcula a ocupação de uma propriedade na janela informada.
+     *
+     * @param propriedadeId Identificador da propriedade
+     * @param de            Início da janela (opcional)
+     * @param ate           Fim da janela (opcional)
+     * @return {@link OcupacaoDTO} com a linha do tempo e o pico
+     * @throws EntityNotFoundException se a propriedade não existir
+     * @throws IllegalArgumentException se o início da janela não for anterior ao fim
+     */
+    @Transactional(readOnly = true)
+    public OcupacaoDTO calcularPorPropriedade(Integer propriedadeId, Optional<ZonedDateTime> de, Optional<ZonedDateTime> ate) {
+        validarJanela(de, ate);
+        if (!propriedadeRepository.existsById(propriedadeId)) {
+            throw new EntityNotFoundException("Propriedade com ID " + propriedadeId + " não encontrada.");
+        }
+        try (Stream<Object[]> periodos = pessoaRepository.streamPeriodosPorPropriedade(
+                propriedadeId, de.orElse(null), ate.orElse(null))) {
+            return varrer(periodos, de.orElse(null), ate.orElse(null));
+        }
+    }
+
+    private void validarJanela(Optional<ZonedDateTime> de, Optional<ZonedDateTime> ate) {
+        if (de.isPresent() && ate.isPresent() && !de.get().isBefore(ate.get())) {
+            throw new IllegalArgumentException("O início da janela deve ser anterior ao fim.");
+        }
+    }
+
+    /**
+     * Varredura sobre os períodos [dataInicial, dataFinal) em ordem de dataInicial, recortados pela janela.
+     * Fins e inícios no mesmo instante: os fins são aplicados primeiro, já que o período é semiaberto.
+     */
+    private OcupacaoDTO varrer(Stream<Object[]> periodos, ZonedDateTime de, ZonedDateTime ate) {
+        Varredura varredura = new Varredura();
+        if (de != null) {
+            varredura.registrar(de, 0);
+        }
+        periodos.forEach(periodo -> {
+            ZonedDateTime inicio = (ZonedDateTime) periodo[0];
+            ZonedDateTime fim = (ZonedDateTime) periodo[1];
+            if (de != null && inicio.isBefore(de)) {
+                inicio = de;
+            }
+            if (ate != null && fim.isAfter(ate)) {
+                fim = ate;
+            }
+            varredura.liberarAte(inicio);
+            varredura.iniciar(inicio, fim);
+        });
+        varredura.liberarTodos();
+        return new OcupacaoDTO(de, ate, varredura.pico, varredura.inicioPico, varredura.pontos);
+    }
+
+    private static final class Varredura {
+        private final PriorityQueue<ZonedDateTime> fins =
+                new PriorityQueue<>(Comparator.comparing(ZonedDateTime::toInstant));
+        private final List<PontoOcupacaoDTO> pontos = new ArrayList<>();
+        private int ocupacao;
+        private int pico;
+        private ZonedDateTime inicioPico;
+
+        void liberarAte(ZonedDateTime instante) {
+            while (!fins.isEmpty() && !fins.peek().isAfter(instante)) {
+                registrar(fins.peek(), --ocupacao);
+                fins.poll();
+            }
+        }
+
+        void liberarTodos() {
+            while (!fins.isEmpty()) {
+                registrar(fins.poll(), --ocupacao);
+            }
+        }
+
+        void iniciar(ZonedDateTime inicio, ZonedDateTime fim) {
+            fins.add(fim);
+            registrar(inicio, ++ocupacao);
+            if (ocupacao > pico) {
+                pico = ocupacao;
+                inicioPico = inicio;
+            }
+        }
+
+        /**
+         * Acrescenta um degrau; vários eventos no mesmo instante resultam em um único ponto
+         * com a quantidade final daquele instante.
+         */
+        void registrar(ZonedDateTime instante, int quantidade) {
+            if (!pontos.isEmpty()) {
+                PontoOcupacaoDTO ultimo = pontos.get(pontos.size() - 1);
+                if (ultimo.getInstante().isEqual(instante)) {
+                    ultimo.setQuantidade(quantidade);
+                    if (pontos.size() > 1 && pontos.get(pontos.size() - 2).getQuantidade() == quantidade) {
+                        pontos.remove(pontos.size() - 1);
+                    }
+                    return;
+                }
+                if (ultimo.getQuantidade() == quantidade) {
+                    return;
+                }
+            }
+            pontos.add(new PontoOcupacaoDTO(instante, quantidade));
+        }
+    }
+}
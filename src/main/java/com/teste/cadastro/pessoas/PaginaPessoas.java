@@ -0,0 +1,12 @@
+package com.teste.cadastro.pessoas;
+
+import java.util.List;
+
+/**
+ * Resultado da listagem filtrada de pessoas.
+ *
+ * @param itens Pessoas da página (ou todas as filtradas, sem paginação)
+ * @param total Total de pessoas filtradas, ou null quando a listagem não é paginada
+ */
+public record PaginaPessoas(List<PessoaDTO> itens, TotalPessoas total) {
+}
@@ -7,16 +7,32 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.ZonedDateTime;
 
 @DatasCoerentes
 @Entity
+// O UPDATE grava apenas as colunas alteradas (e a versão), o que mantém pequenas as atualizações parciais
+@DynamicUpdate
 @Table(
-        name = "tb_pessoas"
+        name = "tb_pessoas",
+        uniqueConstraints = @UniqueConstraint(name = Pessoa.UK_NOME, columnNames = "nome"),
+        indexes = {
+                // Consultas de sobreposição e ocupação por propriedade/laboratório ordenadas por data
+                @Index(name = "idx_pessoas_propriedade_inicio", columnList = "propriedade_id, dataInicial"),
+                @Index(name = "idx_pessoas_laboratorio_inicio", columnList = "laboratorio_id, dataInicial"),
+                // Filtro por período e ordenação por data inicial na listagem de pessoas
+                @Index(name = "idx_pessoas_inicio", columnList = "dataInicial")
+        }
 )
 public class Pessoa {
 
+    /** Nomes das restrições da tabela, usados para reconhecer a violação na gravação. */
+    public static final String UK_NOME = "uk_pessoas_nome";
+    public static final String FK_PROPRIEDADE = "fk_pessoas_propriedade";
+    public static final String FK_LABORATORIO = "fk_pessoas_laboratorio";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,17 +49,22 @@ public class Pessoa {
 
     @NotNull(message = "A propriedade é obrigatória.")
     @ManyToOne
-    @JoinColumn(name = "propriedade_id")
+    @JoinColumn(name = "propriedade_id", foreignKey = @ForeignKey(name = FK_PROPRIEDADE))
     private Propriedade infosPropriedade;
 
     @NotNull(message = "O laboratório é obrigatório.")
     @ManyToOne
-    @JoinColumn(name = "laboratorio_id")
+    @JoinColumn(name = "laboratorio_id", foreignKey = @ForeignKey(name = FK_LABORATORIO))
     private Laboratorio laboratorio;
 
     // Opcional
     private String observacoes;
 
+    // Controle de concorrência otimista: incrementada a cada UPDATE e conferida na cláusula WHERE
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long versao;
+
     // Getters e Setters
     public Long getId() {return id;}
     public void setId(Long id) {this.id = id;}
@@ -65,4 +86,7 @@ public class Pessoa {
 
     public String getObservacoes() {return observacoes;}
     public void setObservacoes(String observacoes) {this.observacoes = observacoes;}
+
+    public long getVersao() {return versao;}
+    public void setVersao(long versao) {this.versao = versao;}
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 package com.teste.cadastro.pessoas;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.teste.cadastro.pessoas.busca.BuscaPessoasService;
+import com.teste.cadastro.pessoas.busca.ResultadoBuscaDTO;
+import com.teste.cadastro.pessoas.estatisticas.EstatisticasPessoasService;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -19,19 +29,159 @@ import java.util.stream.Collectors;
 public class PessoaController {
 
     private final PessoaService pessoaService;
+    private final ConflitoService conflitoService;
+    private final EstatisticasPessoasService estatisticasService;
+    private final BuscaPessoasService buscaService;
 
-    public PessoaController(PessoaService pessoaService) {
+    public PessoaController(PessoaService pessoaService, ConflitoService conflitoService,
+                            EstatisticasPessoasService estatisticasService, BuscaPessoasService buscaService) {
         this.pessoaService = pessoaService;
+        this.conflitoService = conflitoService;
+        this.estatisticasService = estatisticasService;
+        this.buscaService = buscaService;
     }
 
     /**
-     * Retorna a lista de todas as pessoas cadastradas.
+     * Retorna a lista de pessoas cadastradas, opcionalmente filtrada e paginada.
+     * Sem filtros e sem {@code tamanho} retorna todas as pessoas. Com {@code tamanho} retorna apenas a página
+     * pedida, com o total de pessoas filtradas no cabeçalho {@code X-Total-Count}. O total é estimado, sem
+     * {@code COUNT(*)}, a menos que {@code exato=true}; o cabeçalho {@code X-Total-Count-Tipo} informa
+     * se o valor é {@code exato} ou {@code estimado}.
      *
+     * @param nome              Início do nome (sem diferenciar maiúsculas/minúsculas e acentos)
+     * @param laboratorioId     Identificador do laboratório
+     * @param propriedadeId     Identificador da propriedade
+     * @param dataInicialInicio Menor data inicial
+     * @param dataInicialFim    Maior data inicial
+     * @param dataFinalInicio   Menor data final
+     * @param dataFinalFim      Maior data final
+     * @param ordenar           {@code id} (padrão), {@code nome} ou {@code dataInicial}; prefixo {@code -} para ordem decrescente
+     * @param pagina            Página (a partir de 0)
+     * @param tamanho           Quantidade de pessoas por página (máximo 1000)
+     * @param exato             Se o total deve ser sempre contado no banco
      * @return Lista de PessoaDTO com status 200 (OK)
      */
     @GetMapping
-    public ResponseEntity<List<PessoaDTO>> findAll() {
-        return ResponseEntity.ok(pessoaService.findAll());
+    public ResponseEntity<List<PessoaDTO>> findAll(@RequestParam Optional<String> nome,
+                                                   @RequestParam Optional<Integer> laboratorioId,
+                                                   @RequestParam Optional<Integer> propriedadeId,
+                                                   @RequestParam Optional<ZonedDateTime> dataInicialInicio,
+                                                   @RequestParam Optional<ZonedDateTime> dataInicialFim,
+                                                   @RequestParam Optional<ZonedDateTime> dataFinalInicio,
+                                                   @RequestParam Optional<ZonedDateTime> dataFinalFim,
+                                                   @RequestParam(defaultValue = "id") String ordenar,
+                                                   @RequestParam(defaultValue = "0") int pagina,
+                                                   @RequestParam(required = false) Integer tamanho,
+                                                   @RequestParam(defaultValue = "false") boolean exato) {
+        FiltroPessoas filtro = new FiltroPessoas(nome.orElse(null), laboratorioId.orElse(null), propriedadeId.orElse(null),
+                dataInicialInicio.orElse(null), dataInicialFim.orElse(null),
+                dataFinalInicio.orElse(null), dataFinalFim.orElse(null));
+        PaginaPessoas pessoas = pessoaService.listar(filtro, ordenar, pagina, tamanho, exato);
+        if (pessoas.total() == null) {
+            return ResponseEntity.ok(pessoas.itens());
+        }
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(pessoas.total().quantidade()))
+                .header("X-Total-Count-Tipo", pessoas.total().getTipo())
+                .body(pessoas.itens());
+    }
+
+    /**
+     * Busca textual por nome e observações, com resultados ordenados por relevância.
+     * Aceita fragmentos do início das palavras e pequenos erros de digitação, sem diferenciar acentos.
+     *
+     * @param q       Texto da busca
+     * @param pagina  Página (a partir de 0)
+     * @param tamanho Quantidade de resultados por página (padrão 20, máximo 100)
+     * @return {@link ResultadoBuscaDTO} com status 200 (OK)
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<ResultadoBuscaDTO> buscar(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "0") int pagina,
+                                                    @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(buscaService.buscar(q, pagina, tamanho));
+    }
+
+    /**
+     * Retorna as pessoas ativas em um instante, ou seja, com dataInicial ≤ em < dataFinal.
+     *
+     * @param em            Instante consultado
+     * @param laboratorioId Restringe às pessoas do laboratório (opcional)
+     * @return Lista de PessoaDTO ordenada pela data inicial, com status 200 (OK)
+     */
+    @GetMapping("/ativos")
+    public ResponseEntity<List<PessoaDTO>> listarAtivas(@RequestParam ZonedDateTime em,
+                                                        @RequestParam Optional<Integer> laboratorioId) {
+        return ResponseEntity.ok(pessoaService.listarAtivas(em, laboratorioId));
+    }
+
+    /**
+     * Retorna as sobreposições de período entre pessoas da mesma propriedade.
+     *
+     * @param propriedadeId Restringe a uma propriedade (opcional)
+     * @param limite        Quantidade máxima de sobreposições (padrão 1000, máximo 10000)
+     * @return Lista de ConflitoDTO com status 200 (OK)
+     */
+    @GetMapping("/conflitos")
+    public ResponseEntity<List<ConflitoDTO>> listarConflitos(@RequestParam Optional<Integer> propriedadeId,
+                                                             @RequestParam(defaultValue = "" + ConflitoService.LIMITE_PADRAO) int limite) {
+        return ResponseEntity.ok(conflitoService.listarConflitos(propriedadeId, limite));
+    }
+
+    /**
+     * Retorna as pessoas da mesma propriedade com período sobreposto ao da pessoa informada.
+     *
+     * @param id Identificador da pessoa
+     * @return Lista de ConflitoDTO com status 200 (OK)
+     * @throws jakarta.persistence.EntityNotFoundException se o ID não existir
+     */
+    @GetMapping("/{id}/conflitos")
+    public ResponseEntity<List<ConflitoDTO>> listarConflitos(@PathVariable Long id) {
+        return ResponseEntity.ok(conflitoService.listarConflitos(id));
+    }
+
+    /**
+     * Agregações sobre as pessoas, calculadas no banco de dados.
+     * Agrupa pelas dimensões informadas e retorna as métricas pedidas para cada grupo, escrevendo
+     * o array JSON na resposta à medida que as linhas são lidas.
+     *
+     * @param agrupar           Dimensões: laboratorio, propriedade, mes e/ou semana (de dataInicial)
+     * @param metricas          Métricas: quantidade (padrão), primeiraDataInicial, ultimaDataFinal, duracaoMediaSegundos
+     * @param dataInicialInicio Limite inferior de dataInicial (opcional)
+     * @param dataInicialFim    Limite superior de dataInicial (opcional)
+     * @param laboratorioId     Restringe a um laboratório (opcional)
+     * @param propriedadeId     Restringe a uma propriedade (opcional)
+     * @param response          Resposta HTTP em que o JSON é escrito, com status 200 (OK)
+     * @throws IllegalArgumentException se alguma dimensão ou métrica for inválida (400)
+     */
+    @GetMapping("/estatisticas")
+    public void estatisticas(@RequestParam List<String> agrupar,
+                             @RequestParam(defaultValue = "quantidade") List<String> metricas,
+                             @RequestParam Optional<ZonedDateTime> dataInicialInicio,
+                             @RequestParam Optional<ZonedDateTime> dataInicialFim,
+                             @RequestParam Optional<Integer> laboratorioId,
+                             @RequestParam Optional<Integer> propriedadeId,
+                             HttpServletResponse response) throws IOException {
+        // A validação acontece antes de começar a escrever, para que erros ainda resultem em 400
+        EstatisticasPessoasService.Consulta consulta = estatisticasService.compilar(
+                agrupar, metricas, dataInicialInicio, dataInicialFim, laboratorioId, propriedadeId);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        estatisticasService.escrever(consulta, response.getOutputStream());
+    }
+
+    /**
+     * Retorna várias pessoas pelos IDs informados ({@code ?ids=1,2,3}) em uma única requisição.
+     * As pessoas seguem a ordem dos IDs pedidos; os IDs inexistentes são listados em
+     * {@code naoEncontrados}.
+     *
+     * @param ids IDs separados por vírgula (máximo 1000)
+     * @return {@link ResultadoPorIdsDTO} com status 200 (OK)
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ResultadoPorIdsDTO<PessoaDTO, Long>> findByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(pessoaService.findByIds(ids));
     }
 
     /**
@@ -93,6 +243,21 @@ public class PessoaController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Atualiza apenas os campos enviados de uma pessoa, no formato JSON Merge Patch
+     * ({@code application/merge-patch+json}; {@code application/json} também é aceito).
+     * Campos ausentes mantêm o valor atual e {@code null} limpa as observações.
+     *
+     * @param id    Identificador da pessoa a ser atualizada
+     * @param patch Campos a alterar, por exemplo {@code {"observacoes": "...", "laboratorio": {"id": 3}}}
+     * @return {@link PessoaDTO} atualizado com status 200 (OK), ou 400 (Bad Request) se algum campo for inválido
+     * @throws jakarta.persistence.EntityNotFoundException se o ID não existir
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<PessoaDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(pessoaService.atualizarParcialmente(id, patch));
+    }
+
     /**
      * Exclui uma pessoa existente.
      *
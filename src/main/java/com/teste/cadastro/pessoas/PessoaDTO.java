@@ -33,6 +33,9 @@ public class PessoaDTO {
     // Opcional
     private String observacoes;
 
+    // Opcional na atualização: se informada, a gravação é recusada quando a pessoa já foi alterada por outra requisição
+    private Long versao;
+
     public PessoaDTO() {}
 
     //Construtor (Necessário para o findAll)
@@ -42,6 +45,7 @@ public class PessoaDTO {
         this.dataInicial = pessoa.getDataInicial();
         this.dataFinal = pessoa.getDataFinal();
         this.observacoes = pessoa.getObservacoes();
+        this.versao = pessoa.getVersao();
 
         if (pessoa.getInfosPropriedade() != null) {
             this.infosPropriedade = new PropriedadeDTO(pessoa.getInfosPropriedade());
@@ -82,4 +86,7 @@ public class PessoaDTO {
 
     public String getObservacoes() { return observacoes; }
     public void setObservacoes(String observacoes) { this.observacoes = observacoes; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.teste.cadastro.pessoas;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications da listagem filtrada de pessoas. Cada filtro informado vira um predicado e os
+ * filtros ausentes não entram no SQL, em vez de condições do tipo {@code (:param IS NULL OR ...)}
+ * que impedem o MySQL de escolher o índice adequado.
+ */
+public final class PessoaEspecificacoes {
+
+    private PessoaEspecificacoes() {}
+
+    /**
+     * Combina com AND os predicados dos filtros informados.
+     *
+     * @param filtro Filtros da listagem
+     * @return Specification com apenas os predicados dos filtros não nulos
+     */
+    public static Specification<Pessoa> filtradas(FiltroPessoas filtro) {
+        List<Specification<Pessoa>> predicados = new ArrayList<>();
+        if (filtro.getNome() != null && !filtro.getNome().isBlank()) {
+            predicados.add(nomeComecaCom(filtro.getNome().strip()));
+        }
+        if (filtro.getLaboratorioId() != null) {
+            predicados.add((root, query, cb) -> cb.equal(root.get("laboratorio").get("id"), filtro.getLaboratorioId()));
+        }
+        if (filtro.getPropriedadeId() != null) {
+            predicados.add((root, query, cb) -> cb.equal(root.get("infosPropriedade").get("id"), filtro.getPropriedadeId()));
+        }
+        if (filtro.getDataInicialInicio() != null) {
+            predicados.add(aPartirDe("dataInicial", filtro.getDataInicialInicio()));
+        }
+        if (filtro.getDataInicialFim() != null) {
+            predicados.add(ate("dataInicial", filtro.getDataInicialFim()));
+        }
+        if (filtro.getDataFinalInicio() != null) {
+            predicados.add(aPartirDe("dataFinal", filtro.getDataFinalInicio()));
+        }
+        if (filtro.getDataFinalFim() != null) {
+            predicados.add(ate("dataFinal", filtro.getDataFinalFim()));
+        }
+        return Specification.allOf(predicados);
+    }
+
+    /**
+     * Prefixo do nome ({@code LIKE 'texto%'}), que aproveita o índice único da coluna. A collation da
+     * coluna já ignora maiúsculas/minúsculas e acentos; os curingas digitados são tratados como texto.
+     */
+    private static Specification<Pessoa> nomeComecaCom(String nome) {
+        String padrao = padraoPrefixo(nome);
+        return (root, query, cb) -> cb.like(root.get("nome"), padrao, '\\');
+    }
+
+    /**
+     * @return Padrão LIKE que casa com textos iniciados por {@code prefixo}, com os curingas escapados por {@code \}
+     */
+    static String padraoPrefixo(String prefixo) {
+        return prefixo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static Specification<Pessoa> aPartirDe(String atributo, ZonedDateTime data) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(atributo), data);
+    }
+
+    private static Specification<Pessoa> ate(String atributo, ZonedDateTime data) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(atributo), data);
+    }
+}
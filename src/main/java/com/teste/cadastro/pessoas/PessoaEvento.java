@@ -0,0 +1,45 @@
+package com.teste.cadastro.pessoas;
+
+/**
+ * Evento publicado pelo {@link PessoaService} a cada gravação ou exclusão de pessoa.
+ * Os índices em memória sobre tb_pessoas escutam este evento (após o commit) para
+ * se manterem sincronizados com o banco de dados.
+ */
+public class PessoaEvento {
+
+    /**
+     * CRIADA e SALVA carregam o estado da pessoa após a gravação; CRIADA distingue uma inclusão
+     * de uma atualização, para os índices que precisam acompanhar o total de pessoas.
+     */
+    public enum Tipo { CRIADA, SALVA, REMOVIDA }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final PessoaDTO pessoa;
+
+    private PessoaEvento(Tipo tipo, Long id, PessoaDTO pessoa) {
+        this.tipo = tipo;
+        this.id = id;
+        this.pessoa = pessoa;
+    }
+
+    public static PessoaEvento criada(PessoaDTO pessoa) {
+        return new PessoaEvento(Tipo.CRIADA, pessoa.getId(), pessoa);
+    }
+
+    public static PessoaEvento salva(PessoaDTO pessoa) {
+        return new PessoaEvento(Tipo.SALVA, pessoa.getId(), pessoa);
+    }
+
+    public static PessoaEvento removida(Long id) {
+        return new PessoaEvento(Tipo.REMOVIDA, id, null);
+    }
+
+    public Tipo getTipo() {return tipo;}
+    public Long getId() {return id;}
+
+    /**
+     * @return Estado da pessoa após a gravação, ou null quando o evento é de exclusão
+     */
+    public PessoaDTO getPessoa() {return pessoa;}
+}
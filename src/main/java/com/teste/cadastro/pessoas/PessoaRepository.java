@@ -1,34 +1,241 @@
 package com.teste.cadastro.pessoas;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repositório JPA para a entidade Pessoa.
  * Fornece operações básicas de CRUD e métodos personalizados para validações.
  */
 @Repository
-public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
+public interface PessoaRepository extends JpaRepository<Pessoa, Long>, JpaSpecificationExecutor<Pessoa> {
+
+    /**
+     * Retorna todas as pessoas já com laboratório e propriedade carregados na mesma consulta,
+     * evitando uma query adicional (N+1) para cada associação.
+     *
+     * @return Lista de todas as pessoas
+     */
+    @Override
+    @EntityGraph(attributePaths = {"laboratorio", "infosPropriedade"})
+    List<Pessoa> findAll();
+
+    /**
+     * Lista as pessoas que atendem aos filtros, já com laboratório e propriedade carregados.
+     *
+     * @param filtro    Specification com os filtros (ver {@link PessoaEspecificacoes})
+     * @param ordenacao Ordenação
+     * @return Pessoas filtradas
+     */
+    @Override
+    @EntityGraph(attributePaths = {"laboratorio", "infosPropriedade"})
+    List<Pessoa> findAll(Specification<Pessoa> filtro, Sort ordenacao);
+
+    /**
+     * Busca as pessoas pelos IDs já com laboratório e propriedade carregados na mesma consulta.
+     * Usado para montar a resposta a partir dos IDs devolvidos pelos índices em memória.
+     *
+     * @param ids IDs das pessoas
+     * @return Pessoas encontradas, sem ordem definida
+     */
+    @EntityGraph(attributePaths = {"laboratorio", "infosPropriedade"})
+    List<Pessoa> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca as pessoas cujo nome ou observações contêm o texto, ignorando maiúsculas/minúsculas.
+     * Usado pela busca textual quando o índice de busca não está disponível.
+     *
+     * @param texto  Texto procurado
+     * @param pagina Página e tamanho
+     * @return Página de pessoas ordenada pelo nome
+     */
+    @EntityGraph(attributePaths = {"laboratorio", "infosPropriedade"})
+    @Query(value = "SELECT p FROM Pessoa p " +
+            "WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :texto, '%')) " +
+            "OR LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :texto, '%')) " +
+            "ORDER BY p.nome",
+            countQuery = "SELECT COUNT(p) FROM Pessoa p " +
+                    "WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :texto, '%')) " +
+                    "OR LOWER(p.observacoes) LIKE LOWER(CONCAT('%', :texto, '%'))")
+    Page<Pessoa> buscarPorTexto(@Param("texto") String texto, Pageable pagina);
+
+    /**
+     * Lista as pessoas ativas no instante informado (dataInicial ≤ instante < dataFinal),
+     * opcionalmente apenas as de um laboratório.
+     * Usado quando o índice de intervalos em memória não está disponível.
+     *
+     * @param instante Instante consultado
+     * @param laboratorioId ID do laboratório, ou null para todos
+     * @return Pessoas ativas ordenadas pela data inicial
+     */
+    @EntityGraph(attributePaths = {"laboratorio", "infosPropriedade"})
+    @Query("SELECT p FROM Pessoa p " +
+            "WHERE p.dataInicial <= :instante AND p.dataFinal > :instante " +
+            "AND (:laboratorioId IS NULL OR p.laboratorio.id = :laboratorioId) " +
+            "ORDER BY p.dataInicial, p.id")
+    List<Pessoa> listarAtivasEm(@Param("instante") ZonedDateTime instante,
+                                @Param("laboratorioId") Integer laboratorioId);
+
+    /**
+     * Lê os períodos (dataInicial, dataFinal) das pessoas do laboratório que cruzam a janela,
+     * em ordem de dataInicial, por um cursor somente-leitura (streaming no driver do MySQL).
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param laboratorioId ID do laboratório
+     * @param de Início da janela, ou null para não limitar
+     * @param ate Fim da janela, ou null para não limitar
+     * @return Stream de pares [dataInicial, dataFinal]
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.dataInicial, p.dataFinal FROM Pessoa p " +
+            "WHERE p.laboratorio.id = :laboratorioId " +
+            "AND (:ate IS NULL OR p.dataInicial < :ate) " +
+            "AND (:de IS NULL OR p.dataFinal > :de) " +
+            "ORDER BY p.dataInicial")
+    Stream<Object[]> streamPeriodosPorLaboratorio(@Param("laboratorioId") Integer laboratorioId,
+                                                  @Param("de") ZonedDateTime de,
+                                                  @Param("ate") ZonedDateTime ate);
+
+    /**
+     * Lê os períodos (dataInicial, dataFinal) das pessoas da propriedade que cruzam a janela,
+     * em ordem de dataInicial, por um cursor somente-leitura (streaming no driver do MySQL).
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param propriedadeId ID da propriedade
+     * @param de Início da janela, ou null para não limitar
+     * @param ate Fim da janela, ou null para não limitar
+     * @return Stream de pares [dataInicial, dataFinal]
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.dataInicial, p.dataFinal FROM Pessoa p " +
+            "WHERE p.infosPropriedade.id = :propriedadeId " +
+            "AND (:ate IS NULL OR p.dataInicial < :ate) " +
+            "AND (:de IS NULL OR p.dataFinal > :de) " +
+            "ORDER BY p.dataInicial")
+    Stream<Object[]> streamPeriodosPorPropriedade(@Param("propriedadeId") Integer propriedadeId,
+                                                  @Param("de") ZonedDateTime de,
+                                                  @Param("ate") ZonedDateTime ate);
+
+    /**
+     * Lê os períodos de todas as pessoas, ou das pessoas de uma propriedade, ordenados por
+     * (propriedade, dataInicial), por um cursor somente-leitura. A ordenação segue o índice
+     * idx_pessoas_propriedade_inicio. Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param propriedadeId ID da propriedade, ou null para todas
+     * @return Stream de [id, propriedadeId, dataInicial, dataFinal]
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.infosPropriedade.id, p.dataInicial, p.dataFinal FROM Pessoa p " +
+            "WHERE (:propriedadeId IS NULL OR p.infosPropriedade.id = :propriedadeId) " +
+            "ORDER BY p.infosPropriedade.id, p.dataInicial")
+    Stream<Object[]> streamPeriodosOrdenadosPorPropriedade(@Param("propriedadeId") Integer propriedadeId);
+
+    /**
+     * Lista as pessoas da propriedade cujo período [dataInicial, dataFinal) se sobrepõe ao informado.
+     *
+     * @param propriedadeId ID da propriedade
+     * @param dataInicial Início do período
+     * @param dataFinal Fim do período
+     * @param id ID da pessoa a ignorar (a própria pessoa em uma atualização), ou null
+     * @return Pessoas sobrepostas ordenadas pela data inicial
+     */
+    @Query("SELECT p FROM Pessoa p " +
+            "WHERE p.infosPropriedade.id = :propriedadeId " +
+            "AND p.dataInicial < :dataFinal AND p.dataFinal > :dataInicial " +
+            "AND (:id IS NULL OR p.id <> :id) " +
+            "ORDER BY p.dataInicial, p.id")
+    List<Pessoa> listarSobrepostas(@Param("propriedadeId") Integer propriedadeId,
+                                   @Param("dataInicial") ZonedDateTime dataInicial,
+                                   @Param("dataFinal") ZonedDateTime dataFinal,
+                                   @Param("id") Long id);
+
+    /**
+     * Verifica se alguma pessoa da propriedade tem período sobreposto ao informado.
+     *
+     * @param propriedadeId ID da propriedade
+     * @param dataInicial Início do período
+     * @param dataFinal Fim do período
+     * @param id ID da pessoa a ignorar (a própria pessoa em uma atualização), ou null
+     * @return true se houver sobreposição
+     */
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Pessoa p " +
+            "WHERE p.infosPropriedade.id = :propriedadeId " +
+            "AND p.dataInicial < :dataFinal AND p.dataFinal > :dataInicial " +
+            "AND (:id IS NULL OR p.id <> :id)")
+    boolean existeSobreposicao(@Param("propriedadeId") Integer propriedadeId,
+                               @Param("dataInicial") ZonedDateTime dataInicial,
+                               @Param("dataFinal") ZonedDateTime dataFinal,
+                               @Param("id") Long id);
+
+    /**
+     * Conta as pessoas vinculadas ao laboratório informado.
+     * Usado quando o índice de bitmaps em memória não está disponível.
+     *
+     * @param laboratorioId Identificador do laboratório
+     * @return Quantidade de pessoas do laboratório
+     */
+    long countByLaboratorioId(Integer laboratorioId);
+
+    /**
+     * Conta as pessoas vinculadas à propriedade informada.
+     * Usado quando o índice de bitmaps em memória não está disponível.
+     *
+     * @param propriedadeId Identificador da propriedade
+     * @return Quantidade de pessoas da propriedade
+     */
+    long countByInfosPropriedadeId(Integer propriedadeId);
+
+    /**
+     * Conta as pessoas vinculadas ao mesmo tempo ao laboratório e à propriedade informados.
+     * Usado quando o índice de bitmaps em memória não está disponível.
+     *
+     * @param laboratorioId Identificador do laboratório
+     * @param propriedadeId Identificador da propriedade
+     * @return Quantidade de pessoas do laboratório na propriedade
+     */
+    long countByLaboratorioIdAndInfosPropriedadeId(Integer laboratorioId, Integer propriedadeId);
 
     /**
-     * Verifica se já existe alguma pessoa com o nome informado.
-     * Usado para evitar nomes duplicados ao criar uma nova pessoa.
+     * Verifica se há pessoas vinculadas ao laboratório informado.
+     * Confirma no banco o uso apontado pelo índice de bitmaps, que pode estar defasado.
      *
-     * @param nome Nome da pessoa a ser verificado
-     * @return true se existir alguma pessoa com esse nome, false caso contrário
+     * @param laboratorioId Identificador do laboratório
+     * @return true se alguma pessoa referenciar o laboratório
      */
-    boolean existsByNome(String nome);
+    boolean existsByLaboratorioId(Integer laboratorioId);
 
     /**
-     * Verifica se já existe alguma pessoa com o nome informado,
-     * exceto a pessoa com o ID especificado.
-     * Usado para validar nomes únicos ao atualizar uma pessoa,
-     * permitindo que a própria pessoa mantenha seu nome.
+     * Verifica se há pessoas vinculadas à propriedade informada.
+     * Confirma no banco o uso apontado pelo índice de bitmaps, que pode estar defasado.
      *
-     * @param nome Nome da pessoa a ser verificado
-     * @param id ID da pessoa que está sendo atualizada (para ignorar na verificação)
-     * @return true se existir outra pessoa com esse nome, false caso contrário
+     * @param propriedadeId Identificador da propriedade
+     * @return true se alguma pessoa referenciar a propriedade
      */
-    boolean existsByNomeAndIdNot(String nome, Long id);
+    boolean existsByInfosPropriedadeId(Integer propriedadeId);
 
 }
@@ -1,34 +1,94 @@
 package com.teste.cadastro.pessoas;
 
-import com.teste.cadastro.laboratorios.Laboratorio;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
 import com.teste.cadastro.laboratorios.LaboratorioRepository;
-import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.pessoas.indices.IndiceIntervalosPessoas;
+import com.teste.cadastro.propriedades.PropriedadeDTO;
 import com.teste.cadastro.propriedades.PropriedadeRepository;
+import com.teste.cadastro.utils.BuscaPorIds;
+import com.teste.cadastro.utils.Restricoes;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pela lógica de negócio relacionada a Pessoas.
  * Fornece métodos para operações CRUD e conversão entre modelos e DTOs.
+ * Cada gravação ou exclusão publica um {@link PessoaEvento} para os índices em memória.
  */
 @Service
 public class PessoaService {
 
+    /** Tamanho máximo de página da listagem filtrada. */
+    public static final int TAMANHO_MAXIMO_PAGINA = 1000;
+
+    // Apenas atributos com índice (chave primária, nome único e idx_pessoas_inicio) podem ordenar a listagem
+    private static final Set<String> ORDENACOES = Set.of("id", "nome", "dataInicial");
+
     private final PessoaRepository pessoaRepository;
     private final LaboratorioRepository laboratorioRepository;
     private final PropriedadeRepository propriedadeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndiceIntervalosPessoas indiceIntervalos;
+    private final EntityManager em;
+    private final EstimativaTotalPessoas estimativaTotal;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cadastro.pessoas.conflitos.bloquear:false}")
+    private boolean bloquearConflitos;
 
     // Construtor recebe todas as dependências necessárias
     public PessoaService(PessoaRepository pessoaRepository,
                          LaboratorioRepository laboratorioRepository,
-                         PropriedadeRepository propriedadeRepository) {
+                         PropriedadeRepository propriedadeRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         IndiceIntervalosPessoas indiceIntervalos,
+                         EntityManager em,
+                         EstimativaTotalPessoas estimativaTotal,
+                         Validator validator,
+                         ObjectMapper objectMapper) {
         this.pessoaRepository = pessoaRepository;
         this.laboratorioRepository = laboratorioRepository;
         this.propriedadeRepository = propriedadeRepository;
+        this.eventPublisher = eventPublisher;
+        this.indiceIntervalos = indiceIntervalos;
+        this.em = em;
+        this.estimativaTotal = estimativaTotal;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -42,6 +102,102 @@ public class PessoaService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista as pessoas que atendem aos filtros informados.
+     * Sem {@code tamanho} retorna todas as pessoas filtradas; com {@code tamanho} retorna apenas a página pedida
+     * e o total de pessoas filtradas.
+     *
+     * O total só é contado com {@code COUNT(*)} quando {@code exato} é true. Caso contrário é deduzido da própria
+     * página quando ela não está cheia, ou obtido pela {@link EstimativaTotalPessoas}; a contagem exata fica
+     * como último recurso quando nenhuma estimativa está disponível e para páginas vazias além da última.
+     *
+     * @param filtro   Filtros opcionais
+     * @param ordenar  Atributo de ordenação ({@code id}, {@code nome} ou {@code dataInicial}),
+     *                 precedido de {@code -} para ordem decrescente
+     * @param pagina   Página (a partir de 0), considerada apenas com {@code tamanho}
+     * @param tamanho  Quantidade de pessoas por página (até {@link #TAMANHO_MAXIMO_PAGINA}), ou null para todas
+     * @param exato    Se o total da página deve ser sempre contado no banco
+     * @return {@link PaginaPessoas} com as pessoas e, com paginação, o total
+     * @throws IllegalArgumentException se a ordenação ou a paginação forem inválidas
+     */
+    public PaginaPessoas listar(FiltroPessoas filtro, String ordenar, int pagina, Integer tamanho, boolean exato) {
+        Sort ordenacao = ordenacao(ordenar);
+        if (tamanho == null) {
+            if (filtro.isVazio() && "id".equals(ordenar)) {
+                return new PaginaPessoas(findAll(), null);
+            }
+            return new PaginaPessoas(pessoaRepository.findAll(PessoaEspecificacoes.filtradas(filtro), ordenacao).stream()
+                    .map(PessoaDTO::new)
+                    .collect(Collectors.toList()), null);
+        }
+        if (pagina < 0) {
+            throw new IllegalArgumentException("A página deve ser igual ou maior que zero.");
+        }
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+        if ((long) pagina * tamanho > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A página deve começar até a posição " + Integer.MAX_VALUE + ".");
+        }
+
+        Specification<Pessoa> especificacao = PessoaEspecificacoes.filtradas(filtro);
+        List<PessoaDTO> itens = buscarPagina(especificacao, ordenacao, pagina, tamanho).stream()
+                .map(PessoaDTO::new)
+                .collect(Collectors.toList());
+        long anteriores = (long) pagina * tamanho;
+
+        TotalPessoas total;
+        if (exato || itens.isEmpty() && pagina > 0) {
+            // Uma página vazia depois da última não diz quantas pessoas existem antes dela
+            total = new TotalPessoas(pessoaRepository.count(especificacao), true);
+        } else if (itens.size() < tamanho) {
+            // Página incompleta: não há pessoas depois dela
+            total = new TotalPessoas(anteriores + itens.size(), true);
+        } else {
+            total = estimativaTotal.estimar(filtro)
+                    // A estimativa nunca fica abaixo das pessoas que comprovadamente existem
+                    .map(estimativa -> new TotalPessoas(Math.max(estimativa.quantidade(), anteriores + itens.size()), false))
+                    .orElseGet(() -> new TotalPessoas(pessoaRepository.count(especificacao), true));
+        }
+        return new PaginaPessoas(itens, total);
+    }
+
+    /**
+     * Busca uma página de pessoas sem a consulta de contagem que o {@code findAll(Specification, Pageable)}
+     * do Spring Data sempre executa.
+     */
+    private List<Pessoa> buscarPagina(Specification<Pessoa> especificacao, Sort ordenacao, int pagina, int tamanho) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Pessoa> consulta = cb.createQuery(Pessoa.class);
+        Root<Pessoa> pessoa = consulta.from(Pessoa.class);
+        Predicate predicado = especificacao.toPredicate(pessoa, consulta, cb);
+        if (predicado != null) {
+            consulta.where(predicado);
+        }
+        consulta.orderBy(QueryUtils.toOrders(ordenacao, pessoa, cb));
+
+        EntityGraph<Pessoa> associacoes = em.createEntityGraph(Pessoa.class);
+        associacoes.addAttributeNodes("laboratorio", "infosPropriedade");
+        return em.createQuery(consulta)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, associacoes)
+                .setFirstResult(pagina * tamanho)
+                .setMaxResults(tamanho)
+                .getResultList();
+    }
+
+    /**
+     * Converte o parâmetro de ordenação, desempatando pelo ID para que a paginação seja estável.
+     */
+    private Sort ordenacao(String ordenar) {
+        boolean decrescente = ordenar.startsWith("-");
+        String atributo = decrescente ? ordenar.substring(1) : ordenar;
+        if (!ORDENACOES.contains(atributo)) {
+            throw new IllegalArgumentException("Ordenação inválida. Use id, nome ou dataInicial, com '-' para ordem decrescente.");
+        }
+        Sort ordenacao = Sort.by(decrescente ? Sort.Direction.DESC : Sort.Direction.ASC, atributo);
+        return "id".equals(atributo) ? ordenacao : ordenacao.and(Sort.by("id"));
+    }
+
     /**
      * Busca uma pessoa pelo seu ID.
      *
@@ -55,10 +211,58 @@ public class PessoaService {
         return new PessoaDTO(pessoa);
     }
 
+    /**
+     * Busca várias pessoas pelos IDs, com uma única consulta por lote, já com laboratório e propriedade carregados.
+     *
+     * @param ids IDs pedidos
+     * @return {@link ResultadoPorIdsDTO} com as pessoas na ordem dos IDs e os IDs não encontrados
+     * @throws IllegalArgumentException se nenhum ID for informado ou se houver mais de {@link BuscaPorIds#LIMITE_IDS}
+     */
+    public ResultadoPorIdsDTO<PessoaDTO, Long> findByIds(List<Long> ids) {
+        return BuscaPorIds.buscar(ids, pessoaRepository::findByIdIn, Pessoa::getId, PessoaDTO::new);
+    }
+
+    /**
+     * Lista as pessoas ativas no instante informado (dataInicial ≤ instante < dataFinal),
+     * opcionalmente apenas as de um laboratório, em ordem crescente de data inicial.
+     *
+     * Com o índice de intervalos disponível, as pessoas ativas são encontradas em memória e o banco
+     * é consultado apenas para carregar os registros encontrados, pelo ID.
+     *
+     * @param instante      Instante consultado
+     * @param laboratorioId Identificador do laboratório (opcional)
+     * @return Lista de {@link PessoaDTO} das pessoas ativas
+     */
+    public List<PessoaDTO> listarAtivas(ZonedDateTime instante, Optional<Integer> laboratorioId) {
+        if (!indiceIntervalos.isDisponivel()) {
+            return pessoaRepository.listarAtivasEm(instante, laboratorioId.orElse(null)).stream()
+                    .map(PessoaDTO::new)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = indiceIntervalos.ativasEm(instante, laboratorioId.orElse(null));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Pessoa> pessoas = pessoaRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+
+        // Mantém a ordem devolvida pelo índice
+        List<PessoaDTO> ativas = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Pessoa pessoa = pessoas.get(id);
+            if (pessoa != null) {
+                ativas.add(new PessoaDTO(pessoa));
+            }
+        }
+        return ativas;
+    }
+
     /**
      * Cria uma nova pessoa.
-     * Realiza validações de unicidade do nome, coerência entre as datas,
-     * e existência das entidades associadas (propriedade e laboratório).
+     * A unicidade do nome e a existência da propriedade e do laboratório são garantidas pelas restrições
+     * do banco (índice único e chaves estrangeiras), sem consultas prévias; as violações são traduzidas
+     * nas mesmas exceções das validações.
      *
      * @param dto Dados da nova pessoa a ser criada
      * @return {@link PessoaDTO} representando a pessoa criada
@@ -67,76 +271,249 @@ public class PessoaService {
      */
     @Transactional
     public PessoaDTO create(PessoaDTO dto) {
-        //Validação para verificar se já existe uma pessoa com o nome
-        if (pessoaRepository.existsByNome(dto.getNome())) {
-            throw new IllegalArgumentException("Nome da pessoa já existe.");
-        }
         if (!dto.getDataFinal().isAfter(dto.getDataInicial())) {
             throw new IllegalArgumentException("A data final deve ser posterior à data inicial.");
         }
 
         // Criando Objeto Pessoa
         Pessoa novaPessoa = new Pessoa();
-        Pessoa salva = salvarPessoa(dto, novaPessoa);
-        return new PessoaDTO(salva);
+        PessoaDTO salva = new PessoaDTO(salvarPessoa(dto, novaPessoa));
+        eventPublisher.publishEvent(PessoaEvento.criada(salva));
+        return salva;
     }
 
     /**
      * Atualiza os dados de uma pessoa existente.
-     * Realiza validações de unicidade do nome, coerência entre as datas,
-     * e existência das entidades associadas (propriedade e laboratório).
+     * Assim como na criação, unicidade do nome e existência das referências ficam a cargo das restrições
+     * do banco. Se o {@link PessoaDTO} trouxer a {@code versao}, a atualização só é aceita se a pessoa não
+     * tiver sido alterada desde aquela versão; de qualquer forma, o UPDATE confere a versão lida.
      *
      * @param id  Identificador da pessoa a ser atualizada
      * @param dto Dados atualizados da pessoa
      * @return {@link PessoaDTO} com os dados atualizados
      * @throws EntityNotFoundException se a pessoa, a propriedade ou o laboratório não forem encontrados
      * @throws IllegalArgumentException se o novo nome já estiver em uso por outra pessoa ou as datas forem inválidas
+     * @throws ObjectOptimisticLockingFailureException se a pessoa tiver sido alterada por outra requisição
      */
     @Transactional
     public PessoaDTO update(Long id, PessoaDTO dto) {
-        // Buscando Objeto Pessoa
+        if (!dto.getDataFinal().isAfter(dto.getDataInicial())) {
+            throw new IllegalArgumentException("A data final deve ser posterior à data inicial.");
+        }
+
+        // Buscando Objeto Pessoa (laboratório e propriedade vêm na mesma consulta)
         Pessoa existente = pessoaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pessoa com ID " + id + " não encontrada."));
+        if (dto.getVersao() != null && dto.getVersao() != existente.getVersao()) {
+            throw new ObjectOptimisticLockingFailureException(Pessoa.class, id);
+        }
+
+        PessoaDTO atualizada = new PessoaDTO(salvarPessoa(dto, existente));
+        eventPublisher.publishEvent(PessoaEvento.salva(atualizada));
+        return atualizada;
+    }
 
-        //Validação para verificar se já existe uma pessoa com o nome
-        if (pessoaRepository.existsByNomeAndIdNot(dto.getNome(), id)) {
-            throw new IllegalArgumentException("Nome da pessoa já existe.");
+    /**
+     * Atualiza apenas os campos presentes no documento JSON Merge Patch (RFC 7396).
+     *
+     * Os campos enviados são aplicados sobre os dados atuais da pessoa e só eles são validados; campos ausentes
+     * mantêm o valor atual. As datas só são comparadas entre si quando uma delas muda. Laboratório e propriedade
+     * são trocados informando apenas o ID ({@code {"laboratorio": {"id": 3}}}). A {@code versao}, se informada,
+     * é uma pré-condição como no {@link #update(Long, PessoaDTO)}, e não um campo alterável.
+     *
+     * Como {@link Pessoa} usa {@code @DynamicUpdate}, o UPDATE grava apenas as colunas alteradas (e a versão).
+     * Um documento sem alterações efetivas não gera UPDATE.
+     *
+     * @param id    Identificador da pessoa a ser atualizada
+     * @param patch Documento JSON Merge Patch com os campos a alterar
+     * @return {@link PessoaDTO} com os dados atualizados
+     * @throws EntityNotFoundException se a pessoa, a propriedade ou o laboratório não forem encontrados
+     * @throws IllegalArgumentException se o documento tiver campos desconhecidos ou valores em formato inválido,
+     *                                  se o novo nome já estiver em uso ou se as datas forem incoerentes
+     * @throws ConstraintViolationException se algum campo alterado violar as validações do {@link PessoaDTO}
+     * @throws ObjectOptimisticLockingFailureException se a pessoa tiver sido alterada por outra requisição
+     */
+    @Transactional
+    public PessoaDTO atualizarParcialmente(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("O documento de alteração deve ser um objeto JSON.");
         }
-        if (!dto.getDataFinal().isAfter(dto.getDataInicial())) {
+
+        Pessoa existente = pessoaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pessoa com ID " + id + " não encontrada."));
+        PessoaDTO dto = new PessoaDTO(existente);
+
+        Set<ConstraintViolation<PessoaDTO>> violacoes = new HashSet<>();
+        boolean datasMudaram = false;
+        boolean alterou = false;
+        Long versao = null;
+        for (Iterator<Map.Entry<String, JsonNode>> campos = patch.fields(); campos.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            String nome = campo.getKey();
+            JsonNode valor = campo.getValue();
+            switch (nome) {
+                case "nome" -> dto.setNome(ler(nome, valor, String.class));
+                case "dataInicial" -> dto.setDataInicial(ler(nome, valor, ZonedDateTime.class));
+                case "dataFinal" -> dto.setDataFinal(ler(nome, valor, ZonedDateTime.class));
+                case "observacoes" -> dto.setObservacoes(ler(nome, valor, String.class));
+                case "infosPropriedade" -> dto.setInfosPropriedade(valor.isNull() ? null
+                        : new PropriedadeDTO(lerId(nome, valor), null));
+                case "laboratorio" -> dto.setLaboratorio(valor.isNull() ? null
+                        : new LaboratorioDTO(lerId(nome, valor), null));
+                case "versao" -> versao = ler(nome, valor, Long.class);
+                default -> throw new IllegalArgumentException("O campo '" + nome + "' não existe ou não pode ser alterado.");
+            }
+            if (!"versao".equals(nome)) {
+                alterou = true;
+                datasMudaram |= nome.startsWith("data");
+                violacoes.addAll(validator.validateValue(PessoaDTO.class, nome, campoDo(dto, nome)));
+            }
+        }
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
+        }
+        if (versao != null && versao != existente.getVersao()) {
+            throw new ObjectOptimisticLockingFailureException(Pessoa.class, id);
+        }
+        if (!alterou) {
+            return dto;
+        }
+        if (datasMudaram && !dto.getDataFinal().isAfter(dto.getDataInicial())) {
             throw new IllegalArgumentException("A data final deve ser posterior à data inicial.");
         }
 
-        Pessoa atualizada = salvarPessoa(dto, existente);
-        return new PessoaDTO(atualizada);
+        PessoaDTO atualizada = new PessoaDTO(salvarPessoa(dto, existente));
+        eventPublisher.publishEvent(PessoaEvento.salva(atualizada));
+        return atualizada;
     }
 
     /**
-     * Aplica os dados do {@link PessoaDTO} a uma entidade {@link Pessoa}, realiza as associações necessárias
-     * (propriedade e laboratório) e persiste a entidade no banco de dados.
+     * Converte o valor de um campo do documento de alteração, recusando formatos inválidos com 400.
+     */
+    private <T> T ler(String campo, JsonNode valor, Class<T> tipo) {
+        if (valor.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(valor, tipo);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para o campo '" + campo + "'.");
+        }
+    }
+
+    /**
+     * Lê o ID de uma referência ({@code {"id": ...}}); os demais atributos da referência são ignorados.
+     */
+    private Integer lerId(String campo, JsonNode valor) {
+        if (!valor.isObject() || !valor.hasNonNull("id")) {
+            throw new IllegalArgumentException("Informe o ID em '" + campo + "'.");
+        }
+        return ler(campo, valor.get("id"), Integer.class);
+    }
+
+    private static Object campoDo(PessoaDTO dto, String campo) {
+        return switch (campo) {
+            case "nome" -> dto.getNome();
+            case "dataInicial" -> dto.getDataInicial();
+            case "dataFinal" -> dto.getDataFinal();
+            case "infosPropriedade" -> dto.getInfosPropriedade();
+            case "laboratorio" -> dto.getLaboratorio();
+            default -> dto.getObservacoes();
+        };
+    }
+
+    /**
+     * Aplica os dados do {@link PessoaDTO} a uma entidade {@link Pessoa}, associa a propriedade e o laboratório
+     * por referência ({@code getReferenceById}, sem SELECT) e persiste a entidade no banco de dados.
+     *
+     * Quando alguma referência muda, propriedade e laboratório são antes carregados juntos em uma única consulta,
+     * apenas para que a resposta tenha os nomes sem uma consulta por referência; a existência deles continua
+     * sendo verificada pelas chaves estrangeiras no INSERT/UPDATE.
      *
      * @param dto    Dados recebidos da requisição
      * @param pessoa Instância da entidade {@link Pessoa} a ser atualizada ou criada
      * @return A entidade {@link Pessoa} persistida com os dados atualizados
      * @throws EntityNotFoundException se a propriedade ou o laboratório especificado não forem encontrados
+     * @throws IllegalArgumentException se o nome já estiver em uso por outra pessoa
      */
     private Pessoa salvarPessoa(PessoaDTO dto, Pessoa pessoa) {
+        Integer propriedadeId = dto.getInfosPropriedade().getId();
+        Integer laboratorioId = dto.getLaboratorio().getId();
+
+        boolean propriedadeMudou = pessoa.getInfosPropriedade() == null
+                || !pessoa.getInfosPropriedade().getId().equals(propriedadeId);
+        boolean laboratorioMudou = pessoa.getLaboratorio() == null
+                || !pessoa.getLaboratorio().getId().equals(laboratorioId);
+        boolean periodoMudou = propriedadeMudou
+                || !mesmoInstante(pessoa.getDataInicial(), dto.getDataInicial())
+                || !mesmoInstante(pessoa.getDataFinal(), dto.getDataFinal());
+
+        // Opcionalmente recusa períodos sobrepostos na mesma propriedade (consulta no índice propriedade/data).
+        // O lock na linha da propriedade serializa as gravações concorrentes nela até o commit; sem ele, duas
+        // gravações simultâneas poderiam passar pela verificação antes de qualquer uma ser gravada.
+        if (bloquearConflitos && periodoMudou) {
+            if (propriedadeRepository.bloquearPorId(propriedadeId).isEmpty()) {
+                throw new EntityNotFoundException("Propriedade não encontrada.");
+            }
+            if (pessoaRepository.existeSobreposicao(propriedadeId, dto.getDataInicial(), dto.getDataFinal(), pessoa.getId())) {
+                throw new IllegalArgumentException("Já existe uma pessoa com período sobreposto na mesma propriedade.");
+            }
+        }
+        if (propriedadeMudou || laboratorioMudou) {
+            em.createQuery("SELECT l, p FROM Laboratorio l, Propriedade p " +
+                            "WHERE l.id = :laboratorioId AND p.id = :propriedadeId", Object[].class)
+                    .setParameter("laboratorioId", laboratorioId)
+                    .setParameter("propriedadeId", propriedadeId)
+                    .getResultList();
+        }
+
         pessoa.setNome(dto.getNome());
         pessoa.setDataInicial(dto.getDataInicial());
         pessoa.setDataFinal(dto.getDataFinal());
         pessoa.setObservacoes(dto.getObservacoes());
+        if (propriedadeMudou) {
+            pessoa.setInfosPropriedade(propriedadeRepository.getReferenceById(propriedadeId));
+        }
+        if (laboratorioMudou) {
+            pessoa.setLaboratorio(laboratorioRepository.getReferenceById(laboratorioId));
+        }
 
-        // Buscar a Propriedade no banco pelo id e associar
-        Propriedade propriedade = propriedadeRepository.findById(dto.getInfosPropriedade().getId())
-                .orElseThrow(() -> new EntityNotFoundException("Propriedade não encontrada."));
-        pessoa.setInfosPropriedade(propriedade);
+        // O flush imediato faz as restrições do banco serem avaliadas ainda dentro deste método
+        try {
+            return pessoaRepository.saveAndFlush(pessoa);
+        } catch (DataIntegrityViolationException e) {
+            // Não deixa a gravação recusada pendente no contexto de persistência
+            if (em.contains(pessoa)) {
+                em.detach(pessoa);
+            }
+            throw traduzirViolacao(e, propriedadeId, laboratorioId);
+        }
+    }
 
-        // Buscar o Laboratório no banco pelo id e associar
-        Laboratorio laboratorio = laboratorioRepository.findById(dto.getLaboratorio().getId())
-                .orElseThrow(() -> new EntityNotFoundException("Laboratório não encontrado."));
-        pessoa.setLaboratorio(laboratorio);
+    private static boolean mesmoInstante(ZonedDateTime atual, ZonedDateTime novo) {
+        return atual != null && atual.isEqual(novo);
+    }
 
-        // Persistindo Objeto Pessoa
-        return pessoaRepository.save(pessoa);
+    /**
+     * Converte a violação de restrição do MySQL na exceção da validação correspondente, pelo nome da
+     * restrição declarado em {@link Pessoa} ou, em bancos criados antes de as restrições terem nome,
+     * pelo código de erro. Violações que não são de nome duplicado nem de referência inexistente são mantidas.
+     */
+    private RuntimeException traduzirViolacao(DataIntegrityViolationException e, Integer propriedadeId, Integer laboratorioId) {
+        // Além da chave primária, a do nome é a única chave única da tabela
+        if (Restricoes.violou(e, Pessoa.UK_NOME) || Restricoes.codigoErro(e) == Restricoes.CHAVE_DUPLICADA) {
+            return new IllegalArgumentException("Nome da pessoa já existe.");
+        }
+        boolean referenciaInexistente = Restricoes.codigoErro(e) == Restricoes.REFERENCIA_INEXISTENTE;
+        if (Restricoes.violou(e, Pessoa.FK_PROPRIEDADE)
+                || referenciaInexistente && !propriedadeRepository.existsById(propriedadeId)) {
+            return new EntityNotFoundException("Propriedade não encontrada.");
+        }
+        if (Restricoes.violou(e, Pessoa.FK_LABORATORIO)
+                || referenciaInexistente && !laboratorioRepository.existsById(laboratorioId)) {
+            return new EntityNotFoundException("Laboratório não encontrado.");
+        }
+        return e;
     }
 
     /**
@@ -151,5 +528,6 @@ public class PessoaService {
             throw new EntityNotFoundException("Pessoa com ID " + id + " não encontrada.");
         }
         pessoaRepository.deleteById(id);
+        eventPublisher.publishEvent(PessoaEvento.removida(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.teste.cadastro.pessoas;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Degrau da linha do tempo de ocupação: a partir do instante, e até o próximo ponto,
+ * há exatamente essa quantidade de pessoas ativas.
+ */
+public class PontoOcupacaoDTO {
+    private ZonedDateTime instante;
+    private int quantidade;
+
+    public PontoOcupacaoDTO(ZonedDateTime instante, int quantidade) {
+        this.instante = instante;
+        this.quantidade = quantidade;
+    }
+
+    public ZonedDateTime getInstante() {return instante;}
+    public void setInstante(ZonedDateTime instante) {this.instante = instante;}
+    public int getQuantidade() {return quantidade;}
+    public void setQuantidade(int quantidade) {this.quantidade = quantidade;}
+}
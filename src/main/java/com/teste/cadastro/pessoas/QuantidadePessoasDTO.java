@@ -0,0 +1,24 @@
+package com.teste.cadastro.pessoas;
+
+/**
+ * Quantidade de pessoas vinculadas a um laboratório, a uma propriedade ou aos dois ao mesmo tempo.
+ * O filtro que não foi informado fica nulo.
+ */
+public class QuantidadePessoasDTO {
+    private Integer laboratorioId;
+    private Integer propriedadeId;
+    private long quantidade;
+
+    public QuantidadePessoasDTO(Integer laboratorioId, Integer propriedadeId, long quantidade) {
+        this.laboratorioId = laboratorioId;
+        this.propriedadeId = propriedadeId;
+        this.quantidade = quantidade;
+    }
+
+    public Integer getLaboratorioId() {return laboratorioId;}
+    public void setLaboratorioId(Integer laboratorioId) {this.laboratorioId = laboratorioId;}
+    public Integer getPropriedadeId() {return propriedadeId;}
+    public void setPropriedadeId(Integer propriedadeId) {this.propriedadeId = propriedadeId;}
+    public long getQuantidade() {return quantidade;}
+    public void setQuantidade(long quantidade) {this.quantidade = quantidade;}
+}
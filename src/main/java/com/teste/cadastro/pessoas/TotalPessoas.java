@@ -0,0 +1,18 @@
+package com.teste.cadastro.pessoas;
+
+/**
+ * Total de pessoas de uma listagem filtrada.
+ *
+ * @param quantidade Quantidade de pessoas
+ * @param exato      true apenas quando a quantidade vem do banco de dados; contadores em memória e
+ *                   o otimizador do MySQL dão estimativas
+ */
+public record TotalPessoas(long quantidade, boolean exato) {
+
+    /**
+     * @return Valor do cabeçalho {@code X-Total-Count-Tipo}
+     */
+    public String getTipo() {
+        return exato ? "exato" : "estimado";
+    }
+}
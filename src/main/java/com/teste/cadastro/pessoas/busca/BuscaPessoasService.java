@@ -0,0 +1,80 @@
+package com.teste.cadastro.pessoas.busca;
+
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca textual de pessoas por nome e observações.
+ * Usa o {@link IndiceBuscaPessoas} (ranking, prefixos e tolerância a erros de digitação) quando disponível;
+ * caso contrário, cai para uma busca por substring no banco, ordenada pelo nome.
+ */
+@Service
+public class BuscaPessoasService {
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    /** Resultados além desta posição não são alcançáveis pela paginação. */
+    public static final int JANELA_MAXIMA = 10_000;
+
+    private final IndiceBuscaPessoas indiceBusca;
+    private final PessoaRepository pessoaRepository;
+
+    public BuscaPessoasService(IndiceBuscaPessoas indiceBusca, PessoaRepository pessoaRepository) {
+        this.indiceBusca = indiceBusca;
+        this.pessoaRepository = pessoaRepository;
+    }
+
+    /**
+     * Busca as pessoas cujo nome ou observações contêm as palavras do texto.
+     *
+     * @param texto   Texto da busca
+     * @param pagina  Página (a partir de 0)
+     * @param tamanho Quantidade de resultados por página (até {@link #TAMANHO_MAXIMO})
+     * @return {@link ResultadoBuscaDTO} com a página de pessoas e o total encontrado
+     * @throws IllegalArgumentException se o texto estiver vazio ou a paginação for inválida
+     */
+    public ResultadoBuscaDTO buscar(String texto, int pagina, int tamanho) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("O texto da busca é obrigatório.");
+        }
+        if (pagina < 0) {
+            throw new IllegalArgumentException("A página deve ser igual ou maior que zero.");
+        }
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO + ".");
+        }
+        if ((long) (pagina + 1) * tamanho > JANELA_MAXIMA) {
+            throw new IllegalArgumentException("A busca alcança apenas os " + JANELA_MAXIMA + " primeiros resultados.");
+        }
+
+        if (!indiceBusca.isDisponivel()) {
+            Page<Pessoa> encontradas = pessoaRepository.buscarPorTexto(texto.strip(), PageRequest.of(pagina, tamanho));
+            return new ResultadoBuscaDTO(encontradas.getTotalElements(), pagina, tamanho,
+                    encontradas.map(PessoaDTO::new).getContent());
+        }
+
+        IndiceBuscaPessoas.Resultado resultado = indiceBusca.buscar(texto, pagina, tamanho);
+        Map<Long, Pessoa> pessoas = pessoaRepository.findByIdIn(resultado.ids()).stream()
+                .collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+
+        // Mantém a ordem de relevância devolvida pelo índice
+        List<PessoaDTO> itens = new ArrayList<>(resultado.ids().size());
+        for (Long id : resultado.ids()) {
+            Pessoa pessoa = pessoas.get(id);
+            if (pessoa != null) {
+                itens.add(new PessoaDTO(pessoa));
+            }
+        }
+        return new ResultadoBuscaDTO(resultado.total(), pagina, tamanho, itens);
+    }
+}
@@ -0,0 +1,307 @@
+package com.teste.cadastro.pessoas.busca;
+
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em disco (Lucene) sobre o nome e as observações das pessoas, para a busca
+ * textual com ranking de {@code GET /pessoa/busca}.
+ *
+ * Os textos são quebrados em palavras, convertidos para minúsculas e sem acentos, então "joão" e "JOAO"
+ * são equivalentes. Cada palavra da busca precisa aparecer no nome ou nas observações, como palavra exata,
+ * prefixo ou com até uma ou duas letras trocadas (tolerância a erros de digitação); o nome pesa mais.
+ *
+ * O índice é atualizado quase em tempo real pelos {@link PessoaEvento} aplicados após o commit
+ * (a alteração fica visível na próxima busca, sem commit em disco a cada gravação). Na subida da aplicação
+ * é reconstruído a partir do banco se a última execução não encerrou de forma limpa ou se a quantidade de
+ * documentos não bate com a de pessoas.
+ *
+ * Desabilitado por padrão ({@code cadastro.busca.habilitada}); o índice fica no diretório de dados
+ * {@code cadastro.busca.diretorio}, que precisa sobreviver a reinícios para evitar a reconstrução a cada subida.
+ */
+@Component
+public class IndiceBuscaPessoas {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaPessoas.class);
+
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOME = "nome";
+    private static final String CAMPO_OBSERVACOES = "observacoes";
+
+    // Gravado no commit do encerramento; ausente ou "false" indica que o índice pode ter perdido alterações
+    private static final String ENCERRAMENTO_LIMPO = "encerramentoLimpo";
+
+    private final EntityManager em;
+    private final TransactionTemplate transacaoLeitura;
+    private final Analyzer analisador = new AnalisadorTexto();
+
+    // Gravações do índice compartilham o lock de leitura (o IndexWriter é thread-safe); a reconstrução é exclusiva
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${cadastro.busca.habilitada:false}")
+    private boolean habilitada;
+
+    @Value("${cadastro.busca.diretorio:dados/cadastro-busca}")
+    private String diretorio;
+
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    private volatile boolean carregado;
+
+    public IndiceBuscaPessoas(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * @return true se o índice está habilitado e já foi carregado
+     */
+    public boolean isDisponivel() {
+        return habilitada && carregado;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregarNaInicializacao() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            writer = new IndexWriter(FSDirectory.open(Path.of(diretorio)),
+                    new IndexWriterConfig(analisador).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            boolean encerramentoLimpo = false;
+            Iterable<Map.Entry<String, String>> dados = writer.getLiveCommitData();
+            if (dados != null) {
+                for (Map.Entry<String, String> dado : dados) {
+                    encerramentoLimpo |= ENCERRAMENTO_LIMPO.equals(dado.getKey()) && "true".equals(dado.getValue());
+                }
+            }
+            // Até o próximo encerramento limpo, o índice em disco é considerado possivelmente defasado
+            writer.setLiveCommitData(Map.of(ENCERRAMENTO_LIMPO, "false").entrySet());
+            writer.commit();
+            searcherManager = new SearcherManager(writer, null);
+
+            Long pessoas = transacaoLeitura.execute(status -> em.createQuery(
+                    "SELECT COUNT(p) FROM Pessoa p", Long.class).getSingleResult());
+            if (!encerramentoLimpo || pessoas == null || writer.getDocStats().numDocs != pessoas) {
+                reconstruir();
+            } else {
+                carregado = true;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Por exemplo, o diretório já está aberto por outra instância ou a reconstrução falhou; a busca usa o banco de dados
+            log.warn("Índice de busca indisponível em {}: {}", diretorio, e.getMessage());
+        }
+    }
+
+    /**
+     * Descarta o conteúdo do índice e o reconstrói a partir do banco de dados.
+     */
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            long inicio = System.nanoTime();
+            writer.deleteAll();
+            transacaoLeitura.executeWithoutResult(status -> em.createQuery(
+                            "SELECT p.id, p.nome, p.observacoes FROM Pessoa p", Object[].class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE) // streaming no driver do MySQL
+                    .getResultStream()
+                    .forEach(linha -> adicionar((Long) linha[0], (String) linha[1], (String) linha[2])));
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            carregado = true;
+            log.info("Índice de busca reconstruído com {} pessoas em {} ms",
+                    writer.getDocStats().numDocs, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPessoa(PessoaEvento evento) {
+        // Alterações que chegam antes da primeira reconstrução terminar já estão no banco e entram nela
+        if (!habilitada || searcherManager == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Term id = new Term(CAMPO_ID, evento.getId().toString());
+            if (evento.getTipo() == PessoaEvento.Tipo.REMOVIDA) {
+                writer.deleteDocuments(id);
+            } else {
+                PessoaDTO pessoa = evento.getPessoa();
+                writer.updateDocument(id, documento(pessoa.getId(), pessoa.getNome(), pessoa.getObservacoes()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as pessoas que contêm todas as palavras do texto no nome ou nas observações,
+     * ordenadas por relevância.
+     *
+     * @param texto   Texto da busca
+     * @param pagina  Página (a partir de 0)
+     * @param tamanho Quantidade de resultados por página
+     * @return IDs da página, em ordem de relevância, e a quantidade total de resultados
+     */
+    public Resultado buscar(String texto, int pagina, int tamanho) {
+        Query consulta = montarConsulta(texto);
+        if (consulta == null) {
+            return new Resultado(0, List.of());
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] encontrados = searcher.search(consulta, (pagina + 1) * tamanho).scoreDocs;
+                List<Long> ids = new ArrayList<>(tamanho);
+                for (int i = pagina * tamanho; i < encontrados.length; i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(encontrados[i].doc).get(CAMPO_ID)));
+                }
+                return new Resultado(searcher.count(consulta), ids);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        if (writer == null || !writer.isOpen()) {
+            return;
+        }
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(ENCERRAMENTO_LIMPO, String.valueOf(carregado)).entrySet());
+        writer.commit();
+        Directory diretorioIndice = writer.getDirectory();
+        writer.close();
+        diretorioIndice.close();
+    }
+
+    /**
+     * Cada palavra vira uma cláusula obrigatória que aceita, no nome (peso 2) ou nas observações (peso 1),
+     * a palavra exata, palavras que começam com ela ou palavras a uma/duas edições de distância.
+     */
+    private Query montarConsulta(String texto) {
+        List<String> palavras = analisar(texto);
+        if (palavras.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        for (String palavra : palavras) {
+            BooleanQuery.Builder porPalavra = new BooleanQuery.Builder();
+            adicionarVariacoes(porPalavra, CAMPO_NOME, palavra, 2f);
+            adicionarVariacoes(porPalavra, CAMPO_OBSERVACOES, palavra, 1f);
+            consulta.add(porPalavra.build(), BooleanClause.Occur.MUST);
+        }
+        return consulta.build();
+    }
+
+    private void adicionarVariacoes(BooleanQuery.Builder consulta, String campo, String palavra, float peso) {
+        Term termo = new Term(campo, palavra);
+        consulta.add(new BoostQuery(new TermQuery(termo), 3f * peso), BooleanClause.Occur.SHOULD);
+        consulta.add(new BoostQuery(new PrefixQuery(termo), 1.5f * peso), BooleanClause.Occur.SHOULD);
+        int edicoes = palavra.length() >= 6 ? 2 : palavra.length() >= 3 ? 1 : 0;
+        if (edicoes > 0) {
+            // A primeira letra precisa coincidir, o que reduz bastante os termos avaliados
+            consulta.add(new BoostQuery(new FuzzyQuery(termo, edicoes, 1), peso), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analisar(String texto) {
+        List<String> palavras = new ArrayList<>();
+        try (TokenStream tokens = analisador.tokenStream(CAMPO_NOME, texto)) {
+            CharTermAttribute termo = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                palavras.add(termo.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return palavras;
+    }
+
+    private void adicionar(Long id, String nome, String observacoes) {
+        try {
+            writer.addDocument(documento(id, nome, observacoes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document documento(Long id, String nome, String observacoes) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_ID, id.toString(), Field.Store.YES));
+        documento.add(new TextField(CAMPO_NOME, nome, Field.Store.NO));
+        if (observacoes != null) {
+            documento.add(new TextField(CAMPO_OBSERVACOES, observacoes, Field.Store.NO));
+        }
+        return documento;
+    }
+
+    /**
+     * IDs de uma página da busca e o total de pessoas encontradas.
+     */
+    public record Resultado(long total, List<Long> ids) {
+    }
+
+    /**
+     * Palavras em minúsculas e sem acentos.
+     */
+    private static final class AnalisadorTexto extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream tokens = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, tokens);
+        }
+    }
+}
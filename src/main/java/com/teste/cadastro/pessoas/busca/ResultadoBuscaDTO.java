@@ -0,0 +1,32 @@
+package com.teste.cadastro.pessoas.busca;
+
+import com.teste.cadastro.pessoas.PessoaDTO;
+
+import java.util.List;
+
+/**
+ * Página de resultados da busca textual de pessoas, em ordem de relevância.
+ */
+public class ResultadoBuscaDTO {
+
+    private long total;
+    private int pagina;
+    private int tamanho;
+    private List<PessoaDTO> itens;
+
+    public ResultadoBuscaDTO(long total, int pagina, int tamanho, List<PessoaDTO> itens) {
+        this.total = total;
+        this.pagina = pagina;
+        this.tamanho = tamanho;
+        this.itens = itens;
+    }
+
+    public long getTotal() {return total;}
+    public void setTotal(long total) {this.total = total;}
+    public int getPagina() {return pagina;}
+    public void setPagina(int pagina) {this.pagina = pagina;}
+    public int getTamanho() {return tamanho;}
+    public void setTamanho(int tamanho) {this.tamanho = tamanho;}
+    public List<PessoaDTO> getItens() {return itens;}
+    public void setItens(List<PessoaDTO> itens) {this.itens = itens;}
+}
@@ -0,0 +1,109 @@
+package com.teste.cadastro.pessoas.conflitos;
+
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Detecta sobreposições entre períodos semiabertos [inicio, fim) dentro de um mesmo grupo
+ * (por exemplo, pessoas na mesma propriedade) com uma varredura ordenada, em O(n log n + k),
+ * onde k é a quantidade de sobreposições encontradas, em vez da comparação de todos os pares.
+ *
+ * Os períodos devem ser entregues em ordem de (grupo, inicio). Ao chegar um período, os ativos que
+ * terminam até o seu início são descartados de um heap ordenado pelo fim; todos os que sobram
+ * começaram antes e ainda não terminaram, ou seja, se sobrepõem ao novo período. Quem guarda dados
+ * por período fora do detector pode descartá-los quando o período deixa os ativos ({@code aoEncerrar}),
+ * mantendo a memória proporcional aos períodos ativos.
+ *
+ * Não é thread-safe: cada varredura usa a sua própria instância.
+ */
+public final class DetectorConflitos {
+
+    /**
+     * Recebe cada sobreposição encontrada.
+     */
+    @FunctionalInterface
+    public interface Consumidor {
+        /**
+         * @return false para interromper a varredura
+         */
+        boolean conflito(long grupo, long id, long outroId, long inicioSobreposicao, long fimSobreposicao);
+    }
+
+    private final Consumidor consumidor;
+    private final LongConsumer aoEncerrar;
+    private final PriorityQueue<Ativo> ativos = new PriorityQueue<>((a, b) -> Long.compare(a.fim(), b.fim()));
+    private long grupoAtual;
+    private long ultimoInicio = Long.MIN_VALUE;
+    private boolean iniciado;
+    private boolean interrompido;
+    private long conflitos;
+
+    public DetectorConflitos(Consumidor consumidor) {
+        this(consumidor, id -> {});
+    }
+
+    /**
+     * @param consumidor Recebe cada sobreposição encontrada
+     * @param aoEncerrar Recebe o ID de cada período que deixa de estar ativo e não participa de outras sobreposições
+     */
+    public DetectorConflitos(Consumidor consumidor, LongConsumer aoEncerrar) {
+        this.consumidor = consumidor;
+        this.aoEncerrar = aoEncerrar;
+    }
+
+    /**
+     * Processa o próximo período da varredura.
+     *
+     * @throws IllegalStateException se os períodos não estiverem em ordem de (grupo, inicio)
+     */
+    public void adicionar(long grupo, long id, long inicio, long fim) {
+        if (interrompido) {
+            return;
+        }
+        if (!iniciado || grupo != grupoAtual) {
+            if (iniciado && grupo < grupoAtual) {
+                throw new IllegalStateException("Períodos fora de ordem de grupo.");
+            }
+            while (!ativos.isEmpty()) {
+                aoEncerrar.accept(ativos.poll().id());
+            }
+            grupoAtual = grupo;
+            ultimoInicio = Long.MIN_VALUE;
+            iniciado = true;
+        }
+        if (inicio < ultimoInicio) {
+            throw new IllegalStateException("Períodos fora de ordem de início.");
+        }
+        ultimoInicio = inicio;
+
+        // Períodos semiabertos: quem termina exatamente no início do novo não conflita com ele
+        while (!ativos.isEmpty() && ativos.peek().fim() <= inicio) {
+            aoEncerrar.accept(ativos.poll().id());
+        }
+        for (Ativo ativo : ativos) {
+            conflitos++;
+            if (!consumidor.conflito(grupo, ativo.id(), id, inicio, Math.min(ativo.fim(), fim))) {
+                interrompido = true;
+                return;
+            }
+        }
+        ativos.add(new Ativo(id, fim));
+    }
+
+    /**
+     * @return Quantidade de sobreposições entregues ao consumidor
+     */
+    public long getConflitos() {
+        return conflitos;
+    }
+
+    /**
+     * @return true se o consumidor interrompeu a varredura
+     */
+    public boolean isInterrompido() {
+        return interrompido;
+    }
+
+    private record Ativo(long id, long fim) {
+    }
+}
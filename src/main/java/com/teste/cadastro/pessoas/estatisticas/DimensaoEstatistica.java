@@ -0,0 +1,57 @@
+package com.teste.cadastro.pessoas.estatisticas;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Dimensões aceitas no agrupamento de {@code GET /pessoa/estatisticas}.
+ * Cada dimensão traz os trechos de SQL que ela acrescenta à consulta (colunas, agrupamento e junção);
+ * somente esses trechos fixos entram no SQL, nunca texto vindo da requisição.
+ */
+public enum DimensaoEstatistica {
+
+    LABORATORIO(
+            "p.laboratorio_id AS laboratorio_id, l.nome AS laboratorio_nome",
+            "p.laboratorio_id, l.nome",
+            "JOIN tb_laboratorios l ON l.id = p.laboratorio_id"),
+    PROPRIEDADE(
+            "p.propriedade_id AS propriedade_id, pr.nome AS propriedade_nome",
+            "p.propriedade_id, pr.nome",
+            "JOIN tb_propriedades pr ON pr.id = p.propriedade_id"),
+    MES(
+            "DATE_FORMAT(p.data_inicial, '%Y-%m') AS mes",
+            "mes",
+            null),
+    // Semana ISO 8601 (ano da semana e número da semana, segunda-feira como primeiro dia)
+    SEMANA(
+            "DATE_FORMAT(p.data_inicial, '%x-W%v') AS semana",
+            "semana",
+            null);
+
+    private final String colunas;
+    private final String agrupamento;
+    private final String juncao;
+
+    DimensaoEstatistica(String colunas, String agrupamento, String juncao) {
+        this.colunas = colunas;
+        this.agrupamento = agrupamento;
+        this.juncao = juncao;
+    }
+
+    String getColunas() {return colunas;}
+    String getAgrupamento() {return agrupamento;}
+    String getJuncao() {return juncao;}
+
+    /**
+     * @param nome Nome da dimensão, sem diferenciar maiúsculas e minúsculas
+     * @return Dimensão correspondente
+     * @throws IllegalArgumentException se a dimensão não for suportada
+     */
+    public static DimensaoEstatistica de(String nome) {
+        return Arrays.stream(values())
+                .filter(d -> d.name().equals(nome.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Dimensão de agrupamento inválida: " + nome
+                        + ". Use laboratorio, propriedade, mes ou semana."));
+    }
+}
@@ -0,0 +1,175 @@
+package com.teste.cadastro.pessoas.estatisticas;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Agregações ad-hoc sobre tb_pessoas: agrupa pelas dimensões pedidas e calcula as métricas pedidas
+ * em uma única consulta SQL executada no MySQL, com junção apenas das tabelas que as dimensões exigem.
+ *
+ * O resultado é lido por um cursor (streaming no driver do MySQL) e escrito diretamente na resposta
+ * como um array JSON, sem montar a lista inteira em memória.
+ */
+@Service
+public class EstatisticasPessoasService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public EstatisticasPessoasService(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // streaming no driver do MySQL
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Consulta já validada, pronta para execução.
+     */
+    public record Consulta(List<DimensaoEstatistica> dimensoes, List<MetricaEstatistica> metricas,
+                           String sql, Object[] parametros) {
+    }
+
+    /**
+     * Valida os parâmetros e monta o SQL da agregação.
+     *
+     * @param agrupar           Dimensões de agrupamento (laboratorio, propriedade, mes, semana)
+     * @param metricas          Métricas (quantidade, primeiraDataInicial, ultimaDataFinal, duracaoMediaSegundos)
+     * @param dataInicialInicio Limite inferior de dataInicial (opcional)
+     * @param dataInicialFim    Limite superior de dataInicial (opcional)
+     * @param laboratorioId     Restringe a um laboratório (opcional)
+     * @param propriedadeId     Restringe a uma propriedade (opcional)
+     * @return {@link Consulta} com o SQL e os parâmetros
+     * @throws IllegalArgumentException se alguma dimensão ou métrica for inválida, ou se as datas forem incoerentes
+     */
+    public Consulta compilar(List<String> agrupar, List<String> metricas,
+                             Optional<ZonedDateTime> dataInicialInicio, Optional<ZonedDateTime> dataInicialFim,
+                             Optional<Integer> laboratorioId, Optional<Integer> propriedadeId) {
+        Set<DimensaoEstatistica> dimensoes = agrupar.stream()
+                .filter(nome -> !nome.isBlank())
+                .map(DimensaoEstatistica::de)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (dimensoes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma dimensão de agrupamento.");
+        }
+        Set<MetricaEstatistica> metricasSelecionadas = metricas.stream()
+                .filter(nome -> !nome.isBlank())
+                .map(MetricaEstatistica::de)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (metricasSelecionadas.isEmpty()) {
+            metricasSelecionadas.add(MetricaEstatistica.QUANTIDADE);
+        }
+        if (dataInicialInicio.isPresent() && dataInicialFim.isPresent()
+                && dataInicialInicio.get().isAfter(dataInicialFim.get())) {
+            throw new IllegalArgumentException("A Data Inicial de Começo não pode ser posterior à Data Final de Começo.");
+        }
+
+        List<String> colunas = new ArrayList<>();
+        List<String> juncoes = new ArrayList<>();
+        List<String> agrupamentos = new ArrayList<>();
+        for (DimensaoEstatistica dimensao : dimensoes) {
+            colunas.add(dimensao.getColunas());
+            agrupamentos.add(dimensao.getAgrupamento());
+            if (dimensao.getJuncao() != null) {
+                juncoes.add(dimensao.getJuncao());
+            }
+        }
+        for (MetricaEstatistica metrica : metricasSelecionadas) {
+            colunas.add(metrica.getExpressao() + " AS " + metrica.name().toLowerCase(Locale.ROOT));
+        }
+
+        List<String> condicoes = new ArrayList<>();
+        List<Object> parametros = new ArrayList<>();
+        dataInicialInicio.ifPresent(data -> {
+            condicoes.add("p.data_inicial >= ?");
+            parametros.add(Timestamp.from(data.toInstant()));
+        });
+        dataInicialFim.ifPresent(data -> {
+            condicoes.add("p.data_inicial <= ?");
+            parametros.add(Timestamp.from(data.toInstant()));
+        });
+        laboratorioId.ifPresent(id -> {
+            condicoes.add("p.laboratorio_id = ?");
+            parametros.add(id);
+        });
+        propriedadeId.ifPresent(id -> {
+            condicoes.add("p.propriedade_id = ?");
+            parametros.add(id);
+        });
+
+        String sql = "SELECT " + String.join(", ", colunas) +
+                " FROM tb_pessoas p " + String.join(" ", juncoes) +
+                (condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes)) +
+                " GROUP BY " + String.join(", ", agrupamentos) +
+                " ORDER BY " + String.join(", ", agrupamentos);
+        return new Consulta(List.copyOf(dimensoes), List.copyOf(metricasSelecionadas), sql, parametros.toArray());
+    }
+
+    /**
+     * Executa a consulta e escreve cada grupo como um objeto do array JSON, à medida que as linhas chegam.
+     *
+     * @param consulta Consulta compilada por {@link #compilar}
+     * @param saida    Corpo da resposta
+     */
+    public void escrever(Consulta consulta, OutputStream saida) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+            json.writeStartArray();
+            jdbcTemplate.query(consulta.sql(), (RowCallbackHandler) rs -> {
+                try {
+                    escreverLinha(consulta, rs, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, consulta.parametros());
+            json.writeEndArray();
+        }
+    }
+
+    private void escreverLinha(Consulta consulta, ResultSet rs, JsonGenerator json) throws SQLException, IOException {
+        json.writeStartObject();
+        for (DimensaoEstatistica dimensao : consulta.dimensoes()) {
+            switch (dimensao) {
+                case LABORATORIO -> {
+                    json.writeNumberField("laboratorioId", rs.getInt("laboratorio_id"));
+                    json.writeStringField("laboratorioNome", rs.getString("laboratorio_nome"));
+                }
+                case PROPRIEDADE -> {
+                    json.writeNumberField("propriedadeId", rs.getInt("propriedade_id"));
+                    json.writeStringField("propriedadeNome", rs.getString("propriedade_nome"));
+                }
+                case MES -> json.writeStringField("mes", rs.getString("mes"));
+                case SEMANA -> json.writeStringField("semana", rs.getString("semana"));
+            }
+        }
+        for (MetricaEstatistica metrica : consulta.metricas()) {
+            String coluna = metrica.name().toLowerCase(Locale.ROOT);
+            switch (metrica) {
+                case QUANTIDADE -> json.writeNumberField(metrica.getNome(), rs.getLong(coluna));
+                case PRIMEIRA_DATA_INICIAL, ULTIMA_DATA_FINAL -> {
+                    Timestamp data = rs.getTimestamp(coluna);
+                    json.writeStringField(metrica.getNome(), data == null ? null : data.toInstant().toString());
+                }
+                case DURACAO_MEDIA_SEGUNDOS -> json.writeNumberField(metrica.getNome(), rs.getDouble(coluna));
+            }
+        }
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,41 @@
+package com.teste.cadastro.pessoas.estatisticas;
+
+import java.util.Arrays;
+
+/**
+ * Métricas aceitas em {@code GET /pessoa/estatisticas}, com a expressão de agregação correspondente.
+ */
+public enum MetricaEstatistica {
+
+    QUANTIDADE("quantidade", "COUNT(*)"),
+    PRIMEIRA_DATA_INICIAL("primeiraDataInicial", "MIN(p.data_inicial)"),
+    ULTIMA_DATA_FINAL("ultimaDataFinal", "MAX(p.data_final)"),
+    DURACAO_MEDIA_SEGUNDOS("duracaoMediaSegundos", "AVG(TIMESTAMPDIFF(SECOND, p.data_inicial, p.data_final))");
+
+    private final String nome;
+    private final String expressao;
+
+    MetricaEstatistica(String nome, String expressao) {
+        this.nome = nome;
+        this.expressao = expressao;
+    }
+
+    /**
+     * @return Nome da métrica na requisição e no JSON de resposta
+     */
+    public String getNome() {return nome;}
+    String getExpressao() {return expressao;}
+
+    /**
+     * @param nome Nome da métrica, como usado no JSON (ex.: duracaoMediaSegundos), sem diferenciar maiúsculas
+     * @return Métrica correspondente
+     * @throws IllegalArgumentException se a métrica não for suportada
+     */
+    public static MetricaEstatistica de(String nome) {
+        return Arrays.stream(values())
+                .filter(m -> m.nome.equalsIgnoreCase(nome.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Métrica inválida: " + nome
+                        + ". Use quantidade, primeiraDataInicial, ultimaDataFinal ou duracaoMediaSegundos."));
+    }
+}
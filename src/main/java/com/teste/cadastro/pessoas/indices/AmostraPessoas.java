@@ -0,0 +1,278 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.FiltroResumo;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.utils.Datas;
+import com.teste.cadastro.utils.Textos;
+import jakarta.persistence.EntityManager;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Amostra aleatória uniforme de tb_pessoas (reservoir sampling) usada pelo resumo aproximado de laboratórios.
+ *
+ * A amostra tem tamanho fixo ({@code cadastro.resumo.aproximado.tamanho-amostra}), então o custo de uma
+ * estimativa não cresce com a tabela. A quantidade de pessoas de cada laboratório é estimada pela proporção
+ * observada na amostra multiplicada pelo total de pessoas, com margem de erro de 95% de confiança
+ * (aproximação normal da proporção, com correção para população finita: quando a amostra cobre a tabela
+ * inteira a margem é zero e o resultado é exato).
+ *
+ * Habilitada com {@code cadastro.resumo.aproximado.habilitado=true}: é carregada na subida da aplicação
+ * e mantida pelos {@link PessoaEvento} aplicados após o commit. A amostra guarda os IDs contados na população
+ * (em um bitmap compactado), então uma inclusão ou exclusão só altera a população quando muda esse conjunto,
+ * inclusive ao reaplicar os eventos recebidos durante uma recarga. Exclusões diminuem a amostra e as inclusões
+ * seguintes disputam apenas as posições restantes, para que ela continue uniforme; quando cai abaixo da metade
+ * da capacidade é reconstruída em segundo plano, sem bloquear as estimativas, que usam a amostra anterior
+ * até a troca.
+ */
+@Component
+public class AmostraPessoas extends IndicePessoasEmMemoria<AmostraPessoas.Amostra> {
+
+    /** Quantil da normal para 95% de confiança. */
+    private static final double Z_95 = 1.959964;
+
+    public static final double NIVEL_CONFIANCA = 0.95;
+
+    private final AtomicBoolean recarregando = new AtomicBoolean();
+
+    @Value("${cadastro.resumo.aproximado.habilitado:false}")
+    private boolean habilitada;
+
+    @Value("${cadastro.resumo.aproximado.tamanho-amostra:10000}")
+    private int capacidade;
+
+    public AmostraPessoas(EntityManager em, PlatformTransactionManager transactionManager) {
+        super(em, transactionManager);
+    }
+
+    @Override
+    protected boolean isHabilitado() {
+        return habilitada;
+    }
+
+    @Override
+    protected String consultaCarga() {
+        return "SELECT p.id, p.laboratorio.id, p.dataInicial, p.dataFinal, p.observacoes FROM Pessoa p";
+    }
+
+    /**
+     * A recarga sorteia uma amostra nova em uma única passada sobre tb_pessoas (algoritmo R).
+     */
+    @Override
+    protected Amostra novoEstado() {
+        return new Amostra(capacidade);
+    }
+
+    @Override
+    protected void carregar(Amostra amostra, Object[] linha) {
+        Linha nova = new Linha((Long) linha[0], (Integer) linha[1],
+                Datas.micros((ZonedDateTime) linha[2]), Datas.micros((ZonedDateTime) linha[3]),
+                Textos.normalizar((String) linha[4]));
+        amostra.incluir(nova);
+    }
+
+    @Override
+    protected void aplicar(Amostra amostra, PessoaEvento evento) {
+        PessoaDTO pessoa = evento.getPessoa();
+        // Eventos reaplicados após a recarga só mudam a população se a carga não os tiver refletido
+        switch (evento.getTipo()) {
+            case CRIADA, SALVA -> {
+                if (amostra.contem(pessoa.getId())) {
+                    amostra.atualizar(linha(pessoa));
+                } else if (evento.getTipo() == PessoaEvento.Tipo.CRIADA) {
+                    amostra.incluir(linha(pessoa));
+                }
+            }
+            case REMOVIDA -> amostra.retirar(evento.getId());
+        }
+    }
+
+    @Override
+    protected void aposAlterar() {
+        boolean reconstruir;
+        lock.readLock().lock();
+        try {
+            Amostra amostra = estado();
+            reconstruir = amostra != null
+                    && amostra.linhas.size() < capacidade / 2 && amostra.populacao > amostra.linhas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (reconstruir && recarregando.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    recarregar();
+                } finally {
+                    recarregando.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Estima a quantidade de pessoas por laboratório que atendem ao filtro.
+     * Laboratórios sem nenhuma pessoa na amostra não aparecem no resultado.
+     *
+     * @param filtro Filtros de datas, observações e quantidade mínima (aplicada sobre a estimativa)
+     * @return Estimativas ordenadas da maior para a menor quantidade
+     */
+    public List<Estimativa> estimar(FiltroResumo filtro) {
+        long dataInicialMin = filtro.getDataInicialInicio() == null ? Long.MIN_VALUE : Datas.micros(filtro.getDataInicialInicio());
+        long dataInicialMax = filtro.getDataInicialFim() == null ? Long.MAX_VALUE : Datas.micros(filtro.getDataInicialFim());
+        long dataFinalMin = filtro.getDataFinalInicio() == null ? Long.MIN_VALUE : Datas.micros(filtro.getDataFinalInicio());
+        long dataFinalMax = filtro.getDataFinalFim() == null ? Long.MAX_VALUE : Datas.micros(filtro.getDataFinalFim());
+        String termo = Textos.normalizar(filtro.getObservacoes());
+        long quantidadeMinima = filtro.getQuantidadeMinima() == null ? 0 : filtro.getQuantidadeMinima();
+
+        lock.readLock().lock();
+        try {
+            Amostra amostra = estado();
+            if (amostra == null) {
+                return List.of();
+            }
+            Map<Integer, Long> contagens = new HashMap<>();
+            for (Linha linha : amostra.linhas) {
+                if (linha.inicio() < dataInicialMin || linha.inicio() > dataInicialMax
+                        || linha.fim() < dataFinalMin || linha.fim() > dataFinalMax
+                        || (termo != null && (linha.observacoes() == null || !linha.observacoes().contains(termo)))) {
+                    continue;
+                }
+                contagens.merge(linha.laboratorio(), 1L, Long::sum);
+            }
+
+            int tamanhoAmostra = amostra.linhas.size();
+            long populacao = amostra.populacao;
+            List<Estimativa> estimativas = new ArrayList<>(contagens.size());
+            contagens.forEach((laboratorio, contagem) -> {
+                Estimativa estimativa = estimativa(laboratorio, contagem, tamanhoAmostra, populacao);
+                if (estimativa.quantidade() >= quantidadeMinima) {
+                    estimativas.add(estimativa);
+                }
+            });
+            estimativas.sort(Comparator.comparingLong(Estimativa::quantidade).reversed()
+                    .thenComparingInt(Estimativa::laboratorioId));
+            return estimativas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Estimativa estimativa(int laboratorio, long contagem, int tamanhoAmostra, long populacao) {
+        if (tamanhoAmostra >= populacao) {
+            return new Estimativa(laboratorio, contagem, 0);
+        }
+        double proporcao = (double) contagem / tamanhoAmostra;
+        double correcaoPopulacaoFinita = (double) (populacao - tamanhoAmostra) / (populacao - 1);
+        double erroPadrao = Math.sqrt(proporcao * (1 - proporcao) / tamanhoAmostra * correcaoPopulacaoFinita);
+        return new Estimativa(laboratorio,
+                Math.round(proporcao * populacao),
+                (long) Math.ceil(Z_95 * erroPadrao * populacao));
+    }
+
+    private static Linha linha(PessoaDTO pessoa) {
+        return new Linha(pessoa.getId(), pessoa.getLaboratorio().getId(),
+                Datas.micros(pessoa.getDataInicial()), Datas.micros(pessoa.getDataFinal()),
+                Textos.normalizar(pessoa.getObservacoes()));
+    }
+
+    /**
+     * Conteúdo da amostra: as linhas sorteadas e o total de pessoas da tabela.
+     */
+    static final class Amostra {
+
+        private final int capacidade;
+
+        // Total de pessoas na tabela (população da qual a amostra é extraída) e os IDs contados nele,
+        // para que um evento já refletido pela carga não altere a população de novo
+        private long populacao;
+        private final Roaring64NavigableMap contadas = new Roaring64NavigableMap();
+        private final List<Linha> linhas = new ArrayList<>();
+        private final Map<Long, Integer> posicaoPorId = new HashMap<>();
+
+        private Amostra(int capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        /**
+         * Passo do reservoir sampling: enquanto a amostra cobre a tabela inteira a pessoa entra direto e,
+         * a partir daí, a n-ésima pessoa substitui uma posição sorteada com probabilidade k/n, em que k é o
+         * tamanho atual da amostra. Depois de exclusões k fica abaixo da capacidade; usar k, e não a
+         * capacidade, mantém todas as pessoas com a mesma chance de estar na amostra.
+         */
+        private void incluir(Linha linha) {
+            contadas.addLong(linha.id());
+            populacao++;
+            int tamanho = linhas.size();
+            if (tamanho == populacao - 1 && tamanho < capacidade) {
+                posicaoPorId.put(linha.id(), tamanho);
+                linhas.add(linha);
+                return;
+            }
+            long sorteio = ThreadLocalRandom.current().nextLong(populacao);
+            if (sorteio < tamanho) {
+                int posicao = (int) sorteio;
+                posicaoPorId.remove(linhas.get(posicao).id());
+                posicaoPorId.put(linha.id(), posicao);
+                linhas.set(posicao, linha);
+            }
+        }
+
+        private boolean contem(long id) {
+            return contadas.contains(id);
+        }
+
+        /**
+         * @return Total de pessoas contadas na população
+         */
+        long populacao() {
+            return populacao;
+        }
+
+        /**
+         * Só importa se a pessoa estiver na amostra; as demais não influenciam a estimativa.
+         */
+        private void atualizar(Linha linha) {
+            Integer posicao = posicaoPorId.get(linha.id());
+            if (posicao != null) {
+                linhas.set(posicao, linha);
+            }
+        }
+
+        private void retirar(Long id) {
+            if (!contem(id)) {
+                return;
+            }
+            contadas.removeLong(id);
+            populacao--;
+            Integer posicao = posicaoPorId.remove(id);
+            if (posicao == null) {
+                return;
+            }
+            // Move a última linha para a posição liberada, mantendo a lista compacta
+            Linha ultima = linhas.remove(linhas.size() - 1);
+            if (posicao < linhas.size()) {
+                linhas.set(posicao, ultima);
+                posicaoPorId.put(ultima.id(), posicao);
+            }
+        }
+    }
+
+    private record Linha(long id, int laboratorio, long inicio, long fim, String observacoes) {
+    }
+
+    /**
+     * Quantidade estimada de pessoas de um laboratório e a margem de erro (para mais ou para menos)
+     * com {@link #NIVEL_CONFIANCA} de confiança.
+     */
+    public record Estimativa(int laboratorioId, long quantidade, long margemErro) {
+    }
+}
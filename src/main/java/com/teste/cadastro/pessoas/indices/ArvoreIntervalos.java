@@ -0,0 +1,178 @@
+package com.teste.cadastro.pessoas.indices;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Árvore de intervalos: árvore AVL ordenada pelo início do intervalo (desempatado pelo id),
+ * em que cada nó guarda também o maior fim da sua subárvore.
+ *
+ * Os intervalos são semiabertos, [inicio, fim). Na consulta por um instante, subárvores cujo maior fim
+ * não passa do instante são descartadas inteiras, e nada à direita de um nó que começa depois do
+ * instante é visitado, então o custo depende da altura da árvore e da quantidade de intervalos
+ * encontrados, e não do total armazenado. Os ids são entregues em ordem crescente de início.
+ *
+ * Não é thread-safe: o acesso concorrente é controlado por {@link IndiceIntervalosPessoas}.
+ */
+class ArvoreIntervalos {
+
+    private No raiz;
+    private int tamanho;
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    void inserir(long id, long inicio, long fim) {
+        raiz = inserir(raiz, id, inicio, fim);
+        tamanho++;
+    }
+
+    void remover(long id, long inicio) {
+        raiz = remover(raiz, id, inicio);
+    }
+
+    /**
+     * Entrega os ids dos intervalos que contêm o instante (inicio ≤ instante < fim).
+     */
+    void consultar(long instante, LongConsumer consumidor) {
+        consultar(raiz, instante, consumidor);
+    }
+
+    private void consultar(No no, long instante, LongConsumer consumidor) {
+        if (no == null || no.maiorFim <= instante) {
+            return;
+        }
+        consultar(no.esquerda, instante, consumidor);
+        if (no.inicio > instante) {
+            return;
+        }
+        if (no.fim > instante) {
+            consumidor.accept(no.id);
+        }
+        consultar(no.direita, instante, consumidor);
+    }
+
+    private static int comparar(long inicio, long id, No no) {
+        int comparacao = Long.compare(inicio, no.inicio);
+        return comparacao != 0 ? comparacao : Long.compare(id, no.id);
+    }
+
+    private No inserir(No no, long id, long inicio, long fim) {
+        if (no == null) {
+            return new No(id, inicio, fim);
+        }
+        if (comparar(inicio, id, no) < 0) {
+            no.esquerda = inserir(no.esquerda, id, inicio, fim);
+        } else {
+            no.direita = inserir(no.direita, id, inicio, fim);
+        }
+        return balancear(no);
+    }
+
+    private No remover(No no, long id, long inicio) {
+        if (no == null) {
+            return null;
+        }
+        int comparacao = comparar(inicio, id, no);
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, id, inicio);
+        } else if (comparacao > 0) {
+            no.direita = remover(no.direita, id, inicio);
+        } else {
+            tamanho--;
+            if (no.esquerda == null) {
+                return no.direita;
+            }
+            if (no.direita == null) {
+                return no.esquerda;
+            }
+            // Substitui pelo sucessor (menor nó da subárvore direita)
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) {
+                sucessor = sucessor.esquerda;
+            }
+            no.direita = removerMenor(no.direita);
+            sucessor.direita = no.direita;
+            sucessor.esquerda = no.esquerda;
+            return balancear(sucessor);
+        }
+        return balancear(no);
+    }
+
+    private No removerMenor(No no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        no.esquerda = removerMenor(no.esquerda);
+        return balancear(no);
+    }
+
+    private No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+        if (fator > 1) {
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) {
+                no.esquerda = rotacionarEsquerda(no.esquerda);
+            }
+            return rotacionarDireita(no);
+        }
+        if (fator < -1) {
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) {
+                no.direita = rotacionarDireita(no.direita);
+            }
+            return rotacionarEsquerda(no);
+        }
+        return no;
+    }
+
+    private No rotacionarDireita(No no) {
+        No novaRaiz = no.esquerda;
+        no.esquerda = novaRaiz.direita;
+        novaRaiz.direita = no;
+        atualizar(no);
+        atualizar(novaRaiz);
+        return novaRaiz;
+    }
+
+    private No rotacionarEsquerda(No no) {
+        No novaRaiz = no.direita;
+        no.direita = novaRaiz.esquerda;
+        novaRaiz.esquerda = no;
+        atualizar(no);
+        atualizar(novaRaiz);
+        return novaRaiz;
+    }
+
+    private static void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+        long maiorFim = no.fim;
+        if (no.esquerda != null) {
+            maiorFim = Math.max(maiorFim, no.esquerda.maiorFim);
+        }
+        if (no.direita != null) {
+            maiorFim = Math.max(maiorFim, no.direita.maiorFim);
+        }
+        no.maiorFim = maiorFim;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    private static final class No {
+        private final long id;
+        private final long inicio;
+        private final long fim;
+        private long maiorFim;
+        private int altura = 1;
+        private No esquerda;
+        private No direita;
+
+        No(long id, long inicio, long fim) {
+            this.id = id;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.maiorFim = fim;
+        }
+    }
+}
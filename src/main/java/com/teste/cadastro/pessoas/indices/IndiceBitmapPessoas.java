@@ -0,0 +1,173 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import jakarta.persistence.EntityManager;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * Índice em memória com bitmaps compactados (Roaring) que mapeia cada laboratório e cada
+ * propriedade para o conjunto de ids de pessoas que os referenciam.
+ *
+ * Contar pessoas por laboratório/propriedade, cruzar laboratório x propriedade e verificar se
+ * um laboratório ou propriedade ainda está em uso passam a ser operações sobre bitmaps, sem SQL.
+ *
+ * Habilitado com {@code cadastro.indices.bitmap.habilitado=true}: é carregado na subida da
+ * aplicação e mantido pelos {@link PessoaEvento} aplicados após o commit.
+ */
+@Component
+public class IndiceBitmapPessoas extends IndicePessoasEmMemoria<IndiceBitmapPessoas.Bitmaps> {
+
+    @Value("${cadastro.indices.bitmap.habilitado:false}")
+    private boolean habilitado;
+
+    public IndiceBitmapPessoas(EntityManager em, PlatformTransactionManager transactionManager) {
+        super(em, transactionManager);
+    }
+
+    @Override
+    protected boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    protected String consultaCarga() {
+        return "SELECT p.id, p.laboratorio.id, p.infosPropriedade.id FROM Pessoa p";
+    }
+
+    @Override
+    protected Bitmaps novoEstado() {
+        return new Bitmaps();
+    }
+
+    @Override
+    protected void carregar(Bitmaps bitmaps, Object[] linha) {
+        bitmaps.adicionar((Long) linha[0], (Integer) linha[1], (Integer) linha[2]);
+    }
+
+    @Override
+    protected void aplicar(Bitmaps bitmaps, PessoaEvento evento) {
+        bitmaps.remover(evento.getId());
+        if (evento.getTipo() != PessoaEvento.Tipo.REMOVIDA) {
+            PessoaDTO pessoa = evento.getPessoa();
+            bitmaps.adicionar(pessoa.getId(), pessoa.getLaboratorio().getId(), pessoa.getInfosPropriedade().getId());
+        }
+    }
+
+    /**
+     * @return Quantidade total de pessoas, ou vazio se o índice não estiver disponível
+     */
+    public OptionalLong contarTodas() {
+        if (!isDisponivel()) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return OptionalLong.of(estado().referenciasPorPessoa.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param laboratorioId Identificador do laboratório
+     * @return Quantidade de pessoas do laboratório, ou vazio se o índice não estiver disponível
+     */
+    public OptionalLong contarPorLaboratorio(Integer laboratorioId) {
+        return contar(bitmaps -> bitmaps.porLaboratorio, laboratorioId);
+    }
+
+    /**
+     * @param propriedadeId Identificador da propriedade
+     * @return Quantidade de pessoas da propriedade, ou vazio se o índice não estiver disponível
+     */
+    public OptionalLong contarPorPropriedade(Integer propriedadeId) {
+        return contar(bitmaps -> bitmaps.porPropriedade, propriedadeId);
+    }
+
+    /**
+     * Conta as pessoas que estão ao mesmo tempo no laboratório e na propriedade informados
+     * (interseção dos dois bitmaps).
+     *
+     * @param laboratorioId Identificador do laboratório
+     * @param propriedadeId Identificador da propriedade
+     * @return Quantidade de pessoas, ou vazio se o índice não estiver disponível
+     */
+    public OptionalLong contarPorLaboratorioEPropriedade(Integer laboratorioId, Integer propriedadeId) {
+        if (!isDisponivel()) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap laboratorio = estado().porLaboratorio.get(laboratorioId);
+            Roaring64NavigableMap propriedade = estado().porPropriedade.get(propriedadeId);
+            if (laboratorio == null || propriedade == null) {
+                return OptionalLong.of(0);
+            }
+            Roaring64NavigableMap intersecao = new Roaring64NavigableMap();
+            intersecao.or(laboratorio);
+            intersecao.and(propriedade);
+            return OptionalLong.of(intersecao.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private OptionalLong contar(Function<Bitmaps, Map<Integer, Roaring64NavigableMap>> indice, Integer id) {
+        if (!isDisponivel()) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap pessoas = indice.apply(estado()).get(id);
+            return OptionalLong.of(pessoas == null ? 0 : pessoas.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conteúdo do índice: um bitmap de ids de pessoas por laboratório e por propriedade.
+     */
+    static final class Bitmaps {
+
+        private final Map<Integer, Roaring64NavigableMap> porLaboratorio = new HashMap<>();
+        private final Map<Integer, Roaring64NavigableMap> porPropriedade = new HashMap<>();
+
+        // Referências atuais de cada pessoa, para remover dos bitmaps antigos em updates e exclusões
+        private final Map<Long, int[]> referenciasPorPessoa = new HashMap<>();
+
+        private void adicionar(Long pessoaId, Integer laboratorioId, Integer propriedadeId) {
+            porLaboratorio.computeIfAbsent(laboratorioId, id -> new Roaring64NavigableMap()).addLong(pessoaId);
+            porPropriedade.computeIfAbsent(propriedadeId, id -> new Roaring64NavigableMap()).addLong(pessoaId);
+            referenciasPorPessoa.put(pessoaId, new int[]{laboratorioId, propriedadeId});
+        }
+
+        private void remover(Long pessoaId) {
+            int[] referencias = referenciasPorPessoa.remove(pessoaId);
+            if (referencias == null) {
+                return;
+            }
+            removerDoBitmap(porLaboratorio, referencias[0], pessoaId);
+            removerDoBitmap(porPropriedade, referencias[1], pessoaId);
+        }
+
+        private static void removerDoBitmap(Map<Integer, Roaring64NavigableMap> indice, int chave, long pessoaId) {
+            Roaring64NavigableMap pessoas = indice.get(chave);
+            if (pessoas != null) {
+                pessoas.removeLong(pessoaId);
+                if (pessoas.isEmpty()) {
+                    indice.remove(chave);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.utils.Datas;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Índice em memória dos períodos [dataInicial, dataFinal) das pessoas, usado para responder
+ * "quais pessoas estavam ativas no instante T" sem varrer as duas colunas de data no MySQL.
+ *
+ * Mantém uma {@link ArvoreIntervalos} com todas as pessoas e uma por laboratório, de modo que a
+ * consulta filtrada por laboratório também visita apenas os intervalos daquele laboratório.
+ *
+ * Habilitado com {@code cadastro.pessoas.intervalos.habilitado=true}: é carregado na subida da
+ * aplicação e mantido pelos {@link PessoaEvento} aplicados após o commit.
+ */
+@Component
+public class IndiceIntervalosPessoas extends IndicePessoasEmMemoria<IndiceIntervalosPessoas.Arvores> {
+
+    @Value("${cadastro.pessoas.intervalos.habilitado:false}")
+    private boolean habilitado;
+
+    public IndiceIntervalosPessoas(EntityManager em, PlatformTransactionManager transactionManager) {
+        super(em, transactionManager);
+    }
+
+    @Override
+    protected boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    protected String consultaCarga() {
+        return "SELECT p.id, p.laboratorio.id, p.dataInicial, p.dataFinal FROM Pessoa p";
+    }
+
+    @Override
+    protected Arvores novoEstado() {
+        return new Arvores();
+    }
+
+    @Override
+    protected void carregar(Arvores arvores, Object[] linha) {
+        arvores.adicionar((Long) linha[0], new Intervalo((Integer) linha[1],
+                Datas.micros((ZonedDateTime) linha[2]), Datas.micros((ZonedDateTime) linha[3])));
+    }
+
+    @Override
+    protected void aplicar(Arvores arvores, PessoaEvento evento) {
+        arvores.remover(evento.getId());
+        if (evento.getTipo() != PessoaEvento.Tipo.REMOVIDA) {
+            PessoaDTO pessoa = evento.getPessoa();
+            arvores.adicionar(pessoa.getId(), new Intervalo(pessoa.getLaboratorio().getId(),
+                    Datas.micros(pessoa.getDataInicial()), Datas.micros(pessoa.getDataFinal())));
+        }
+    }
+
+    /**
+     * Lista as pessoas ativas no instante informado, isto é, com dataInicial ≤ instante < dataFinal.
+     *
+     * @param instante      Instante consultado
+     * @param laboratorioId Restringe às pessoas do laboratório (opcional)
+     * @return IDs das pessoas em ordem crescente de dataInicial
+     */
+    public List<Long> ativasEm(ZonedDateTime instante, Integer laboratorioId) {
+        long micros = Datas.micros(instante);
+        lock.readLock().lock();
+        try {
+            Arvores arvores = estado();
+            ArvoreIntervalos arvore = arvores == null ? null
+                    : laboratorioId == null ? arvores.todas : arvores.porLaboratorio.get(laboratorioId);
+            if (arvore == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>();
+            arvore.consultar(micros, ids::add);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conteúdo do índice: a árvore com todas as pessoas e uma árvore por laboratório.
+     */
+    static final class Arvores {
+
+        private final ArvoreIntervalos todas = new ArvoreIntervalos();
+        private final Map<Integer, ArvoreIntervalos> porLaboratorio = new HashMap<>();
+
+        // Intervalo atual de cada pessoa, para localizá-la nas árvores em updates e exclusões
+        private final Map<Long, Intervalo> intervalosPorPessoa = new HashMap<>();
+
+        private void adicionar(Long pessoaId, Intervalo intervalo) {
+            todas.inserir(pessoaId, intervalo.inicio(), intervalo.fim());
+            porLaboratorio.computeIfAbsent(intervalo.laboratorio(), id -> new ArvoreIntervalos())
+                    .inserir(pessoaId, intervalo.inicio(), intervalo.fim());
+            intervalosPorPessoa.put(pessoaId, intervalo);
+        }
+
+        private void remover(Long pessoaId) {
+            Intervalo intervalo = intervalosPorPessoa.remove(pessoaId);
+            if (intervalo == null) {
+                return;
+            }
+            todas.remover(pessoaId, intervalo.inicio());
+            ArvoreIntervalos arvore = porLaboratorio.get(intervalo.laboratorio());
+            if (arvore != null) {
+                arvore.remover(pessoaId, intervalo.inicio());
+                if (arvore.tamanho() == 0) {
+                    porLaboratorio.remove(intervalo.laboratorio());
+                }
+            }
+        }
+    }
+
+    private record Intervalo(int laboratorio, long inicio, long fim) {
+    }
+}
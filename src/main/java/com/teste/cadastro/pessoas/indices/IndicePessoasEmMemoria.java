@@ -0,0 +1,169 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.pessoas.PessoaEvento;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Base dos índices em memória sobre tb_pessoas: carga a partir do banco na subida da aplicação,
+ * manutenção pelos {@link PessoaEvento} aplicados após o commit e o lock que protege o estado.
+ *
+ * A recarga monta um estado novo lendo tb_pessoas em uma única consulta com cursor, sem segurar o lock:
+ * consultas e eventos continuam sendo atendidos pelo estado atual durante a varredura. As alterações
+ * recebidas nesse meio tempo são guardadas e reaplicadas ao estado novo, sob o lock de escrita, logo antes
+ * da troca; por isso {@link #aplicar} deve tolerar um evento que a varredura já refletiu.
+ *
+ * @param <E> Estado do índice, acessado apenas com {@link #lock} adquirido
+ */
+public abstract class IndicePessoasEmMemoria<E> {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final EntityManager em;
+    private final TransactionTemplate transacaoLeitura;
+
+    // Serializa as recargas; não é o lock do estado, que fica livre durante a varredura
+    private final Object recarga = new Object();
+
+    private volatile boolean carregado;
+    private E estado;
+
+    // Alterações recebidas durante uma recarga em andamento, ou null fora de uma recarga
+    private List<Consumer<E>> pendentes;
+
+    protected IndicePessoasEmMemoria(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    /**
+     * @return true se o índice está habilitado na configuração
+     */
+    protected abstract boolean isHabilitado();
+
+    /**
+     * @return Consulta JPQL de projeção lida com cursor na carga do índice
+     */
+    protected abstract String consultaCarga();
+
+    /**
+     * @return Estado vazio, preenchido pela carga
+     */
+    protected abstract E novoEstado();
+
+    /**
+     * Inclui no estado uma linha da {@link #consultaCarga()}.
+     */
+    protected abstract void carregar(E estado, Object[] linha);
+
+    /**
+     * Aplica ao estado uma gravação ou exclusão de pessoa.
+     */
+    protected abstract void aplicar(E estado, PessoaEvento evento);
+
+    /**
+     * Chamado depois de cada evento aplicado, fora do lock.
+     */
+    protected void aposAlterar() {
+    }
+
+    /**
+     * @return true se o índice está habilitado e já foi carregado
+     */
+    public boolean isDisponivel() {
+        return isHabilitado() && carregado;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregarNaInicializacao() {
+        if (isHabilitado()) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Monta um estado novo a partir do banco de dados e descarta o atual.
+     */
+    public void recarregar() {
+        synchronized (recarga) {
+            alterarPendentes(new ArrayList<>());
+            E novo = novoEstado();
+            try {
+                transacaoLeitura.executeWithoutResult(status -> {
+                    try (Stream<Object[]> linhas = em.createQuery(consultaCarga(), Object[].class)
+                            .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE) // streaming no driver do MySQL
+                            .getResultStream()) {
+                        linhas.forEach(linha -> carregar(novo, linha));
+                    }
+                });
+            } catch (RuntimeException e) {
+                alterarPendentes(null);
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pendentes.forEach(alteracao -> alteracao.accept(novo));
+                pendentes = null;
+                estado = novo;
+                carregado = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPessoa(PessoaEvento evento) {
+        if (!isHabilitado()) {
+            return;
+        }
+        alterar(atual -> aplicar(atual, evento));
+        aposAlterar();
+    }
+
+    /**
+     * Aplica uma alteração ao estado atual e, se houver uma recarga em andamento, também ao estado
+     * que está sendo montado por ela.
+     */
+    protected void alterar(Consumer<E> alteracao) {
+        lock.writeLock().lock();
+        try {
+            if (estado != null) {
+                alteracao.accept(estado);
+            }
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Estado atual, ou null antes da primeira carga; exige o {@link #lock} adquirido
+     */
+    protected E estado() {
+        return estado;
+    }
+
+    private void alterarPendentes(List<Consumer<E>> novos) {
+        lock.writeLock().lock();
+        try {
+            pendentes = novos;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
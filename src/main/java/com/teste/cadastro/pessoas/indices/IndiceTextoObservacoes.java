@@ -0,0 +1,123 @@
+package com.teste.cadastro.pessoas.indices;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Índice FULLTEXT do MySQL sobre {@code tb_pessoas.observacoes}, usado pelo filtro de observações do resumo
+ * no lugar de {@code LOWER(observacoes) LIKE '%termo%'}, que não aproveita índice e avalia todas as linhas.
+ * Vale apenas para {@code GET /laboratorio/resumo}: o resumo paginado, o lote, a comparação de períodos e a
+ * lista de durações continuam filtrando com LIKE, com o mesmo resultado e o custo da varredura.
+ *
+ * O índice usa o parser {@code ngram} (tokens de {@code ngram_token_size} caracteres, 2 por padrão), então
+ * uma busca de frase em modo booleano equivale a procurar a sequência de caracteres em qualquer posição,
+ * como o LIKE. Termos mais curtos que {@code cadastro.resumo.observacoes.fulltext.tamanho-minimo} continuam
+ * no LIKE, pois não formam n-gramas suficientes para uma busca seletiva.
+ *
+ * O JPA não declara índices FULLTEXT, então o índice é criado na subida da aplicação quando ainda não existe
+ * em information_schema. A lista de stopwords é desligada na criação: com o parser ngram, qualquer n-grama que
+ * contenha uma stopword (como "a" ou "de") seria descartado, o que esvaziaria o índice para textos em português.
+ * O valor anterior da variável de sessão é restaurado em seguida, pois a conexão volta para o pool.
+ *
+ * Desabilitado por padrão ({@code cadastro.resumo.observacoes.fulltext}). Alterações só entram no índice
+ * FULLTEXT do InnoDB após o commit.
+ */
+@Component
+public class IndiceTextoObservacoes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTextoObservacoes.class);
+
+    static final String NOME_INDICE = "ft_pessoas_observacoes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${cadastro.resumo.observacoes.fulltext:false}")
+    private boolean habilitado;
+
+    @Value("${cadastro.resumo.observacoes.fulltext.tamanho-minimo:3}")
+    private int tamanhoMinimo;
+
+    private volatile boolean disponivel;
+
+    public IndiceTextoObservacoes(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @return true se a busca FULLTEXT está habilitada e o índice existe
+     */
+    public boolean isDisponivel() {
+        return habilitado && disponivel;
+    }
+
+    /**
+     * Indica se o termo deve ser buscado pelo índice FULLTEXT em vez do LIKE.
+     */
+    public boolean isAplicavel(String termo) {
+        return isDisponivel() && termo != null && termo.strip().length() >= tamanhoMinimo;
+    }
+
+    /**
+     * Converte o termo em uma busca de frase do modo booleano. As aspas do próprio termo são removidas
+     * para que ele não encerre a frase nem seja lido como operador.
+     */
+    public String expressao(String termo) {
+        return "\"" + termo.strip().replace("\"", "") + "\"";
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void criarNaInicializacao() {
+        if (habilitado) {
+            criarIndice();
+        }
+    }
+
+    /**
+     * Cria o índice FULLTEXT se ele ainda não existir. Uma falha (por exemplo, falta de permissão para
+     * ALTER TABLE) mantém o filtro no LIKE em vez de impedir a aplicação de subir.
+     */
+    public void criarIndice() {
+        try {
+            Integer existentes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                            "WHERE table_schema = DATABASE() AND table_name = 'tb_pessoas' AND index_name = ?",
+                    Integer.class, NOME_INDICE);
+            if (existentes == null || existentes == 0) {
+                long inicio = System.nanoTime();
+                // A variável de sessão precisa valer na mesma conexão do ALTER TABLE
+                jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+                    try (Statement statement = conexao.createStatement()) {
+                        boolean stopwordsAnterior;
+                        try (ResultSet rs = statement.executeQuery("SELECT @@SESSION.innodb_ft_enable_stopword")) {
+                            stopwordsAnterior = !rs.next() || rs.getBoolean(1);
+                        }
+                        statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+                        try {
+                            statement.execute("ALTER TABLE tb_pessoas ADD FULLTEXT INDEX " + NOME_INDICE +
+                                    " (observacoes) WITH PARSER ngram");
+                        } finally {
+                            statement.execute("SET SESSION innodb_ft_enable_stopword = " + (stopwordsAnterior ? "ON" : "OFF"));
+                        }
+                    }
+                    return null;
+                });
+                log.info("Índice {} criado em {} ms", NOME_INDICE, (System.nanoTime() - inicio) / 1_000_000);
+            }
+            disponivel = true;
+        } catch (DataAccessException e) {
+            log.warn("Índice {} indisponível, o filtro de observações continua com LIKE: {}", NOME_INDICE, e.getMessage());
+            disponivel = false;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.CursorResumo;
+import com.teste.cadastro.laboratorios.FiltroResumo;
+import com.teste.cadastro.laboratorios.LaboratorioEvento;
+import com.teste.cadastro.laboratorios.LaboratorioResumoDTO;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.utils.Datas;
+import com.teste.cadastro.utils.Textos;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Réplica analítica em memória de tb_pessoas, organizada em colunas de tipos primitivos,
+ * usada para responder o resumo de laboratórios sem consultar o MySQL.
+ *
+ * Cada pessoa ocupa uma posição nos arrays paralelos abaixo; as datas são guardadas em
+ * microssegundos desde a época, o laboratório e as observações são codificados em dicionários.
+ * O filtro de observações (substring, sem diferenciar maiúsculas nem acentos, como o LIKE do MySQL)
+ * é avaliado uma única vez por entrada do dicionário, e a varredura das linhas compara apenas inteiros.
+ * A varredura é dividida em blocos executados em paralelo no {@link ForkJoinPool} comum.
+ *
+ * Habilitada com {@code cadastro.resumo.memoria.habilitada=true}: a carga inicial acontece na subida
+ * da aplicação e a réplica é mantida pelos eventos {@link PessoaEvento} e {@link LaboratorioEvento},
+ * aplicados após o commit.
+ */
+@Component
+public class ReplicaColunarPessoas extends IndicePessoasEmMemoria<ReplicaColunarPessoas.Colunas> {
+
+    private static final int LIMIAR_PARALELO = 16_384;
+    private static final int CAPACIDADE_INICIAL = 1_024;
+
+    @Value("${cadastro.resumo.memoria.habilitada:false}")
+    private boolean habilitada;
+
+    public ReplicaColunarPessoas(EntityManager em, PlatformTransactionManager transactionManager) {
+        super(em, transactionManager);
+    }
+
+    @Override
+    protected boolean isHabilitado() {
+        return habilitada;
+    }
+
+    @Override
+    protected String consultaCarga() {
+        return "SELECT p.id, l.id, l.nome, p.dataInicial, p.dataFinal, p.observacoes FROM Pessoa p JOIN p.laboratorio l";
+    }
+
+    @Override
+    protected Colunas novoEstado() {
+        return new Colunas();
+    }
+
+    @Override
+    protected void carregar(Colunas colunas, Object[] linha) {
+        colunas.gravar((Long) linha[0], (Integer) linha[1], (String) linha[2],
+                (ZonedDateTime) linha[3], (ZonedDateTime) linha[4], (String) linha[5]);
+    }
+
+    @Override
+    protected void aplicar(Colunas colunas, PessoaEvento evento) {
+        if (evento.getTipo() == PessoaEvento.Tipo.REMOVIDA) {
+            colunas.remover(evento.getId());
+        } else {
+            PessoaDTO pessoa = evento.getPessoa();
+            colunas.gravar(pessoa.getId(), pessoa.getLaboratorio().getId(), pessoa.getLaboratorio().getNome(),
+                    pessoa.getDataInicial(), pessoa.getDataFinal(), pessoa.getObservacoes());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLaboratorio(LaboratorioEvento evento) {
+        if (!habilitada || evento.getTipo() != LaboratorioEvento.Tipo.SALVO) {
+            return;
+        }
+        alterar(colunas -> colunas.renomearLaboratorio(evento.getId(), evento.getNome()));
+    }
+
+    /**
+     * Calcula o resumo de laboratórios para um conjunto de filtros.
+     *
+     * @param filtro Filtros do resumo
+     * @return Lista de {@link LaboratorioResumoDTO}, na mesma ordem da consulta do repositório
+     */
+    public List<LaboratorioResumoDTO> resumir(FiltroResumo filtro) {
+        return resumir(List.of(filtro)).get(0);
+    }
+
+    /**
+     * Calcula uma página do resumo: apenas os {@code limite} primeiros laboratórios depois do cursor,
+     * selecionados com um heap limitado em vez de ordenar todos os laboratórios.
+     *
+     * @param filtro Filtros do resumo
+     * @param apos   Cursor da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de laboratórios
+     * @return Lista de {@link LaboratorioResumoDTO} ordenada, com a menor dataInicial preenchida
+     */
+    public List<LaboratorioResumoDTO> resumir(FiltroResumo filtro, CursorResumo apos, int limite) {
+        lock.readLock().lock();
+        try {
+            Colunas colunas = estado();
+            if (colunas == null) {
+                return List.of();
+            }
+            FiltroCompilado compilado = colunas.compilar(filtro);
+            long[][] acumulado = ForkJoinPool.commonPool().invoke(
+                    new Varredura(colunas, new FiltroCompilado[]{compilado}, 0, colunas.tamanho));
+            return colunas.montarResultado(acumulado[0], compilado.quantidadeMinima, apos, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula o resumo para vários conjuntos de filtros em uma única varredura,
+     * com um acumulador por filtro.
+     *
+     * @param filtros Conjuntos de filtros
+     * @return Um resultado por filtro, na mesma ordem recebida
+     */
+    public List<List<LaboratorioResumoDTO>> resumir(List<FiltroResumo> filtros) {
+        lock.readLock().lock();
+        try {
+            Colunas colunas = estado();
+            if (colunas == null) {
+                return Collections.nCopies(filtros.size(), List.of());
+            }
+            FiltroCompilado[] compilados = filtros.stream().map(colunas::compilar).toArray(FiltroCompilado[]::new);
+            long[][] acumulado = ForkJoinPool.commonPool().invoke(new Varredura(colunas, compilados, 0, colunas.tamanho));
+
+            List<List<LaboratorioResumoDTO>> resultados = new ArrayList<>(filtros.size());
+            for (int f = 0; f < compilados.length; f++) {
+                resultados.add(colunas.montarResultado(acumulado[f], compilados[f].quantidadeMinima, null, Integer.MAX_VALUE));
+            }
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conteúdo da réplica: as colunas e os dicionários de laboratórios e de observações.
+     */
+    static final class Colunas {
+
+        // Colunas: uma posição por pessoa, posições livres têm id 0
+        private long[] ids = new long[0];
+        private int[] laboratorios = new int[0];
+        private long[] inicios = new long[0];
+        private long[] fins = new long[0];
+        private int[] observacoes = new int[0];
+        private int tamanho;
+        private final Map<Long, Integer> posicaoPorId = new HashMap<>();
+        private final ArrayDeque<Integer> posicoesLivres = new ArrayDeque<>();
+
+        // Dicionário de laboratórios (índice denso -> id/nome)
+        private final Map<Integer, Integer> indicePorLaboratorio = new HashMap<>();
+        private int[] idsLaboratorio = new int[0];
+        private String[] nomesLaboratorio = new String[0];
+        private int totalLaboratorios;
+
+        // Dicionário de observações (texto normalizado -> código), com a quantidade de pessoas que usam
+        // cada código; códigos sem uso são liberados e reaproveitados
+        private final Map<String, Integer> codigoPorObservacao = new HashMap<>();
+        private final List<String> observacoesNormalizadas = new ArrayList<>();
+        private int[] usosObservacao = new int[0];
+        private final ArrayDeque<Integer> codigosLivres = new ArrayDeque<>();
+
+        private List<LaboratorioResumoDTO> montarResultado(long[] acumulado, long quantidadeMinima,
+                                                           CursorResumo apos, int limite) {
+            int n = totalLaboratorios;
+            // Mesma ordenação da consulta: COUNT(p) DESC, MIN(p.dataInicial) ASC, l.id ASC
+            Comparator<Integer> ordem = Comparator.<Integer>comparingLong(l -> -acumulado[l])
+                    .thenComparingLong(l -> acumulado[n + l])
+                    .thenComparingInt(l -> idsLaboratorio[l]);
+
+            // Heap limitado com os melhores até agora; o topo é o pior deles e sai quando o limite é excedido
+            PriorityQueue<Integer> selecionados = new PriorityQueue<>(ordem.reversed());
+            for (int l = 0; l < n; l++) {
+                if (acumulado[l] == 0 || acumulado[l] < quantidadeMinima) {
+                    continue;
+                }
+                if (apos != null && !apos.antecede(acumulado[l], acumulado[n + l], idsLaboratorio[l])) {
+                    continue;
+                }
+                selecionados.add(l);
+                if (selecionados.size() > limite) {
+                    selecionados.poll();
+                }
+            }
+            List<Integer> ordenados = new ArrayList<>(selecionados);
+            ordenados.sort(ordem);
+
+            List<LaboratorioResumoDTO> resultado = new ArrayList<>(ordenados.size());
+            for (int l : ordenados) {
+                resultado.add(new LaboratorioResumoDTO(idsLaboratorio[l], nomesLaboratorio[l], acumulado[l],
+                        Datas.data(acumulado[n + l])));
+            }
+            return resultado;
+        }
+
+        private FiltroCompilado compilar(FiltroResumo filtro) {
+            boolean[] observacoesAceitas = null;
+            if (filtro.getObservacoes() != null) {
+                String termo = Textos.normalizar(filtro.getObservacoes());
+                observacoesAceitas = new boolean[observacoesNormalizadas.size()];
+                for (int c = 0; c < observacoesAceitas.length; c++) {
+                    String observacao = observacoesNormalizadas.get(c);
+                    observacoesAceitas[c] = observacao != null && observacao.contains(termo);
+                }
+            }
+            return new FiltroCompilado(
+                    filtro.getDataInicialInicio() == null ? Long.MIN_VALUE : Datas.micros(filtro.getDataInicialInicio()),
+                    filtro.getDataInicialFim() == null ? Long.MAX_VALUE : Datas.micros(filtro.getDataInicialFim()),
+                    filtro.getDataFinalInicio() == null ? Long.MIN_VALUE : Datas.micros(filtro.getDataFinalInicio()),
+                    filtro.getDataFinalFim() == null ? Long.MAX_VALUE : Datas.micros(filtro.getDataFinalFim()),
+                    observacoesAceitas,
+                    filtro.getQuantidadeMinima() == null ? 0 : filtro.getQuantidadeMinima());
+        }
+
+        private void gravar(long id, int laboratorioId, String laboratorioNome,
+                            ZonedDateTime dataInicial, ZonedDateTime dataFinal, String observacao) {
+            Integer posicao = posicaoPorId.get(id);
+            if (posicao == null) {
+                posicao = posicoesLivres.isEmpty() ? proximaPosicao() : posicoesLivres.pop();
+                posicaoPorId.put(id, posicao);
+            } else {
+                liberarObservacao(observacoes[posicao]);
+            }
+            ids[posicao] = id;
+            laboratorios[posicao] = indiceLaboratorio(laboratorioId, laboratorioNome);
+            inicios[posicao] = Datas.micros(dataInicial);
+            fins[posicao] = Datas.micros(dataFinal);
+            observacoes[posicao] = codigoObservacao(observacao);
+        }
+
+        private void remover(Long id) {
+            Integer posicao = posicaoPorId.remove(id);
+            if (posicao != null) {
+                ids[posicao] = 0;
+                liberarObservacao(observacoes[posicao]);
+                observacoes[posicao] = -1;
+                posicoesLivres.push(posicao);
+            }
+        }
+
+        private void renomearLaboratorio(int laboratorioId, String nome) {
+            Integer indice = indicePorLaboratorio.get(laboratorioId);
+            if (indice != null) {
+                nomesLaboratorio[indice] = nome;
+            }
+        }
+
+        private int proximaPosicao() {
+            if (tamanho == ids.length) {
+                int capacidade = Math.max(CAPACIDADE_INICIAL, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacidade);
+                laboratorios = Arrays.copyOf(laboratorios, capacidade);
+                inicios = Arrays.copyOf(inicios, capacidade);
+                fins = Arrays.copyOf(fins, capacidade);
+                observacoes = Arrays.copyOf(observacoes, capacidade);
+            }
+            return tamanho++;
+        }
+
+        private int indiceLaboratorio(int laboratorioId, String nome) {
+            Integer indice = indicePorLaboratorio.get(laboratorioId);
+            if (indice == null) {
+                if (totalLaboratorios == idsLaboratorio.length) {
+                    int capacidade = Math.max(16, idsLaboratorio.length * 2);
+                    idsLaboratorio = Arrays.copyOf(idsLaboratorio, capacidade);
+                    nomesLaboratorio = Arrays.copyOf(nomesLaboratorio, capacidade);
+                }
+                indice = totalLaboratorios++;
+                indicePorLaboratorio.put(laboratorioId, indice);
+                idsLaboratorio[indice] = laboratorioId;
+            }
+            if (nome != null) {
+                nomesLaboratorio[indice] = nome;
+            }
+            return indice;
+        }
+
+        private int codigoObservacao(String observacao) {
+            if (observacao == null) {
+                return -1;
+            }
+            int codigo = codigoPorObservacao.computeIfAbsent(Textos.normalizar(observacao), chave -> {
+                if (!codigosLivres.isEmpty()) {
+                    int livre = codigosLivres.pop();
+                    observacoesNormalizadas.set(livre, chave);
+                    return livre;
+                }
+                observacoesNormalizadas.add(chave);
+                if (usosObservacao.length < observacoesNormalizadas.size()) {
+                    usosObservacao = Arrays.copyOf(usosObservacao, Math.max(16, usosObservacao.length * 2));
+                }
+                return observacoesNormalizadas.size() - 1;
+            });
+            usosObservacao[codigo]++;
+            return codigo;
+        }
+
+        private void liberarObservacao(int codigo) {
+            if (codigo < 0 || --usosObservacao[codigo] > 0) {
+                return;
+            }
+            codigoPorObservacao.remove(observacoesNormalizadas.get(codigo));
+            observacoesNormalizadas.set(codigo, null);
+            codigosLivres.push(codigo);
+        }
+    }
+
+    /**
+     * Filtro com os limites já convertidos para microssegundos e o filtro de observações
+     * resolvido contra o dicionário. Limites ausentes viram Long.MIN_VALUE/Long.MAX_VALUE.
+     */
+    private record FiltroCompilado(long dataInicialMin, long dataInicialMax,
+                                   long dataFinalMin, long dataFinalMax,
+                                   boolean[] observacoesAceitas, long quantidadeMinima) {
+    }
+
+    /**
+     * Varredura paralela de um intervalo de posições. O resultado tem, para cada filtro, um array
+     * com as contagens por laboratório seguidas da menor dataInicial por laboratório.
+     */
+    private static final class Varredura extends RecursiveTask<long[][]> {
+
+        private final Colunas colunas;
+        private final FiltroCompilado[] filtros;
+        private final int inicio;
+        private final int fim;
+
+        Varredura(Colunas colunas, FiltroCompilado[] filtros, int inicio, int fim) {
+            this.colunas = colunas;
+            this.filtros = filtros;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (fim - inicio <= LIMIAR_PARALELO) {
+                return varrer();
+            }
+            int meio = (inicio + fim) >>> 1;
+            Varredura esquerda = new Varredura(colunas, filtros, inicio, meio);
+            esquerda.fork();
+            long[][] direita = new Varredura(colunas, filtros, meio, fim).compute();
+            return combinar(esquerda.join(), direita);
+        }
+
+        private long[][] varrer() {
+            int n = colunas.totalLaboratorios;
+            long[] ids = colunas.ids;
+            long[][] acumulado = novoAcumulado(n);
+            for (int i = inicio; i < fim; i++) {
+                if (ids[i] == 0) {
+                    continue;
+                }
+                long dataInicial = colunas.inicios[i];
+                long dataFinal = colunas.fins[i];
+                int laboratorio = colunas.laboratorios[i];
+                int observacao = colunas.observacoes[i];
+                for (int f = 0; f < filtros.length; f++) {
+                    FiltroCompilado filtro = filtros[f];
+                    if (dataInicial < filtro.dataInicialMin() || dataInicial > filtro.dataInicialMax()
+                            || dataFinal < filtro.dataFinalMin() || dataFinal > filtro.dataFinalMax()) {
+                        continue;
+                    }
+                    if (filtro.observacoesAceitas() != null
+                            && (observacao < 0 || !filtro.observacoesAceitas()[observacao])) {
+                        continue;
+                    }
+                    long[] acumuladoFiltro = acumulado[f];
+                    acumuladoFiltro[laboratorio]++;
+                    if (dataInicial < acumuladoFiltro[n + laboratorio]) {
+                        acumuladoFiltro[n + laboratorio] = dataInicial;
+                    }
+                }
+            }
+            return acumulado;
+        }
+
+        private long[][] novoAcumulado(int n) {
+            long[][] acumulado = new long[filtros.length][2 * n];
+            for (long[] acumuladoFiltro : acumulado) {
+                Arrays.fill(acumuladoFiltro, n, 2 * n, Long.MAX_VALUE);
+            }
+            return acumulado;
+        }
+
+        private long[][] combinar(long[][] a, long[][] b) {
+            int n = colunas.totalLaboratorios;
+            for (int f = 0; f < a.length; f++) {
+                for (int l = 0; l < n; l++) {
+                    a[f][l] += b[f][l];
+                    a[f][n + l] = Math.min(a[f][n + l], b[f][n + l]);
+                }
+            }
+            return a;
+        }
+    }
+}
@@ -6,10 +6,14 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(
-        name = "tb_propriedades"
+        name = "tb_propriedades",
+        uniqueConstraints = @UniqueConstraint(name = Propriedade.UK_NOME, columnNames = "nome")
 )
 public class Propriedade {
 
+    /** Nome da restrição de unicidade do nome, usado para reconhecer a violação na gravação. */
+    public static final String UK_NOME = "uk_propriedades_nome";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
@@ -1,5 +1,9 @@
 package com.teste.cadastro.propriedades;
 
+import com.teste.cadastro.pessoas.OcupacaoDTO;
+import com.teste.cadastro.pessoas.OcupacaoService;
+import com.teste.cadastro.pessoas.QuantidadePessoasDTO;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
 import jakarta.validation.Valid;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
@@ -7,7 +11,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -19,9 +25,14 @@ import java.util.stream.Collectors;
 public class PropriedadeController {
 
     private final PropriedadeService propriedadeService;
+    private final OcupacaoService ocupacaoService;
+    private final SugestoesPropriedadeService sugestoesService;
 
-    public PropriedadeController(PropriedadeService propriedadeService) {
+    public PropriedadeController(PropriedadeService propriedadeService, OcupacaoService ocupacaoService,
+                                 SugestoesPropriedadeService sugestoesService) {
         this.propriedadeService = propriedadeService;
+        this.ocupacaoService = ocupacaoService;
+        this.sugestoesService = sugestoesService;
     }
 
     /**
@@ -34,6 +45,33 @@ public class PropriedadeController {
         return ResponseEntity.ok(propriedadeService.findAll());
     }
 
+    /**
+     * Sugere propriedades cujo nome começa com o prefixo informado, para campos com autocompletar.
+     * Não diferencia maiúsculas/minúsculas nem acentos.
+     *
+     * @param prefixo Início do nome
+     * @param limite  Quantidade máxima de sugestões (padrão 10, máximo 100)
+     * @return Lista de {@link PropriedadeDTO} em ordem alfabética com status 200 (OK)
+     */
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<PropriedadeDTO>> sugerir(@RequestParam(defaultValue = "") String prefixo,
+                                                        @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(sugestoesService.sugerir(prefixo, limite));
+    }
+
+    /**
+     * Retorna várias propriedades pelos IDs informados ({@code ?ids=1,2,3}) em uma única requisição.
+     * As propriedades seguem a ordem dos IDs pedidos; os IDs inexistentes são listados em
+     * {@code naoEncontrados}.
+     *
+     * @param ids IDs separados por vírgula (máximo 1000)
+     * @return {@link ResultadoPorIdsDTO} com status 200 (OK)
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ResultadoPorIdsDTO<PropriedadeDTO, Integer>> findByIds(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(propriedadeService.findByIds(ids));
+    }
+
     /**
      * Retorna uma propriedade pelo seu ID.
      *
@@ -91,6 +129,34 @@ public class PropriedadeController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Retorna a quantidade de pessoas vinculadas à propriedade.
+     *
+     * @param id Identificador da propriedade
+     * @return {@link QuantidadePessoasDTO} com status 200 (OK)
+     */
+    @GetMapping("/{id}/pessoas/quantidade")
+    public ResponseEntity<QuantidadePessoasDTO> contarPessoas(@PathVariable Integer id) {
+        return ResponseEntity.ok(propriedadeService.contarPessoas(id));
+    }
+
+    /**
+     * Retorna a linha do tempo da quantidade de pessoas simultâneas na propriedade e o pico,
+     * dentro da janela informada.
+     *
+     * @param id  Identificador da propriedade
+     * @param de  Início da janela (opcional)
+     * @param ate Fim da janela (opcional)
+     * @return {@link OcupacaoDTO} com status 200 (OK)
+     * @throws jakarta.persistence.EntityNotFoundException se o ID não existir
+     */
+    @GetMapping("/{id}/ocupacao")
+    public ResponseEntity<OcupacaoDTO> ocupacao(@PathVariable Integer id,
+                                                @RequestParam Optional<ZonedDateTime> de,
+                                                @RequestParam Optional<ZonedDateTime> ate) {
+        return ResponseEntity.ok(ocupacaoService.calcularPorPropriedade(id, de, ate));
+    }
+
     /**
      * Exclui uma propriedade existente.
      *
@@ -0,0 +1,36 @@
+package com.teste.cadastro.propriedades;
+
+/**
+ * Evento publicado pelo {@link PropriedadeService} a cada gravação ou exclusão de propriedade,
+ * usado pelos índices em memória que guardam o nome da propriedade.
+ */
+public class PropriedadeEvento {
+
+    public enum Tipo { SALVA, REMOVIDA }
+
+    private final Tipo tipo;
+    private final Integer id;
+    private final String nome;
+
+    private PropriedadeEvento(Tipo tipo, Integer id, String nome) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public static PropriedadeEvento salva(PropriedadeDTO propriedade) {
+        return new PropriedadeEvento(Tipo.SALVA, propriedade.getId(), propriedade.getNome());
+    }
+
+    public static PropriedadeEvento removida(Integer id) {
+        return new PropriedadeEvento(Tipo.REMOVIDA, id, null);
+    }
+
+    public Tipo getTipo() {return tipo;}
+    public Integer getId() {return id;}
+
+    /**
+     * @return Nome após a gravação, ou null quando o evento é de exclusão
+     */
+    public String getNome() {return nome;}
+}
@@ -1,8 +1,14 @@
 package com.teste.cadastro.propriedades;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Repositório JPA para a entidade Propriedade.
  * Fornece operações básicas de CRUD e métodos personalizados para validações.
@@ -30,4 +36,16 @@ public interface PropriedadeRepository extends JpaRepository<Propriedade, Intege
      * @return true se existir outra propriedade com esse nome, false caso contrário
      */
     boolean existsByNomeAndIdNot(String nome, Integer id);
-}
\ No newline at end of file
+
+    /**
+     * Lê a propriedade com lock de escrita (SELECT ... FOR UPDATE), mantido até o fim da transação.
+     * Usado para serializar as gravações de pessoas da mesma propriedade quando períodos sobrepostos
+     * são recusados, de modo que duas gravações simultâneas não passem juntas pela verificação.
+     *
+     * @param id ID da propriedade
+     * @return A propriedade, ou vazio se ela não existir
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Propriedade p WHERE p.id = :id")
+    Optional<Propriedade> bloquearPorId(@Param("id") Integer id);
+}
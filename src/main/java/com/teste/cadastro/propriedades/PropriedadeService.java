@@ -1,6 +1,14 @@
 package com.teste.cadastro.propriedades;
 
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.pessoas.QuantidadePessoasDTO;
+import com.teste.cadastro.pessoas.indices.IndiceBitmapPessoas;
+import com.teste.cadastro.utils.BuscaPorIds;
+import com.teste.cadastro.utils.Restricoes;
+import com.teste.cadastro.utils.ResultadoPorIdsDTO;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,9 +22,16 @@ import java.util.stream.Collectors;
 public class PropriedadeService {
 
     private final PropriedadeRepository propriedadeRepository;
+    private final IndiceBitmapPessoas indiceBitmap;
+    private final PessoaRepository pessoaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PropriedadeService(PropriedadeRepository propriedadeRepository) {
+    public PropriedadeService(PropriedadeRepository propriedadeRepository, IndiceBitmapPessoas indiceBitmap,
+                              PessoaRepository pessoaRepository, ApplicationEventPublisher eventPublisher) {
         this.propriedadeRepository = propriedadeRepository;
+        this.indiceBitmap = indiceBitmap;
+        this.pessoaRepository = pessoaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -43,6 +58,17 @@ public class PropriedadeService {
         return new PropriedadeDTO(propriedade);
     }
 
+    /**
+     * Busca várias propriedades pelos IDs, com uma única consulta por lote.
+     *
+     * @param ids IDs pedidos
+     * @return {@link ResultadoPorIdsDTO} com as propriedades na ordem dos IDs e os IDs não encontrados
+     * @throws IllegalArgumentException se nenhum ID for informado ou se houver mais de {@link BuscaPorIds#LIMITE_IDS}
+     */
+    public ResultadoPorIdsDTO<PropriedadeDTO, Integer> findByIds(List<Integer> ids) {
+        return BuscaPorIds.buscar(ids, propriedadeRepository::findAllById, Propriedade::getId, PropriedadeDTO::new);
+    }
+
     /**
      * Cria uma nova propriedade.
      *
@@ -57,8 +83,9 @@ public class PropriedadeService {
         }
         Propriedade propriedade = new Propriedade();
         propriedade.setNome(dto.getNome());
-        propriedade = propriedadeRepository.save(propriedade); // Persiste no banco
-        return new PropriedadeDTO(propriedade);
+        PropriedadeDTO salva = new PropriedadeDTO(salvarComNomeUnico(propriedade)); // Persiste no banco
+        eventPublisher.publishEvent(PropriedadeEvento.salva(salva));
+        return salva;
     }
 
     /**
@@ -79,21 +106,75 @@ public class PropriedadeService {
                 .orElseThrow(() -> new EntityNotFoundException("Propriedade com ID " + id + " não encontrada."));
 
         propriedade.setNome(dto.getNome()); // Atualiza nome
-        propriedade = propriedadeRepository.save(propriedade); // Salva alterações
-        return new PropriedadeDTO(propriedade);
+        PropriedadeDTO salva = new PropriedadeDTO(salvarComNomeUnico(propriedade)); // Salva alterações
+        eventPublisher.publishEvent(PropriedadeEvento.salva(salva));
+        return salva;
+    }
+
+    /**
+     * Persiste a propriedade imediatamente no banco de dados.
+     * A verificação prévia de nome (existsByNome) não é atômica: duas requisições simultâneas podem
+     * passar por ela com o mesmo nome. Nesse caso a restrição de unicidade da coluna é quem barra
+     * a segunda gravação, e a violação é convertida na mesma mensagem da validação. Outras violações
+     * (como nulos ou tamanho excedido) são relançadas sem alteração.
+     *
+     * @param propriedade Propriedade a ser persistida
+     * @return Propriedade persistida
+     * @throws IllegalArgumentException se o nome já estiver em uso
+     */
+    private Propriedade salvarComNomeUnico(Propriedade propriedade) {
+        try {
+            return propriedadeRepository.saveAndFlush(propriedade);
+        } catch (DataIntegrityViolationException e) {
+            // O código de chave duplicada cobre bancos criados antes de a restrição ter nome: além da
+            // chave primária, a do nome é a única chave única da tabela
+            if (Restricoes.violou(e, Propriedade.UK_NOME) || Restricoes.codigoErro(e) == Restricoes.CHAVE_DUPLICADA) {
+                throw new IllegalArgumentException("Nome da propriedade já existe.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Conta as pessoas vinculadas à propriedade.
+     * Responde pelo índice de bitmaps em memória quando disponível, senão consulta o banco.
+     * Uma propriedade inexistente resulta em quantidade zero.
+     *
+     * @param id Identificador da propriedade
+     * @return {@link QuantidadePessoasDTO} com a quantidade de pessoas
+     */
+    public QuantidadePessoasDTO contarPessoas(Integer id) {
+        long quantidade = indiceBitmap.contarPorPropriedade(id)
+                .orElseGet(() -> pessoaRepository.countByInfosPropriedadeId(id));
+        return new QuantidadePessoasDTO(null, id, quantidade);
     }
 
     /**
      * Remove uma propriedade pelo ID.
+     * Quem decide se a propriedade está em uso é o banco: o índice de bitmaps só antecipa a recusa,
+     * confirmada por uma consulta antes do 409, e quando ele não aponta pessoas (ou está defasado) a
+     * chave estrangeira de tb_pessoas rejeita o DELETE, também respondido com 409.
      *
      * @param id Identificador da propriedade
      * @throws EntityNotFoundException se o ID não existir
+     * @throws DataIntegrityViolationException se houver pessoas vinculadas à propriedade
      */
     public void delete(Integer id) {
         boolean exists = propriedadeRepository.existsById(id);
         if (!exists) {
             throw new EntityNotFoundException("Propriedade com ID " + id + " não encontrada.");
         }
-        propriedadeRepository.deleteById(id);
+        String emUso = "Propriedade com ID " + id + " está em uso por pessoas.";
+        if (indiceBitmap.contarPorPropriedade(id).orElse(0) > 0 && pessoaRepository.existsByInfosPropriedadeId(id)) {
+            throw new DataIntegrityViolationException(emUso);
+        }
+        try {
+            propriedadeRepository.deleteById(id);
+            // Dentro de uma transação maior o DELETE só iria ao banco no commit, fora deste tratamento
+            propriedadeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityViolationException(emUso, e);
+        }
+        eventPublisher.publishEvent(PropriedadeEvento.removida(id));
     }
 }
\ No newline at end of file
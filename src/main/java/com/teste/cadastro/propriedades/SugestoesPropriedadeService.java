@@ -0,0 +1,68 @@
+package com.teste.cadastro.propriedades;
+
+import com.teste.cadastro.utils.IndicePrefixos;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sugestões de propriedades pelo início do nome, para os campos de seleção com autocompletar.
+ * Responde por um {@link IndicePrefixos} em memória, carregado na subida da aplicação e mantido
+ * pelos {@link PropriedadeEvento} aplicados após o commit.
+ */
+@Service
+public class SugestoesPropriedadeService {
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    private final PropriedadeRepository propriedadeRepository;
+    private final IndicePrefixos<PropriedadeDTO> indice = new IndicePrefixos<>(PropriedadeDTO::getNome);
+
+    public SugestoesPropriedadeService(PropriedadeRepository propriedadeRepository) {
+        this.propriedadeRepository = propriedadeRepository;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregarNaInicializacao() {
+        recarregar();
+    }
+
+    /**
+     * Descarta o conteúdo atual e recarrega o índice a partir do banco de dados.
+     */
+    public void recarregar() {
+        indice.carregar(() -> propriedadeRepository.findAll().stream()
+                .map(PropriedadeDTO::new)
+                .collect(Collectors.toMap(PropriedadeDTO::getId, Function.identity())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPropriedade(PropriedadeEvento evento) {
+        if (evento.getTipo() == PropriedadeEvento.Tipo.REMOVIDA) {
+            indice.remover(evento.getId());
+        } else {
+            indice.gravar(evento.getId(), new PropriedadeDTO(evento.getId(), evento.getNome()));
+        }
+    }
+
+    /**
+     * Busca as propriedades cujo nome começa com o prefixo, em ordem alfabética,
+     * sem diferenciar maiúsculas/minúsculas nem acentos.
+     *
+     * @param prefixo Início do nome
+     * @param limite  Quantidade máxima de sugestões (até {@link #LIMITE_MAXIMO})
+     * @return Lista de {@link PropriedadeDTO}
+     * @throws IllegalArgumentException se o limite estiver fora do intervalo permitido
+     */
+    public List<PropriedadeDTO> sugerir(String prefixo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return indice.sugerir(prefixo, limite);
+    }
+}
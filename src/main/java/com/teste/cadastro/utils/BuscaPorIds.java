@@ -0,0 +1,69 @@
+package com.teste.cadastro.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Busca de várias entidades por ID com consultas {@code IN}, usada pelos endpoints {@code GET ...?ids=}.
+ */
+public final class BuscaPorIds {
+
+    /** Quantidade máxima de IDs em uma requisição. */
+    public static final int LIMITE_IDS = 1000;
+
+    /** Quantidade de IDs por consulta, para manter a lista do IN e o plano de execução pequenos. */
+    static final int TAMANHO_LOTE = 500;
+
+    private BuscaPorIds() {}
+
+    /**
+     * Busca as entidades dos IDs informados, em lotes de {@link #TAMANHO_LOTE}.
+     * IDs repetidos são considerados uma única vez.
+     *
+     * @param ids       IDs pedidos, na ordem desejada na resposta
+     * @param consulta  Consulta {@code IN} por um lote de IDs
+     * @param id        Extrai o ID da entidade
+     * @param conversor Converte a entidade no item da resposta
+     * @return {@link ResultadoPorIdsDTO} com os itens na ordem dos IDs e os IDs não encontrados
+     * @throws IllegalArgumentException se nenhum ID for informado ou se houver mais de {@link #LIMITE_IDS}
+     */
+    public static <E, T, ID> ResultadoPorIdsDTO<T, ID> buscar(List<ID> ids,
+                                                              Function<Collection<ID>, List<E>> consulta,
+                                                              Function<E, ID> id,
+                                                              Function<E, T> conversor) {
+        LinkedHashSet<ID> pedidos = new LinkedHashSet<>(ids);
+        pedidos.remove(null);
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID.");
+        }
+        if (pedidos.size() > LIMITE_IDS) {
+            throw new IllegalArgumentException("Informe no máximo " + LIMITE_IDS + " IDs.");
+        }
+
+        List<ID> ordenados = new ArrayList<>(pedidos);
+        Map<ID, E> encontrados = new HashMap<>(ordenados.size() * 2);
+        for (int inicio = 0; inicio < ordenados.size(); inicio += TAMANHO_LOTE) {
+            List<ID> lote = ordenados.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ordenados.size()));
+            for (E entidade : consulta.apply(lote)) {
+                encontrados.put(id.apply(entidade), entidade);
+            }
+        }
+
+        List<T> itens = new ArrayList<>(encontrados.size());
+        List<ID> naoEncontrados = new ArrayList<>();
+        for (ID pedido : ordenados) {
+            E entidade = encontrados.get(pedido);
+            if (entidade != null) {
+                itens.add(conversor.apply(entidade));
+            } else {
+                naoEncontrados.add(pedido);
+            }
+        }
+        return new ResultadoPorIdsDTO<>(itens, naoEncontrados);
+    }
+}
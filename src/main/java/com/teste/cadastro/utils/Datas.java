@@ -0,0 +1,32 @@
+package com.teste.cadastro.utils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Conversão de datas para microssegundos desde a época, a representação usada pelos índices em memória
+ * (mesma precisão das colunas DATETIME(6) do MySQL).
+ */
+public final class Datas {
+
+    private Datas() {}
+
+    /**
+     * @param data Data com fuso
+     * @return Microssegundos desde a época do instante representado pela data
+     */
+    public static long micros(ZonedDateTime data) {
+        Instant instante = data.toInstant();
+        return instante.getEpochSecond() * 1_000_000L + instante.getNano() / 1_000;
+    }
+
+    /**
+     * @param micros Microssegundos desde a época
+     * @return Data correspondente, em UTC
+     */
+    public static ZonedDateTime data(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L)
+                .atZone(ZoneOffset.UTC);
+    }
+}
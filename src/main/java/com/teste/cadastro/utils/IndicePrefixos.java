@@ -0,0 +1,174 @@
+package com.teste.cadastro.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Índice em memória para sugestões por prefixo do nome, sem diferenciar maiúsculas/minúsculas nem acentos.
+ *
+ * As entradas ficam em um vetor ordenado pelo nome normalizado ({@link Textos#normalizar}), de modo que as
+ * que começam com um prefixo formam uma faixa contígua encontrada por busca binária. A consulta lê um
+ * retrato imutável publicado por uma referência volatile, sem lock, e devolve uma visão dessa faixa
+ * sem copiar os valores.
+ *
+ * Cada gravação ou exclusão reconstrói o retrato a partir das entradas atuais, o que é adequado para
+ * cadastros pequenos e pouco alterados como laboratórios e propriedades.
+ *
+ * A carga completa lê os valores sem bloquear as gravações; as que chegam durante a leitura são guardadas
+ * e reaplicadas sobre o resultado antes da troca, para que a carga não desfaça uma alteração mais nova.
+ *
+ * @param <T> Tipo do valor devolvido nas sugestões
+ */
+public class IndicePrefixos<T> {
+
+    private final Function<T, String> nome;
+    private final Map<Integer, T> porId = new HashMap<>();
+
+    // Serializa as cargas; não é o monitor do índice, que fica livre durante a leitura
+    private final Object carga = new Object();
+
+    // Alterações recebidas durante uma carga em andamento, ou null fora de uma carga
+    private List<Consumer<Map<Integer, T>>> pendentes;
+
+    private volatile Retrato retrato = new Retrato(new String[0], new Object[0]);
+
+    /**
+     * @param nome Função que extrai o nome indexado do valor
+     */
+    public IndicePrefixos(Function<T, String> nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice. As gravações e exclusões feitas enquanto a leitura executa
+     * são reaplicadas sobre os valores lidos.
+     *
+     * @param leitura Leitura dos valores por ID, executada fora do monitor do índice
+     */
+    public void carregar(Supplier<Map<Integer, T>> leitura) {
+        synchronized (carga) {
+            alterarPendentes(new ArrayList<>());
+            Map<Integer, T> valores;
+            try {
+                valores = new HashMap<>(leitura.get());
+            } catch (RuntimeException e) {
+                alterarPendentes(null);
+                throw e;
+            }
+            synchronized (this) {
+                pendentes.forEach(alteracao -> alteracao.accept(valores));
+                pendentes = null;
+                porId.clear();
+                porId.putAll(valores);
+                publicar();
+            }
+        }
+    }
+
+    /**
+     * Inclui ou substitui o valor do ID informado.
+     */
+    public synchronized void gravar(Integer id, T valor) {
+        if (pendentes != null) {
+            pendentes.add(valores -> valores.put(id, valor));
+        }
+        porId.put(id, valor);
+        publicar();
+    }
+
+    /**
+     * Remove o valor do ID informado, se existir.
+     */
+    public synchronized void remover(Integer id) {
+        if (pendentes != null) {
+            pendentes.add(valores -> valores.remove(id));
+        }
+        if (porId.remove(id) != null) {
+            publicar();
+        }
+    }
+
+    /**
+     * Busca os valores cujo nome começa com o prefixo, em ordem alfabética.
+     *
+     * @param prefixo Início do nome (vazio retorna os primeiros nomes em ordem alfabética)
+     * @param limite  Quantidade máxima de sugestões
+     * @return Lista imutável com até {@code limite} valores
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sugerir(String prefixo, int limite) {
+        Retrato atual = retrato;
+        String chave = prefixo == null ? "" : Textos.normalizar(prefixo.strip());
+        int inicio = limiteInferior(atual.chaves, chave);
+        int fim = inicio;
+        while (fim < atual.chaves.length && fim - inicio < limite && atual.chaves[fim].startsWith(chave)) {
+            fim++;
+        }
+        if (inicio == fim) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList((T[]) atual.valores).subList(inicio, fim));
+    }
+
+    /**
+     * @return Quantidade de entradas no índice
+     */
+    public int tamanho() {
+        return retrato.chaves.length;
+    }
+
+    private synchronized void alterarPendentes(List<Consumer<Map<Integer, T>>> novos) {
+        pendentes = novos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publicar() {
+        Object[] valores = porId.values().toArray();
+        String[] nomesNormalizados = new String[valores.length];
+        Integer[] posicoes = new Integer[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            nomesNormalizados[i] = Textos.normalizar(nome.apply((T) valores[i]));
+            posicoes[i] = i;
+        }
+        // Nomes que só diferem em acentos ou maiúsculas ficam na ordem do nome original
+        Arrays.sort(posicoes, (a, b) -> {
+            int comparacao = nomesNormalizados[a].compareTo(nomesNormalizados[b]);
+            return comparacao != 0 ? comparacao : nome.apply((T) valores[a]).compareTo(nome.apply((T) valores[b]));
+        });
+
+        String[] chaves = new String[posicoes.length];
+        Object[] ordenados = new Object[posicoes.length];
+        for (int i = 0; i < posicoes.length; i++) {
+            chaves[i] = nomesNormalizados[posicoes[i]];
+            ordenados[i] = valores[posicoes[i]];
+        }
+        retrato = new Retrato(chaves, ordenados);
+    }
+
+    /**
+     * @return Primeira posição cuja chave é maior ou igual ao prefixo
+     */
+    private static int limiteInferior(String[] chaves, String prefixo) {
+        int baixo = 0;
+        int alto = chaves.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (chaves[meio].compareTo(prefixo) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private record Retrato(String[] chaves, Object[] valores) {
+    }
+}
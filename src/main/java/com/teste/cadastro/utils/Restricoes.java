@@ -0,0 +1,56 @@
+package com.teste.cadastro.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Identifica a restrição do banco atingida por uma violação de integridade sem depender do texto
+ * da mensagem do MySQL, que muda com o idioma e a versão do servidor.
+ */
+public final class Restricoes {
+
+    /** Código do MySQL para valor duplicado em chave única (ER_DUP_ENTRY). */
+    public static final int CHAVE_DUPLICADA = 1062;
+
+    /** Código do MySQL para chave estrangeira sem registro referenciado (ER_NO_REFERENCED_ROW_2). */
+    public static final int REFERENCIA_INEXISTENTE = 1452;
+
+    private Restricoes() {}
+
+    /**
+     * Indica se a exceção foi causada pela violação da restrição informada, pelo nome extraído pelo
+     * Hibernate ({@link ConstraintViolationException#getConstraintName()}). O MySQL 8 qualifica o nome
+     * das chaves únicas com a tabela ({@code tb_x.uk_x}), então esse prefixo é ignorado.
+     *
+     * @param e         Exceção recebida na gravação
+     * @param restricao Nome da restrição, como declarado na entidade
+     * @return true se a restrição violada for a informada
+     */
+    public static boolean violou(Throwable e, String restricao) {
+        ConstraintViolationException violacao = causa(e, ConstraintViolationException.class);
+        if (violacao == null || violacao.getConstraintName() == null) {
+            return false;
+        }
+        String nome = violacao.getConstraintName();
+        return nome.substring(nome.lastIndexOf('.') + 1).equalsIgnoreCase(restricao);
+    }
+
+    /**
+     * @param e Exceção recebida na gravação
+     * @return Código de erro do MySQL da {@link SQLException} que causou a exceção, ou 0 se não houver
+     */
+    public static int codigoErro(Throwable e) {
+        SQLException sql = causa(e, SQLException.class);
+        return sql == null ? 0 : sql.getErrorCode();
+    }
+
+    private static <T extends Throwable> T causa(Throwable e, Class<T> tipo) {
+        for (Throwable atual = e; atual != null; atual = atual.getCause() == atual ? null : atual.getCause()) {
+            if (tipo.isInstance(atual)) {
+                return tipo.cast(atual);
+            }
+        }
+        return null;
+    }
+}
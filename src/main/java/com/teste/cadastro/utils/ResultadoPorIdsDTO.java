@@ -0,0 +1,32 @@
+package com.teste.cadastro.utils;
+
+import java.util.List;
+
+/**
+ * Resposta das buscas por vários IDs ({@code GET ...?ids=1,2,3}).
+ *
+ * @param <T>  Tipo dos itens encontrados
+ * @param <ID> Tipo do identificador
+ */
+public class ResultadoPorIdsDTO<T, ID> {
+
+    private List<T> itens;
+    private List<ID> naoEncontrados;
+
+    public ResultadoPorIdsDTO(List<T> itens, List<ID> naoEncontrados) {
+        this.itens = itens;
+        this.naoEncontrados = naoEncontrados;
+    }
+
+    /**
+     * @return Itens encontrados, na ordem em que os IDs foram pedidos
+     */
+    public List<T> getItens() {return itens;}
+    public void setItens(List<T> itens) {this.itens = itens;}
+
+    /**
+     * @return IDs pedidos que não existem, na ordem em que foram pedidos
+     */
+    public List<ID> getNaoEncontrados() {return naoEncontrados;}
+    public void setNaoEncontrados(List<ID> naoEncontrados) {this.naoEncontrados = naoEncontrados;}
+}
@@ -0,0 +1,30 @@
+package com.teste.cadastro.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitários de texto compartilhados pelos índices em memória.
+ */
+public final class Textos {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private Textos() {}
+
+    /**
+     * Normaliza o texto para comparações sem diferenciar maiúsculas/minúsculas nem acentos,
+     * equivalente à collation padrão do MySQL (utf8mb4_0900_ai_ci) usada nos filtros com LIKE.
+     *
+     * @param texto Texto original (pode ser nulo)
+     * @return Texto em minúsculas e sem acentos, ou null se o texto for nulo
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,242 @@
+package com.teste.cadastro;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.laboratorios.LaboratorioService;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.pessoas.PessoaService;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeDTO;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import com.teste.cadastro.propriedades.PropriedadeService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de estresse de concorrência para create/update/delete.
+ * Várias threads disputam um conjunto pequeno de nomes e ids, e ao final são verificados os
+ * invariantes do cadastro (nomes únicos, referências válidas, exclusões efetivas).
+ * Também imprime a vazão e a taxa de conflitos por tipo de operação.
+ *
+ * Não roda no "test" padrão (é lento e grava fora de transação): use {@code ./gradlew stressTest}.
+ */
+@Tag("stress")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConcorrenciaStressTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 250;
+    private static final int NOMES_DISPONIVEIS = 12;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private LaboratorioService laboratorioService;
+
+    @Autowired
+    private PropriedadeService propriedadeService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private final Set<Long> idsPessoas = ConcurrentHashMap.newKeySet();
+    private final Set<Long> idsExcluidos = ConcurrentHashMap.newKeySet();
+    private final Map<String, Estatistica> estatisticas = new ConcurrentHashMap<>();
+
+    private LaboratorioDTO laboratorioBase;
+    private PropriedadeDTO propriedadeBase;
+
+    @BeforeAll
+    void limparBancoDeDados() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        laboratorioBase = laboratorioService.create(new LaboratorioDTO(null, "Laboratório Estresse"));
+        propriedadeBase = propriedadeService.create(new PropriedadeDTO(null, "Propriedade Estresse"));
+    }
+
+    @AfterAll
+    void limparAoFinal() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Create/update/delete concorrentes não devem violar os invariantes do cadastro")
+    void operacoesConcorrentes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    executarOperacaoAleatoria(random);
+                }
+                return null;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown(); // Todas as threads começam juntas para maximizar a disputa
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(5, TimeUnit.MINUTES);
+        }
+        long duracaoNanos = System.nanoTime() - inicio;
+        executor.shutdown();
+
+        imprimirRelatorio(duracaoNanos);
+        verificarInvariantes();
+    }
+
+    private void executarOperacaoAleatoria(ThreadLocalRandom random) {
+        int sorteio = random.nextInt(100);
+        if (sorteio < 35) {
+            medir("pessoa.create", () -> idsPessoas.add(pessoaService.create(novaPessoa(nomeSorteado(random, "Pessoa"))).getId()));
+        } else if (sorteio < 65) {
+            Long id = idSorteado(random);
+            if (id != null) {
+                medir("pessoa.update", () -> pessoaService.update(id, novaPessoa(nomeSorteado(random, "Pessoa"))));
+            }
+        } else if (sorteio < 80) {
+            Long id = idSorteado(random);
+            if (id != null) {
+                medir("pessoa.delete", () -> {
+                    pessoaService.delete(id);
+                    idsPessoas.remove(id);
+                    idsExcluidos.add(id);
+                });
+            }
+        } else if (sorteio < 90) {
+            medir("laboratorio.create", () -> laboratorioService.create(new LaboratorioDTO(null, nomeSorteado(random, "Laboratório"))));
+        } else {
+            medir("propriedade.create", () -> propriedadeService.create(new PropriedadeDTO(null, nomeSorteado(random, "Propriedade"))));
+        }
+    }
+
+    /**
+     * Executa a operação classificando o resultado em sucesso, conflito esperado
+     * (nome duplicado, registro já removido, falha de lock) ou erro inesperado.
+     */
+    private void medir(String operacao, Runnable acao) {
+        Estatistica estatistica = estatisticas.computeIfAbsent(operacao, k -> new Estatistica());
+        try {
+            acao.run();
+            estatistica.sucessos.incrementAndGet();
+        } catch (IllegalArgumentException | EntityNotFoundException
+                 | ConcurrencyFailureException | DataIntegrityViolationException e) {
+            estatistica.conflitos.incrementAndGet();
+        } catch (RuntimeException e) {
+            estatistica.erros.incrementAndGet();
+            System.out.println("Erro inesperado em " + operacao + ": " + e);
+        }
+    }
+
+    private String nomeSorteado(ThreadLocalRandom random, String prefixo) {
+        return prefixo + " Estresse " + random.nextInt(NOMES_DISPONIVEIS);
+    }
+
+    private Long idSorteado(ThreadLocalRandom random) {
+        List<Long> ids = new ArrayList<>(idsPessoas);
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    private PessoaDTO novaPessoa(String nome) {
+        return new PessoaDTO(
+                nome,
+                ZonedDateTime.now().minusDays(5),
+                ZonedDateTime.now().plusDays(5),
+                propriedadeBase,
+                laboratorioBase,
+                "Teste de estresse"
+        );
+    }
+
+    private void imprimirRelatorio(long duracaoNanos) {
+        double segundos = duracaoNanos / 1_000_000_000.0;
+        long total = estatisticas.values().stream().mapToLong(Estatistica::total).sum();
+
+        StringBuilder relatorio = new StringBuilder();
+        relatorio.append(String.format("Estresse: %d threads, %d operações em %.2fs (%.1f ops/s)%n",
+                THREADS, total, segundos, total / segundos));
+        new TreeMap<>(estatisticas).forEach((operacao, e) -> relatorio.append(String.format(
+                "  %-20s total=%5d sucesso=%5d conflito=%5d (%.1f%%) erro=%d%n",
+                operacao, e.total(), e.sucessos.get(), e.conflitos.get(),
+                e.total() == 0 ? 0.0 : 100.0 * e.conflitos.get() / e.total(), e.erros.get())));
+        System.out.println(relatorio);
+    }
+
+    private void verificarInvariantes() {
+        List<Pessoa> pessoas = pessoaRepository.findAll();
+        List<Laboratorio> laboratorios = laboratorioRepository.findAll();
+        List<Propriedade> propriedades = propriedadeRepository.findAll();
+
+        assertTrue(duplicados(pessoas, Pessoa::getNome).isEmpty(),
+                "Nomes de pessoa duplicados: " + duplicados(pessoas, Pessoa::getNome));
+        assertTrue(duplicados(laboratorios, Laboratorio::getNome).isEmpty(),
+                "Nomes de laboratório duplicados: " + duplicados(laboratorios, Laboratorio::getNome));
+        assertTrue(duplicados(propriedades, Propriedade::getNome).isEmpty(),
+                "Nomes de propriedade duplicados: " + duplicados(propriedades, Propriedade::getNome));
+
+        for (Pessoa pessoa : pessoas) {
+            assertNotNull(pessoa.getLaboratorio(), "Pessoa " + pessoa.getId() + " sem laboratório");
+            assertNotNull(pessoa.getInfosPropriedade(), "Pessoa " + pessoa.getId() + " sem propriedade");
+            assertTrue(pessoa.getDataFinal().isAfter(pessoa.getDataInicial()), "Pessoa " + pessoa.getId() + " com datas incoerentes");
+        }
+
+        Set<Long> idsNoBanco = pessoas.stream().map(Pessoa::getId).collect(Collectors.toSet());
+        for (Long excluido : idsExcluidos) {
+            assertFalse(idsNoBanco.contains(excluido), "Pessoa " + excluido + " foi excluída mas continua no banco");
+        }
+
+        long erros = estatisticas.values().stream().mapToLong(e -> e.erros.get()).sum();
+        assertEquals(0, erros, "Houve erros inesperados durante o estresse");
+    }
+
+    private <T> Set<String> duplicados(List<T> registros, Function<T, String> nome) {
+        return registros.stream()
+                .collect(Collectors.groupingBy(nome, Collectors.counting()))
+                .entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private static class Estatistica {
+        private final AtomicLong sucessos = new AtomicLong();
+        private final AtomicLong conflitos = new AtomicLong();
+        private final AtomicLong erros = new AtomicLong();
+
+        long total() {
+            return sucessos.get() + conflitos.get() + erros.get();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.teste.cadastro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.cadastro.configs.ContadorDeQueries;
+import com.teste.cadastro.configs.ContadorDeQueriesConfig;
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeDTO;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de "orçamento" de queries por endpoint.
+ * Cada teste mede quantas instruções SQL o Hibernate executa durante uma requisição,
+ * falhando caso alguém introduza, por exemplo, um N+1 nas associações de Pessoa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ContadorDeQueriesConfig.class)
+@Transactional
+class ContagemDeQueriesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContadorDeQueries contador;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Laboratorio> laboratorios = new ArrayList<>();
+    private final List<Propriedade> propriedades = new ArrayList<>();
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+        laboratorios.clear();
+        propriedades.clear();
+        pessoas.clear();
+
+        // Laboratórios e propriedades distintos por pessoa, para que um N+1 apareça na contagem
+        for (int i = 1; i <= 3; i++) {
+            laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Contagem " + i)));
+            propriedades.add(propriedadeRepository.save(new Propriedade("Propriedade Contagem " + i)));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Contagem " + (i + 1));
+            pessoa.setDataInicial(ZonedDateTime.now().minusDays(10 + i));
+            pessoa.setDataFinal(ZonedDateTime.now().minusDays(2));
+            pessoa.setLaboratorio(laboratorios.get(i));
+            pessoa.setInfosPropriedade(propriedades.get(i));
+            pessoa.setObservacoes("Observação contagem " + (i + 1));
+            pessoas.add(pessoaRepository.save(pessoa));
+        }
+    }
+
+    /**
+     * Executa a requisição com o contexto de persistência limpo, para que nenhuma
+     * entidade criada no setup seja servida do cache de primeiro nível, e descarrega
+     * as alterações pendentes ao final para que os UPDATE/DELETE também sejam contados.
+     */
+    private ResultActions medir(RequestBuilder requisicao) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        contador.zerar();
+        ResultActions resultado = mockMvc.perform(requisicao);
+        entityManager.flush();
+        return resultado;
+    }
+
+    private String pessoaJson(String nome, int indiceReferencias) throws Exception {
+        Laboratorio laboratorio = laboratorios.get(indiceReferencias);
+        Propriedade propriedade = propriedades.get(indiceReferencias);
+        PessoaDTO dto = new PessoaDTO(
+                nome,
+                ZonedDateTime.now().minusDays(1),
+                ZonedDateTime.now().plusDays(1),
+                new PropriedadeDTO(propriedade.getId(), propriedade.getNome()),
+                new LaboratorioDTO(laboratorio.getId(), laboratorio.getNome()),
+                "Observação"
+        );
+        return objectMapper.writeValueAsString(dto);
+    }
+
+    @Nested
+    @DisplayName("Pessoa")
+    class PessoaTests {
+
+        @Test
+        @DisplayName("GET /pessoa - Deve carregar pessoas, laboratórios e propriedades em 1 query")
+        void findAll() throws Exception {
+            medir(get("/pessoa").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3));
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("GET /pessoa/{id} - Deve usar 1 query")
+        void findById() throws Exception {
+            medir(get("/pessoa/" + pessoas.get(0).getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("POST /pessoa - Deve usar no máximo 2 queries (referências + INSERT)")
+        void create() throws Exception {
+            medir(post("/pessoa").contentType(MediaType.APPLICATION_JSON).content(pessoaJson("Pessoa Nova Contagem", 1)))
+                    .andExpect(status().isCreated());
+            contador.assertNoMaximo(2);
+        }
+
+        @Test
+        @DisplayName("PUT /pessoa/{id} - Deve usar no máximo 2 queries (SELECT + UPDATE)")
+        void update() throws Exception {
+            medir(put("/pessoa/" + pessoas.get(0).getId()).contentType(MediaType.APPLICATION_JSON).content(pessoaJson("Pessoa Alterada Contagem", 0)))
+                    .andExpect(status().isOk());
+            contador.assertNoMaximo(2);
+        }
+
+        @Test
+        @DisplayName("PUT /pessoa/{id} - Deve usar no máximo 3 queries ao trocar laboratório e propriedade")
+        void updateTrocandoReferencias() throws Exception {
+            medir(put("/pessoa/" + pessoas.get(0).getId()).contentType(MediaType.APPLICATION_JSON).content(pessoaJson("Pessoa Alterada Contagem", 2)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.laboratorio.nome").value("Laboratório Contagem 3"));
+            contador.assertNoMaximo(3);
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve usar no máximo 2 queries (SELECT + UPDATE só das colunas alteradas)")
+        void patch() throws Exception {
+            medir(MockMvcRequestBuilders.patch("/pessoa/" + pessoas.get(0).getId())
+                    .contentType(MediaType.APPLICATION_JSON).content("{\"observacoes\": \"Observação parcial\"}"))
+                    .andExpect(status().isOk());
+            contador.assertNoMaximo(2);
+        }
+
+        @Test
+        @DisplayName("DELETE /pessoa/{id} - Deve usar no máximo 3 queries")
+        void delete() throws Exception {
+            medir(MockMvcRequestBuilders.delete("/pessoa/" + pessoas.get(0).getId()))
+                    .andExpect(status().isNoContent());
+            contador.assertNoMaximo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Laboratório")
+    class LaboratorioTests {
+
+        @Test
+        @DisplayName("GET /laboratorio - Deve usar 1 query")
+        void findAll() throws Exception {
+            medir(get("/laboratorio").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/{id} - Deve usar 1 query")
+        void findById() throws Exception {
+            medir(get("/laboratorio/" + laboratorios.get(0).getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("POST /laboratorio - Deve usar no máximo 2 queries")
+        void create() throws Exception {
+            String json = objectMapper.writeValueAsString(new LaboratorioDTO(null, "Laboratório Novo Contagem"));
+            medir(post("/laboratorio").contentType(MediaType.APPLICATION_JSON).content(json))
+                    .andExpect(status().isCreated());
+            contador.assertNoMaximo(2);
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/resumo - Deve usar 1 query")
+        void resumo() throws Exception {
+            medir(get("/laboratorio/resumo").param("quantidadeMinima", "1").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3));
+            contador.assertTotal(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Propriedade")
+    class PropriedadeTests {
+
+        @Test
+        @DisplayName("GET /propriedade - Deve usar 1 query")
+        void findAll() throws Exception {
+            medir(get("/propriedade").contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("GET /propriedade/{id} - Deve usar 1 query")
+        void findById() throws Exception {
+            medir(get("/propriedade/" + propriedades.get(0).getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            contador.assertTotal(1);
+        }
+
+        @Test
+        @DisplayName("POST /propriedade - Deve usar no máximo 2 queries")
+        void create() throws Exception {
+            String json = objectMapper.writeValueAsString(new PropriedadeDTO(null, "Propriedade Nova Contagem"));
+            medir(post("/propriedade").contentType(MediaType.APPLICATION_JSON).content(json))
+                    .andExpect(status().isCreated());
+            contador.assertNoMaximo(2);
+        }
+    }
+}
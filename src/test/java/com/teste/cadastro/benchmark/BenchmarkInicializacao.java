@@ -0,0 +1,119 @@
+package com.teste.cadastro.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark de inicialização: mede o tempo desde o disparo do processo até a primeira
+ * requisição bem-sucedida em {@code GET /laboratorio}, para cada modo de inicialização
+ * (padrão, AppCDS e, quando o jar foi gerado com -Paot, AppCDS + Spring AOT).
+ *
+ * Executado pela task {@code ./gradlew benchmarkInicializacao}, que prepara o jar extraído
+ * e o arquivo AppCDS. Precisa do banco de dados configurado em application.properties.
+ *
+ * Argumentos: executável java, diretório extraído, nome do jar, arquivo AppCDS, AOT habilitado, repetições.
+ */
+public class BenchmarkInicializacao {
+
+    private static final Duration TEMPO_LIMITE = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        String java = args[0];
+        File diretorio = new File(args[1]);
+        String jar = args[2];
+        String arquivoCds = args[3];
+        boolean aot = Boolean.parseBoolean(args[4]);
+        int repeticoes = Integer.parseInt(args[5]);
+
+        Map<String, List<String>> modos = new LinkedHashMap<>();
+        modos.put("padrão", List.of());
+        if (Files.exists(Path.of(diretorio.getPath(), arquivoCds))) {
+            modos.put("AppCDS", List.of("-XX:SharedArchiveFile=" + arquivoCds));
+        }
+        if (aot) {
+            modos.put("Spring AOT", List.of("-Dspring.aot.enabled=true"));
+            if (modos.containsKey("AppCDS")) {
+                modos.put("AppCDS + Spring AOT", List.of("-XX:SharedArchiveFile=" + arquivoCds, "-Dspring.aot.enabled=true"));
+            }
+        }
+
+        StringBuilder relatorio = new StringBuilder("Tempo até a primeira requisição bem-sucedida (ms):\n");
+        for (Map.Entry<String, List<String>> modo : modos.entrySet()) {
+            List<Long> tempos = new ArrayList<>();
+            for (int i = 0; i < repeticoes; i++) {
+                tempos.add(medir(java, diretorio, jar, modo.getValue()));
+            }
+            tempos.sort(null);
+            relatorio.append(String.format("  %-22s min=%6d  mediana=%6d  max=%6d  %s%n",
+                    modo.getKey(), tempos.get(0), tempos.get(tempos.size() / 2), tempos.get(tempos.size() - 1), tempos));
+        }
+        System.out.println(relatorio);
+    }
+
+    /**
+     * Sobe a aplicação em uma porta livre e faz polling até a primeira resposta 200.
+     *
+     * @return Tempo em milissegundos entre o início do processo e a primeira resposta 200
+     */
+    private static long medir(String java, File diretorio, String jar, List<String> flags) throws Exception {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(java);
+        comando.addAll(flags);
+        comando.add("-Dserver.port=" + porta);
+        comando.add("-jar");
+        comando.add(jar);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/laboratorio"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .directory(diretorio)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - inicio < TEMPO_LIMITE.toNanos()) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação encerrou antes de responder (código " + processo.exitValue() + ").");
+                }
+                try {
+                    HttpResponse<Void> resposta = client.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                    if (resposta.statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (ConnectException e) {
+                    // Servidor ainda não está aceitando conexões
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("A aplicação não respondeu em " + TEMPO_LIMITE.toSeconds() + "s.");
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
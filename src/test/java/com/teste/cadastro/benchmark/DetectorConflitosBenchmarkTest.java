@@ -0,0 +1,97 @@
+package com.teste.cadastro.benchmark;
+
+import com.teste.cadastro.pessoas.conflitos.DetectorConflitos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark da detecção de sobreposições: varredura ordenada com 1 milhão de períodos em memória
+ * e, para referência, a comparação de todos os pares em uma fração dos dados.
+ *
+ * Não roda no "test" padrão: use {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+class DetectorConflitosBenchmarkTest {
+
+    private static final int PERIODOS = 1_000_000;
+    private static final int PROPRIEDADES = 2_000;
+    private static final long HORA_EM_MICROS = 3_600_000_000L;
+
+    /**
+     * Gera períodos ordenados por (propriedade, inicio): [propriedade, id, inicio, fim].
+     * Cada propriedade recebe estadias de 1 a 72 horas espalhadas por um ano.
+     */
+    private long[][] gerarPeriodos(int quantidade) {
+        SplittableRandom random = new SplittableRandom(2024);
+        long[][] periodos = new long[quantidade][];
+        for (int i = 0; i < quantidade; i++) {
+            long inicio = random.nextLong(365 * 24) * HORA_EM_MICROS;
+            long fim = inicio + (1 + random.nextLong(72)) * HORA_EM_MICROS;
+            periodos[i] = new long[]{random.nextInt(PROPRIEDADES), i + 1, inicio, fim};
+        }
+        Arrays.sort(periodos, Comparator.<long[]>comparingLong(p -> p[0]).thenComparingLong(p -> p[2]));
+        return periodos;
+    }
+
+    private long varrer(long[][] periodos) {
+        DetectorConflitos detector = new DetectorConflitos((grupo, id, outroId, inicio, fim) -> true);
+        for (long[] periodo : periodos) {
+            detector.adicionar(periodo[0], periodo[1], periodo[2], periodo[3]);
+        }
+        return detector.getConflitos();
+    }
+
+    private long compararPares(long[][] periodos) {
+        long conflitos = 0;
+        for (int i = 0; i < periodos.length; i++) {
+            for (int j = i + 1; j < periodos.length; j++) {
+                if (periodos[i][0] == periodos[j][0]
+                        && periodos[i][2] < periodos[j][3] && periodos[j][2] < periodos[i][3]) {
+                    conflitos++;
+                }
+            }
+        }
+        return conflitos;
+    }
+
+    @Test
+    @DisplayName("Varredura ordenada com 1 milhão de períodos")
+    void varreduraUmMilhao() {
+        long inicioGeracao = System.nanoTime();
+        long[][] periodos = gerarPeriodos(PERIODOS);
+        long geracaoMs = (System.nanoTime() - inicioGeracao) / 1_000_000;
+
+        varrer(periodos); // aquecimento do JIT
+        long inicio = System.nanoTime();
+        long conflitos = varrer(periodos);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        System.out.printf("Sobreposições: %d períodos, %d propriedades -> %d conflitos em %d ms (geração e ordenação: %d ms)%n",
+                PERIODOS, PROPRIEDADES, conflitos, duracaoMs, geracaoMs);
+    }
+
+    @Test
+    @DisplayName("Comparação com a verificação de todos os pares em 20 mil períodos")
+    void comparacaoComPares() {
+        long[][] periodos = gerarPeriodos(20_000);
+
+        long inicio = System.nanoTime();
+        long conflitosVarredura = varrer(periodos);
+        long varreduraMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        inicio = System.nanoTime();
+        long conflitosPares = compararPares(periodos);
+        long paresMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        System.out.printf("20000 períodos: varredura %d ms, todos os pares %d ms (%d conflitos)%n",
+                varreduraMs, paresMs, conflitosVarredura);
+        assertEquals(conflitosPares, conflitosVarredura);
+    }
+}
@@ -0,0 +1,140 @@
+package com.teste.cadastro.benchmark;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.laboratorios.LaboratorioResumoDTO;
+import com.teste.cadastro.laboratorios.LaboratorioService;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.pessoas.indices.IndiceTextoObservacoes;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark do filtro de observações do resumo: LIKE '%termo%' contra o índice FULLTEXT (ngram),
+ * com 50 mil pessoas. Confere que os dois caminhos retornam as mesmas contagens e registra os tempos no log.
+ *
+ * Grava fora de transação (o índice FULLTEXT do InnoDB só enxerga linhas confirmadas) e limpa as tabelas ao final.
+ * Não roda no "test" padrão: use {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "cadastro.resumo.observacoes.fulltext=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ObservacoesFullTextBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ObservacoesFullTextBenchmarkTest.class);
+
+    private static final int PESSOAS = 50_000;
+    private static final int LABORATORIOS = 200;
+    private static final int REPETICOES = 20;
+
+    private static final String[] FRASES = {
+            "coleta de solo na area norte", "amostra foliar enviada", "irrigacao suspensa por chuva",
+            "praga identificada no talhao", "colheita antecipada", "visita tecnica de rotina",
+            "analise quimica pendente", "reposicao de insumos", "amostra de agua do poco"
+    };
+    private static final String[] TERMOS = {"amostra", "identificada", "colheita", "insumos"};
+
+    @Autowired
+    private LaboratorioService laboratorioService;
+
+    @Autowired
+    private IndiceTextoObservacoes indiceTexto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @BeforeAll
+    void popularBancoDeDados() {
+        limpar();
+        List<Laboratorio> laboratorios = new ArrayList<>();
+        for (int i = 0; i < LABORATORIOS; i++) {
+            laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Benchmark " + i)));
+        }
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Benchmark"));
+
+        SplittableRandom random = new SplittableRandom(43);
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<Object[]> linhas = new ArrayList<>(PESSOAS);
+        for (int i = 0; i < PESSOAS; i++) {
+            Instant inicio = base.plus(random.nextInt(365 * 24), ChronoUnit.HOURS);
+            linhas.add(new Object[]{
+                    "Pessoa Benchmark " + i,
+                    Timestamp.from(inicio),
+                    Timestamp.from(inicio.plus(1 + random.nextInt(72), ChronoUnit.HOURS)),
+                    propriedade.getId(),
+                    laboratorios.get(random.nextInt(LABORATORIOS)).getId(),
+                    random.nextInt(4) == 0 ? null : FRASES[random.nextInt(FRASES.length)] + " #" + i
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_pessoas (nome, data_inicial, data_final, propriedade_id, laboratorio_id, observacoes) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", linhas);
+    }
+
+    @AfterAll
+    void limpar() {
+        pessoaRepository.deleteAllInBatch();
+        laboratorioRepository.deleteAllInBatch();
+        propriedadeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("FULLTEXT deve retornar o mesmo resumo que o LIKE")
+    void compararLikeComFullText() {
+        assertTrue(indiceTexto.isDisponivel(), "O índice FULLTEXT deveria ter sido criado na inicialização");
+
+        StringBuilder relatorio = new StringBuilder(String.format("Filtro de observações com %d pessoas (%d repetições):%n",
+                PESSOAS, REPETICOES));
+        for (String termo : TERMOS) {
+            Supplier<List<LaboratorioResumoDTO>> like = () -> laboratorioRepository.listarLaboratoriosComResumo(
+                    null, null, null, null, termo, 0L);
+            Supplier<List<LaboratorioResumoDTO>> fullText = () -> laboratorioService.listarLaboratoriosComResumo(
+                    Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(termo), 0L);
+
+            assertEquals(descrever(like.get()), descrever(fullText.get()), "Resumos diferentes para o termo '" + termo + "'");
+
+            relatorio.append(String.format("  %-20s LIKE=%6.1f ms  FULLTEXT=%6.1f ms%n",
+                    termo, medirMs(like), medirMs(fullText)));
+        }
+        log.info("{}", relatorio);
+    }
+
+    private double medirMs(Supplier<?> consulta) {
+        consulta.get(); // aquecimento
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            consulta.get();
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / REPETICOES;
+    }
+
+    private List<String> descrever(List<LaboratorioResumoDTO> resumo) {
+        return resumo.stream().map(r -> r.getId() + ":" + r.getQuantidadePessoas()).sorted().toList();
+    }
+}
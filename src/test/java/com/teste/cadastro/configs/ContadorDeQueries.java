@@ -0,0 +1,76 @@
+package com.teste.cadastro.configs;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contador de instruções SQL executadas pelo Hibernate.
+ * É registrado como {@link StatementInspector} pela {@link ContadorDeQueriesConfig}
+ * e permite que os testes verifiquem o "orçamento" de queries de cada endpoint,
+ * detectando regressões como N+1 nas associações de Pessoa.
+ */
+public class ContadorDeQueries implements StatementInspector {
+
+    private final List<String> instrucoes = new ArrayList<>();
+
+    /**
+     * Registra a instrução SQL e a devolve sem alterações.
+     *
+     * @param sql Instrução SQL gerada pelo Hibernate
+     * @return A mesma instrução recebida
+     */
+    @Override
+    public synchronized String inspect(String sql) {
+        instrucoes.add(sql);
+        return sql;
+    }
+
+    /**
+     * Zera a contagem. Deve ser chamado imediatamente antes do trecho medido.
+     */
+    public synchronized void zerar() {
+        instrucoes.clear();
+    }
+
+    /**
+     * @return Quantidade de instruções executadas desde o último {@link #zerar()}
+     */
+    public synchronized int total() {
+        return instrucoes.size();
+    }
+
+    /**
+     * @return Cópia das instruções executadas desde o último {@link #zerar()}
+     */
+    public synchronized List<String> instrucoes() {
+        return new ArrayList<>(instrucoes);
+    }
+
+    /**
+     * Verifica se foram executadas exatamente {@code esperado} instruções.
+     *
+     * @param esperado Quantidade exata de instruções esperada
+     */
+    public void assertTotal(int esperado) {
+        List<String> executadas = instrucoes();
+        assertEquals(esperado, executadas.size(),
+                "Quantidade de queries diferente do esperado. Executadas:\n" + String.join("\n", executadas));
+    }
+
+    /**
+     * Verifica se foram executadas no máximo {@code maximo} instruções.
+     *
+     * @param maximo Quantidade máxima de instruções permitida
+     */
+    public void assertNoMaximo(int maximo) {
+        List<String> executadas = instrucoes();
+        assertTrue(executadas.size() <= maximo,
+                "Esperado no máximo " + maximo + " queries, mas foram executadas " + executadas.size() + ":\n"
+                        + String.join("\n", executadas));
+    }
+}
@@ -0,0 +1,25 @@
+package com.teste.cadastro.configs;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuração de testes que registra o {@link ContadorDeQueries} no Hibernate.
+ * Basta importar esta classe no teste ({@code @Import(ContadorDeQueriesConfig.class)})
+ * e injetar o {@link ContadorDeQueries}.
+ */
+@TestConfiguration
+public class ContadorDeQueriesConfig {
+
+    @Bean
+    public ContadorDeQueries contadorDeQueries() {
+        return new ContadorDeQueries();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorDeQueriesCustomizer(ContadorDeQueries contadorDeQueries) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, contadorDeQueries);
+    }
+}
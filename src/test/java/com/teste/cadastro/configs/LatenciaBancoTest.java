@@ -0,0 +1,90 @@
+package com.teste.cadastro.configs;
+
+import com.teste.cadastro.configs.latencia.LatenciaProperties;
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do injetor de latência: verifica como os endpoints se comportam
+ * quando o banco de dados fica lento ou derruba conexões.
+ */
+@SpringBootTest(properties = "cadastro.latencia.habilitada=true")
+@AutoConfigureMockMvc
+@Transactional
+class LatenciaBancoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LatenciaProperties latencia;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    private Laboratorio laboratorio;
+
+    @BeforeEach
+    void setup() {
+        laboratorio = laboratorioRepository.save(new Laboratorio("Laboratório Latência"));
+    }
+
+    @AfterEach
+    void limparRegras() {
+        latencia.limpar();
+    }
+
+    @Test
+    @DisplayName("GET /laboratorio/resumo - Deve responder mesmo com SELECT lento")
+    void resumoComSelectLento() throws Exception {
+        latencia.getSelect().setAtrasoMs(200);
+        latencia.getSelect().setJitterMs(50);
+
+        long inicio = System.nanoTime();
+        mockMvc.perform(get("/laboratorio/resumo")
+                        .param("quantidadeMinima", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray());
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(duracaoMs >= 200, "A latência injetada deveria ter sido aplicada, duração: " + duracaoMs + "ms");
+    }
+
+    @Test
+    // Sem a transação do teste: a queda fecha a conexão usada, e cada requisição pega a sua do pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("GET /laboratorio - Deve retornar 503 quando a conexão cair e voltar a responder com outra conexão do pool")
+    void quedaDeConexao() throws Exception {
+        try {
+            latencia.getSelect().setProbabilidadeQueda(1.0);
+            mockMvc.perform(get("/laboratorio")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(content().string("Banco de dados indisponível no momento. Tente novamente."));
+
+            latencia.limpar();
+            mockMvc.perform(get("/laboratorio")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.nome == 'Laboratório Latência')]").exists());
+        } finally {
+            // Sem a transação do teste, o laboratório criado no setup foi confirmado
+            latencia.limpar();
+            laboratorioRepository.delete(laboratorio);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.teste.cadastro.configs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Gera o documento OpenAPI em tempo de build a partir do springdoc.
+ * Executado pela task {@code ./gradlew gerarOpenApi}; o arquivo gerado é incluído no jar
+ * com {@code -PopenapiEstatico} e servido como recurso estático no perfil "prod".
+ */
+@Tag("openapi")
+@SpringBootTest
+@AutoConfigureMockMvc
+class OpenApiDocumentoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve gerar o documento OpenAPI com todos os controladores")
+    void gerarDocumento() throws Exception {
+        String json = mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode documento = objectMapper.readTree(json);
+        JsonNode paths = documento.path("paths");
+        for (String path : new String[]{"/pessoa", "/laboratorio", "/laboratorio/resumo", "/propriedade"}) {
+            assertTrue(paths.has(path), "Documento OpenAPI sem o path " + path);
+        }
+
+        Path saida = Path.of(System.getProperty("cadastro.openapi.saida", "build/openapi/cadastro.json"));
+        Files.createDirectories(saida.getParent());
+        Files.writeString(saida, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(documento));
+        System.out.println("Documento OpenAPI gerado em " + saida.toAbsolutePath());
+    }
+}
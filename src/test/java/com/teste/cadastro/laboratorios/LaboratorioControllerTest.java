@@ -28,6 +28,9 @@ class LaboratorioControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SugestoesLaboratorioService sugestoesService;
+
     private int idP1;
     private int idP2;
 
@@ -97,6 +100,19 @@ class LaboratorioControllerTest {
             String responseBody = mvcResult.getResponse().getContentAsString();
             System.out.println("Response Body (GET /pessoa/{id}):\n" + responseBody);
         }
+
+        @Test
+        @DisplayName("GET /laboratorio?ids= - Deve retornar na ordem pedida e informar os IDs inexistentes")
+        void findByIds() throws Exception {
+            mockMvc.perform(get("/laboratorio")
+                            .param("ids", idP2 + "," + 999999 + "," + idP1 + "," + idP2))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Laboratório Modelo 2"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Laboratório Modelo 1"))
+                    .andExpect(jsonPath("$.naoEncontrados.length()").value(1))
+                    .andExpect(jsonPath("$.naoEncontrados[0]").value(999999));
+        }
     }
 
     @Nested
@@ -399,4 +415,56 @@ class LaboratorioControllerTest {
             System.out.println("Response Body (DELETE /laboratorio/{id}):\n" + responseBody);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("SUGESTOES Tests")
+    class SugestoesTests {
+
+        @BeforeEach
+        void carregarSugestoes() {
+            sugestoesService.recarregar();
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/sugestoes - Deve sugerir pelo prefixo sem diferenciar maiúsculas e acentos")
+        void sugerirPorPrefixo() throws Exception {
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "LABORATORIO MOD"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(idP1))
+                    .andExpect(jsonPath("$[1].nome").value("Laboratório Modelo 2"));
+
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "laboratorio mod").param("limite", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "inexistente"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/sugestoes - Deve refletir gravações e exclusões recebidas por evento")
+        void atualizarPorEvento() throws Exception {
+            sugestoesService.aoAlterarLaboratorio(LaboratorioEvento.salvo(new LaboratorioDTO(idP2, "Laboratório Ácido")));
+            sugestoesService.aoAlterarLaboratorio(LaboratorioEvento.removido(idP1));
+
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "laboratorio a"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].nome").value("Laboratório Ácido"));
+
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "laboratorio mod"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/sugestoes - Deve retornar 400 para limite fora do intervalo")
+        void limiteInvalido() throws Exception {
+            mockMvc.perform(get("/laboratorio/sugestoes").param("prefixo", "a").param("limite", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O limite deve estar entre 1 e 100."));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.teste.cadastro.laboratorios;
+
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do endpoint de estatísticas de duração das estadias por laboratório.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class LaboratorioDuracoesTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final double HORA = 3600.0;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        Laboratorio laboratorio = laboratorioRepository.save(new Laboratorio("Laboratório Durações"));
+        Laboratorio outro = laboratorioRepository.save(new Laboratorio("Laboratório Durações Curtas"));
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Durações"));
+
+        // Durações de 1 a 100 horas no primeiro laboratório e 2 horas fixas no segundo
+        for (int i = 1; i <= 100; i++) {
+            salvarPessoa("Pessoa Duração " + i, i, laboratorio, propriedade);
+        }
+        for (int i = 1; i <= 10; i++) {
+            salvarPessoa("Pessoa Duração Curta " + i, 2, outro, propriedade);
+        }
+    }
+
+    private void salvarPessoa(String nome, int horas, Laboratorio laboratorio, Propriedade propriedade) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(BASE);
+        pessoa.setDataFinal(BASE.plusHours(horas));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        pessoaRepository.save(pessoa);
+    }
+
+    @Test
+    @DisplayName("GET /laboratorio/resumo/duracoes - Deve retornar média, percentis, mínimo e máximo por laboratório")
+    void estatisticasPorLaboratorio() throws Exception {
+        mockMvc.perform(get("/laboratorio/resumo/duracoes")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Laboratório Durações"))
+                .andExpect(jsonPath("$[0].quantidadePessoas").value(100))
+                .andExpect(jsonPath("$[0].mediaSegundos").value(closeTo(50.5 * HORA, 1.0)))
+                .andExpect(jsonPath("$[0].minimoSegundos").value(closeTo(HORA, 0.001)))
+                .andExpect(jsonPath("$[0].maximoSegundos").value(closeTo(100 * HORA, 0.001)))
+                .andExpect(jsonPath("$[0].p50Segundos").value(closeTo(50.5 * HORA, 1.5 * HORA)))
+                .andExpect(jsonPath("$[0].p90Segundos").value(closeTo(90.5 * HORA, 1.5 * HORA)))
+                .andExpect(jsonPath("$[0].p99Segundos").value(closeTo(99.5 * HORA, 1.5 * HORA)))
+                .andExpect(jsonPath("$[1].p50Segundos").value(closeTo(2 * HORA, 0.001)));
+    }
+
+    @Test
+    @DisplayName("GET /laboratorio/resumo/duracoes - Deve aplicar a quantidade mínima")
+    void quantidadeMinima() throws Exception {
+        mockMvc.perform(get("/laboratorio/resumo/duracoes")
+                        .param("quantidadeMinima", "50")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /laboratorio/resumo/duracoes - Deve validar as datas como o resumo")
+    void datasInvalidas() throws Exception {
+        mockMvc.perform(get("/laboratorio/resumo/duracoes")
+                        .param("dataInicialInicio", BASE.plusDays(2).toString())
+                        .param("dataInicialFim", BASE.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
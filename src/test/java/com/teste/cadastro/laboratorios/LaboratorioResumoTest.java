@@ -1,6 +1,7 @@
 package com.teste.cadastro.laboratorios;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.teste.cadastro.pessoas.Pessoa;
 import com.teste.cadastro.pessoas.PessoaRepository;
 import com.teste.cadastro.propriedades.Propriedade;
@@ -508,4 +509,162 @@ class LaboratorioResumoTest {
         }
 
     }
+
+    @Nested
+    @DisplayName("GET /laboratorio/resumo - Testes de Paginação")
+    class PaginacaoTests {
+
+        @Test
+        @DisplayName("Deve percorrer o resumo em páginas seguindo o cursor")
+        void testPaginasComCursor() throws Exception {
+            MvcResult primeira = mockMvc.perform(get("/laboratorio/resumo")
+                            .param("quantidadeMinima", "1")
+                            .param("limite", "2")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Laboratório Modelo 3"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Laboratório Modelo 1"))
+                    .andExpect(jsonPath("$.itens[0].primeiraDataInicial").doesNotExist())
+                    .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                    .andReturn();
+            String cursor = JsonPath.read(primeira.getResponse().getContentAsString(), "$.proximoCursor");
+
+            // Modelo 5 e Modelo 2 empatam em 5 pessoas; o desempate é pela menor data inicial
+            MvcResult segunda = mockMvc.perform(get("/laboratorio/resumo")
+                            .param("quantidadeMinima", "1")
+                            .param("limite", "2")
+                            .param("cursor", cursor)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Laboratório Modelo 5"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Laboratório Modelo 2"))
+                    .andReturn();
+            cursor = JsonPath.read(segunda.getResponse().getContentAsString(), "$.proximoCursor");
+
+            mockMvc.perform(get("/laboratorio/resumo")
+                            .param("quantidadeMinima", "1")
+                            .param("limite", "2")
+                            .param("cursor", cursor)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Laboratório Modelo 4"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Laboratório Modelo 6"))
+                    .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Deve retornar erro para cursor inválido")
+        void testCursorInvalido() throws Exception {
+            mockMvc.perform(get("/laboratorio/resumo")
+                            .param("quantidadeMinima", "1")
+                            .param("limite", "2")
+                            .param("cursor", "nao-e-um-cursor")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Cursor inválido."));
+        }
+
+        @Test
+        @DisplayName("Deve retornar erro quando o cursor for informado sem limite")
+        void testCursorSemLimite() throws Exception {
+            mockMvc.perform(get("/laboratorio/resumo")
+                            .param("quantidadeMinima", "1")
+                            .param("cursor", "MTox")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O cursor exige o parâmetro limite."));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /laboratorio/resumo/comparativo - Testes de Comparativo entre Períodos")
+    class ComparativoTests {
+
+        @Test
+        @DisplayName("Deve comparar a quantidade de pessoas por laboratório entre dois períodos")
+        void testComparativo() throws Exception {
+            // Período atual: pessoas 1 a 10 (Modelo 1 com 6, Modelo 2 com 4)
+            // Período anterior: pessoas 11 a 20 (Modelo 2 com 1, Modelo 3 com 7, Modelo 4 com 2)
+            ZonedDateTime agora = ZonedDateTime.now();
+            mockMvc.perform(get("/laboratorio/resumo/comparativo")
+                            .param("atualInicio", agora.minusDays(20).minusHours(12).toString())
+                            .param("atualFim", agora.minusDays(10).minusHours(12).toString())
+                            .param("anteriorInicio", agora.minusDays(30).minusHours(12).toString())
+                            .param("anteriorFim", agora.minusDays(20).minusHours(12).toString())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(4))
+                    .andExpect(jsonPath("$[0].nome").value("Laboratório Modelo 1"))
+                    .andExpect(jsonPath("$[0].quantidadeAtual").value(6))
+                    .andExpect(jsonPath("$[0].quantidadeAnterior").value(0))
+                    .andExpect(jsonPath("$[0].variacaoPercentual").doesNotExist())
+                    .andExpect(jsonPath("$[1].nome").value("Laboratório Modelo 2"))
+                    .andExpect(jsonPath("$[1].quantidadeAtual").value(4))
+                    .andExpect(jsonPath("$[1].quantidadeAnterior").value(1))
+                    .andExpect(jsonPath("$[1].variacao").value(3))
+                    .andExpect(jsonPath("$[1].variacaoPercentual").value(300.0))
+                    .andExpect(jsonPath("$[2].nome").value("Laboratório Modelo 3"))
+                    .andExpect(jsonPath("$[2].quantidadeAnterior").value(7))
+                    .andExpect(jsonPath("$[2].variacao").value(-7))
+                    .andExpect(jsonPath("$[3].nome").value("Laboratório Modelo 4"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar erro quando o início de um período for posterior ao fim")
+        void testPeriodoInvalido() throws Exception {
+            ZonedDateTime agora = ZonedDateTime.now();
+            mockMvc.perform(get("/laboratorio/resumo/comparativo")
+                            .param("atualInicio", agora.toString())
+                            .param("atualFim", agora.minusDays(1).toString())
+                            .param("anteriorInicio", agora.minusDays(10).toString())
+                            .param("anteriorFim", agora.minusDays(5).toString())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O início do período atual não pode ser posterior ao fim."));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /laboratorio/resumo/lote - Testes de Resumo em Lote")
+    class LoteTests {
+
+        @Test
+        @DisplayName("Deve retornar um resumo por conjunto de filtros, na ordem recebida")
+        void testLote() throws Exception {
+            List<FiltroResumo> filtros = List.of(
+                    new FiltroResumo(null, null, null, null, null, 6L),
+                    new FiltroResumo(null, null, null, null, "Específica", 1L),
+                    new FiltroResumo(null, ZonedDateTime.now().minusDays(20).toLocalDate().atStartOfDay(ZoneId.systemDefault()),
+                            null, null, null, 1L));
+
+            mockMvc.perform(post("/laboratorio/resumo/lote")
+                            .content(objectMapper.writeValueAsString(filtros))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3))
+                    // Mesmos resultados das consultas individuais
+                    .andExpect(jsonPath("$[0].length()").value(2))
+                    .andExpect(jsonPath("$[0][0].nome").value("Laboratório Modelo 3"))
+                    .andExpect(jsonPath("$[0][1].nome").value("Laboratório Modelo 1"))
+                    .andExpect(jsonPath("$[1].length()").value(2))
+                    .andExpect(jsonPath("$[1][0].nome").value("Laboratório Modelo 1"))
+                    .andExpect(jsonPath("$[1][1].nome").value("Laboratório Modelo 2"))
+                    .andExpect(jsonPath("$[2].length()").value(5))
+                    .andExpect(jsonPath("$[2][0].nome").value("Laboratório Modelo 3"))
+                    .andExpect(jsonPath("$[2][4].nome").value("Laboratório Modelo 2"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar erro para lote vazio")
+        void testLoteVazio() throws Exception {
+            mockMvc.perform(post("/laboratorio/resumo/lote")
+                            .content("[]")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O lote deve ter entre 1 e 100 conjuntos de filtros."));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.busca.IndiceBuscaPessoas;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da busca textual de {@code GET /pessoa/busca} pelo índice Lucene.
+ * Cada contexto usa um diretório próprio, pois o índice em disco só pode ser aberto por um escritor.
+ */
+@SpringBootTest(properties = {
+        "cadastro.busca.habilitada=true",
+        "cadastro.busca.diretorio=${java.io.tmpdir}/cadastro-busca-teste-${random.uuid}"
+})
+@AutoConfigureMockMvc
+@Transactional
+class BuscaPessoasTest {
+
+    private static final ZonedDateTime INICIO = ZonedDateTime.of(2024, 3, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IndiceBuscaPessoas indiceBusca;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        Laboratorio laboratorio = laboratorioRepository.save(new Laboratorio("Laboratório Busca"));
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Busca"));
+
+        salvarPessoa("João Conceição", "Coleta de solo na área norte", laboratorio, propriedade);
+        salvarPessoa("Maria Aparecida", "Acompanhou a visita do João", laboratorio, propriedade);
+        salvarPessoa("Fernanda Albuquerque", "Amostra foliar enviada", laboratorio, propriedade);
+        for (int i = 1; i <= 5; i++) {
+            salvarPessoa("Técnico Irrigação " + i, "Irrigação suspensa por chuva", laboratorio, propriedade);
+        }
+
+        indiceBusca.reconstruir();
+    }
+
+    private void salvarPessoa(String nome, String observacoes, Laboratorio laboratorio, Propriedade propriedade) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(INICIO);
+        pessoa.setDataFinal(INICIO.plusHours(4));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        pessoa.setObservacoes(observacoes);
+        pessoaRepository.save(pessoa);
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/busca - Deve encontrar sem diferenciar acentos e maiúsculas")
+    void semAcentos() throws Exception {
+        assertTrue(indiceBusca.isDisponivel());
+
+        mockMvc.perform(get("/pessoa/busca").param("q", "CONCEICAO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("João Conceição"));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/busca - Deve tolerar erros de digitação e aceitar o início das palavras")
+    void fuzzyEPrefixo() throws Exception {
+        mockMvc.perform(get("/pessoa/busca").param("q", "albuqerque"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("Fernanda Albuquerque"));
+
+        mockMvc.perform(get("/pessoa/busca").param("q", "folia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("Fernanda Albuquerque"));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/busca - Deve ordenar ocorrências no nome antes das ocorrências nas observações")
+    void relevanciaDoNome() throws Exception {
+        mockMvc.perform(get("/pessoa/busca").param("q", "joão"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("João Conceição"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Maria Aparecida"));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/busca - Deve paginar mantendo o total de resultados")
+    void paginacao() throws Exception {
+        mockMvc.perform(get("/pessoa/busca")
+                        .param("q", "irrigacao")
+                        .param("pagina", "1")
+                        .param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.pagina").value(1))
+                .andExpect(jsonPath("$.itens", hasSize(2)));
+
+        mockMvc.perform(get("/pessoa/busca")
+                        .param("q", "irrigacao")
+                        .param("pagina", "2")
+                        .param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/busca - Deve retornar 400 para texto vazio ou paginação inválida")
+    void parametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/pessoa/busca").param("q", "  "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O texto da busca é obrigatório."));
+
+        mockMvc.perform(get("/pessoa/busca").param("q", "joao").param("tamanho", "101"))
+                .andExpect(status().isBadRequest());
+    }
+}
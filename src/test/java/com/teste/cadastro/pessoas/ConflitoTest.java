@@ -0,0 +1,173 @@
+package com.teste.cadastro.pessoas;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeDTO;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes da detecção de períodos sobrepostos entre pessoas da mesma propriedade.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ConflitoTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private Laboratorio laboratorio;
+    private Propriedade propriedade;
+    private Propriedade outraPropriedade;
+    private Pessoa pessoaA;
+    private Pessoa pessoaB;
+
+    @BeforeEach
+    void setup() {
+        laboratorio = laboratorioRepository.save(new Laboratorio("Laboratório Conflitos"));
+        propriedade = propriedadeRepository.save(new Propriedade("Fazenda Conflitos"));
+        outraPropriedade = propriedadeRepository.save(new Propriedade("Fazenda Sem Conflitos"));
+
+        // Na mesma propriedade: A [1, 5) e B [3, 7) se sobrepõem em [3, 5); C [5, 6) sobrepõe só B.
+        // D [1, 9) está em outra propriedade e não conflita com ninguém.
+        pessoaA = salvarPessoa("Pessoa Conflito A", 1, 5, propriedade);
+        pessoaB = salvarPessoa("Pessoa Conflito B", 3, 7, propriedade);
+        salvarPessoa("Pessoa Conflito C", 5, 6, propriedade);
+        salvarPessoa("Pessoa Conflito D", 1, 9, outraPropriedade);
+    }
+
+    @AfterEach
+    void restaurarConfiguracao() {
+        ReflectionTestUtils.setField(pessoaService, "bloquearConflitos", false);
+    }
+
+    private Pessoa salvarPessoa(String nome, int diaInicial, int diaFinal, Propriedade propriedade) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(BASE.plusDays(diaInicial));
+        pessoa.setDataFinal(BASE.plusDays(diaFinal));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        return pessoaRepository.save(pessoa);
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/conflitos - Deve listar as sobreposições da propriedade")
+    void conflitosDaPropriedade() throws Exception {
+        mockMvc.perform(get("/pessoa/conflitos")
+                        .param("propriedadeId", String.valueOf(propriedade.getId()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].pessoaId").value(pessoaA.getId()))
+                .andExpect(jsonPath("$[0].outraPessoaId").value(pessoaB.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/conflitos - Deve devolver o trecho sobreposto com as mesmas datas de GET /pessoa/{id}/conflitos")
+    void mesmasDatasNosDoisEndpoints() throws Exception {
+        // Os dois endpoints passam a ler as datas do banco, e não das entidades recém-gravadas
+        em.flush();
+        em.clear();
+
+        JsonNode porPropriedade = objectMapper.readTree(mockMvc.perform(get("/pessoa/conflitos")
+                        .param("propriedadeId", String.valueOf(propriedade.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get(0);
+        JsonNode porPessoa = objectMapper.readTree(mockMvc.perform(get("/pessoa/{id}/conflitos", pessoaA.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get(0);
+
+        assertEquals(porPessoa.get("outraPessoaId"), porPropriedade.get("outraPessoaId"));
+        assertEquals(porPessoa.get("inicio"), porPropriedade.get("inicio"));
+        assertEquals(porPessoa.get("fim"), porPropriedade.get("fim"));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/conflitos - Propriedade sem sobreposições deve retornar lista vazia")
+    void propriedadeSemConflitos() throws Exception {
+        mockMvc.perform(get("/pessoa/conflitos")
+                        .param("propriedadeId", String.valueOf(outraPropriedade.getId()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/conflitos - Deve retornar 400 para limite inválido")
+    void limiteInvalido() throws Exception {
+        mockMvc.perform(get("/pessoa/conflitos")
+                        .param("limite", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/{id}/conflitos - Deve listar as pessoas sobrepostas à pessoa")
+    void conflitosDaPessoa() throws Exception {
+        mockMvc.perform(get("/pessoa/{id}/conflitos", pessoaB.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].outraPessoaId").value(pessoaA.getId()));
+    }
+
+    @Test
+    @DisplayName("POST /pessoa - Com bloqueio habilitado, deve recusar período sobreposto na mesma propriedade")
+    void bloqueioDeConflitos() throws Exception {
+        ReflectionTestUtils.setField(pessoaService, "bloquearConflitos", true);
+        PessoaDTO nova = new PessoaDTO("Pessoa Conflito Nova", BASE.plusDays(4), BASE.plusDays(8),
+                new PropriedadeDTO(propriedade), new LaboratorioDTO(laboratorio), null);
+
+        mockMvc.perform(post("/pessoa")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(nova)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Já existe uma pessoa com período sobreposto na mesma propriedade."));
+    }
+}
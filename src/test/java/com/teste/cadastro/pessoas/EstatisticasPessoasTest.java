@@ -0,0 +1,140 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.estatisticas.EstatisticasPessoasService;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes das agregações ad-hoc de {@code GET /pessoa/estatisticas}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class EstatisticasPessoasTest {
+
+    private static final ZonedDateTime JANEIRO = ZonedDateTime.of(2024, 1, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime FEVEREIRO = ZonedDateTime.of(2024, 2, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EstatisticasPessoasService estatisticasService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private Laboratorio laboratorioA;
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        laboratorioA = laboratorioRepository.save(new Laboratorio("Laboratório Estatísticas A"));
+        Laboratorio laboratorioB = laboratorioRepository.save(new Laboratorio("Laboratório Estatísticas B"));
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Estatísticas"));
+
+        // Laboratório A: 3 pessoas em janeiro (2h, 4h, 6h) e 1 em fevereiro (10h); laboratório B: 2 em fevereiro
+        salvarPessoa("Pessoa Estatística 1", JANEIRO, 2, laboratorioA, propriedade);
+        salvarPessoa("Pessoa Estatística 2", JANEIRO, 4, laboratorioA, propriedade);
+        salvarPessoa("Pessoa Estatística 3", JANEIRO, 6, laboratorioA, propriedade);
+        salvarPessoa("Pessoa Estatística 4", FEVEREIRO, 10, laboratorioA, propriedade);
+        salvarPessoa("Pessoa Estatística 5", FEVEREIRO, 1, laboratorioB, propriedade);
+        salvarPessoa("Pessoa Estatística 6", FEVEREIRO, 1, laboratorioB, propriedade);
+    }
+
+    private void salvarPessoa(String nome, ZonedDateTime inicio, int horas, Laboratorio laboratorio, Propriedade propriedade) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(inicio);
+        pessoa.setDataFinal(inicio.plusHours(horas));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        pessoaRepository.save(pessoa);
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/estatisticas - Deve agrupar por laboratório com quantidade e duração média")
+    void porLaboratorio() throws Exception {
+        mockMvc.perform(get("/pessoa/estatisticas")
+                        .param("agrupar", "laboratorio")
+                        .param("metricas", "quantidade,duracaoMediaSegundos")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].laboratorioId").value(laboratorioA.getId()))
+                .andExpect(jsonPath("$[0].laboratorioNome").value("Laboratório Estatísticas A"))
+                .andExpect(jsonPath("$[0].quantidade").value(4))
+                .andExpect(jsonPath("$[0].duracaoMediaSegundos").value(closeTo(5.5 * 3600, 0.001)))
+                .andExpect(jsonPath("$[1].quantidade").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/estatisticas - Deve agrupar por laboratório e mês")
+    void porLaboratorioEMes() throws Exception {
+        mockMvc.perform(get("/pessoa/estatisticas")
+                        .param("agrupar", "laboratorio", "mes")
+                        .param("metricas", "quantidade", "primeiraDataInicial")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].mes").value("2024-01"))
+                .andExpect(jsonPath("$[0].quantidade").value(3))
+                .andExpect(jsonPath("$[0].primeiraDataInicial").exists())
+                .andExpect(jsonPath("$[1].mes").value("2024-02"))
+                .andExpect(jsonPath("$[1].quantidade").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/estatisticas - Deve retornar 400 para dimensão não suportada")
+    void dimensaoInvalida() throws Exception {
+        mockMvc.perform(get("/pessoa/estatisticas")
+                        .param("agrupar", "observacoes")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve juntar apenas as tabelas exigidas pelas dimensões")
+    void apenasJuncoesNecessarias() {
+        String sql = estatisticasService.compilar(List.of("mes"), List.of("quantidade"),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()).sql();
+        assertFalse(sql.contains("JOIN"), sql);
+
+        sql = estatisticasService.compilar(List.of("propriedade"), List.of("quantidade"),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()).sql();
+        assertTrue(sql.contains("tb_propriedades") && !sql.contains("tb_laboratorios"), sql);
+    }
+}
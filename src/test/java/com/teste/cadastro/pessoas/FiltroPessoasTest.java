@@ -0,0 +1,200 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.indices.IndiceBitmapPessoas;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes dos filtros, da ordenação e da paginação de {@code GET /pessoa}.
+ */
+@SpringBootTest(properties = "cadastro.indices.bitmap.habilitado=true")
+@AutoConfigureMockMvc
+@Transactional
+class FiltroPessoasTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 5, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @Autowired
+    private IndiceBitmapPessoas indiceBitmap;
+
+    private Laboratorio laboratorioA;
+    private Propriedade propriedadeB;
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        laboratorioA = laboratorioRepository.save(new Laboratorio("Laboratório Filtro A"));
+        Laboratorio laboratorioB = laboratorioRepository.save(new Laboratorio("Laboratório Filtro B"));
+        Propriedade propriedadeA = propriedadeRepository.save(new Propriedade("Fazenda Filtro A"));
+        propriedadeB = propriedadeRepository.save(new Propriedade("Fazenda Filtro B"));
+
+        salvarPessoa("Ana Filtro", 1, laboratorioA, propriedadeA);
+        salvarPessoa("Bruno Filtro", 2, laboratorioA, propriedadeB);
+        salvarPessoa("Álvaro Filtro", 3, laboratorioB, propriedadeA);
+        salvarPessoa("Carla Filtro", 4, laboratorioB, propriedadeB);
+        salvarPessoa("Anderson Filtro", 5, laboratorioA, propriedadeB);
+    }
+
+    private void salvarPessoa(String nome, int dia, Laboratorio laboratorio, Propriedade propriedade) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(BASE.plusDays(dia));
+        pessoa.setDataFinal(BASE.plusDays(dia).plusHours(6));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        pessoas.add(pessoaRepository.save(pessoa));
+    }
+
+    @AfterEach
+    void restaurarIndice() {
+        pessoas.forEach(pessoa -> indiceBitmap.aoAlterarPessoa(PessoaEvento.removida(pessoa.getId())));
+        pessoas.clear();
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve filtrar pelo início do nome sem diferenciar acentos")
+    void filtroNome() throws Exception {
+        mockMvc.perform(get("/pessoa").param("nome", "a").param("ordenar", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nome", contains("Álvaro Filtro", "Ana Filtro", "Anderson Filtro")));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve combinar laboratório, propriedade e período")
+    void filtrosCombinados() throws Exception {
+        mockMvc.perform(get("/pessoa")
+                        .param("laboratorioId", laboratorioA.getId().toString())
+                        .param("propriedadeId", propriedadeB.getId().toString())
+                        .param("ordenar", "-dataInicial"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nome", contains("Anderson Filtro", "Bruno Filtro")));
+
+        mockMvc.perform(get("/pessoa")
+                        .param("dataInicialInicio", BASE.plusDays(2).toString())
+                        .param("dataFinalFim", BASE.plusDays(4).plusHours(6).toString())
+                        .param("ordenar", "dataInicial"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nome", contains("Bruno Filtro", "Álvaro Filtro", "Carla Filtro")));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve paginar e informar o total exato no cabeçalho X-Total-Count")
+    void paginacao() throws Exception {
+        mockMvc.perform(get("/pessoa")
+                        .param("ordenar", "dataInicial")
+                        .param("pagina", "1")
+                        .param("tamanho", "2")
+                        .param("exato", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(header().string("X-Total-Count-Tipo", "exato"))
+                .andExpect(jsonPath("$[*].nome", contains("Álvaro Filtro", "Carla Filtro")));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve deduzir o total exato de uma página incompleta sem contar no banco")
+    void totalPelaPaginaIncompleta() throws Exception {
+        mockMvc.perform(get("/pessoa")
+                        .param("ordenar", "dataInicial")
+                        .param("pagina", "2")
+                        .param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(header().string("X-Total-Count-Tipo", "exato"))
+                .andExpect(jsonPath("$[*].nome", contains("Anderson Filtro")));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve contar o total real para uma página vazia além da última")
+    void totalDePaginaAlemDaUltima() throws Exception {
+        mockMvc.perform(get("/pessoa")
+                        .param("pagina", "10")
+                        .param("tamanho", "20"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(header().string("X-Total-Count-Tipo", "exato"))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve usar os contadores do índice de bitmaps ao filtrar só por laboratório, como estimativa")
+    void totalPeloIndiceBitmap() throws Exception {
+        // Recarregar o índice leria dados que nunca chegam ao commit; as pessoas entram pelos eventos e saem no @AfterEach
+        pessoas.forEach(pessoa -> indiceBitmap.aoAlterarPessoa(PessoaEvento.criada(new PessoaDTO(pessoa))));
+
+        mockMvc.perform(get("/pessoa")
+                        .param("laboratorioId", laboratorioA.getId().toString())
+                        .param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().string("X-Total-Count-Tipo", "estimado"));
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve estimar o total pelo otimizador com filtros de nome ou datas")
+    void totalEstimado() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/pessoa")
+                        .param("dataInicialInicio", BASE.toString())
+                        .param("ordenar", "dataInicial")
+                        .param("pagina", "1")
+                        .param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Tipo", "estimado"))
+                .andReturn();
+
+        // A estimativa nunca fica abaixo das pessoas já percorridas (páginas anteriores e a atual)
+        assertTrue(Long.parseLong(resultado.getResponse().getHeader("X-Total-Count")) >= 4);
+    }
+
+    @Test
+    @DisplayName("GET /pessoa - Deve retornar 400 para ordenação, tamanho ou página inválidos")
+    void parametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/pessoa").param("ordenar", "observacoes"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/pessoa").param("tamanho", "1001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O tamanho da página deve estar entre 1 e 1000."));
+
+        mockMvc.perform(get("/pessoa").param("pagina", String.valueOf(Integer.MAX_VALUE)).param("tamanho", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+}
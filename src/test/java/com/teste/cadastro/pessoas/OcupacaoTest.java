@@ -0,0 +1,134 @@
+package com.teste.cadastro.pessoas;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes dos endpoints de ocupação (pessoas simultâneas ao longo do tempo)
+ * de laboratórios e propriedades.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OcupacaoTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private Laboratorio laboratorio;
+    private Propriedade propriedade;
+
+    @BeforeEach
+    void setup() {
+        laboratorio = laboratorioRepository.save(new Laboratorio("Laboratório Ocupação"));
+        propriedade = propriedadeRepository.save(new Propriedade("Fazenda Ocupação"));
+
+        // A: [dia 1, dia 5)  B: [dia 3, dia 7)  C: [dia 5, dia 6)
+        salvarPessoa("Pessoa Ocupação A", 1, 5);
+        salvarPessoa("Pessoa Ocupação B", 3, 7);
+        salvarPessoa("Pessoa Ocupação C", 5, 6);
+    }
+
+    private void salvarPessoa(String nome, int diaInicial, int diaFinal) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setDataInicial(BASE.plusDays(diaInicial));
+        pessoa.setDataFinal(BASE.plusDays(diaFinal));
+        pessoa.setLaboratorio(laboratorio);
+        pessoa.setInfosPropriedade(propriedade);
+        pessoaRepository.save(pessoa);
+    }
+
+    @Nested
+    @DisplayName("GET /laboratorio/{id}/ocupacao")
+    class OcupacaoLaboratorio {
+
+        @Test
+        @DisplayName("Deve retornar os degraus de ocupação e o pico sem janela")
+        void semJanela() throws Exception {
+            mockMvc.perform(get("/laboratorio/{id}/ocupacao", laboratorio.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pico").value(2))
+                    // Fim de A e início de C no mesmo instante (dia 5) não alteram a ocupação
+                    .andExpect(jsonPath("$.pontos.length()").value(4))
+                    .andExpect(jsonPath("$.pontos[*].quantidade").value(contains(1, 2, 1, 0)));
+        }
+
+        @Test
+        @DisplayName("Deve recortar os períodos pela janela informada")
+        void comJanela() throws Exception {
+            mockMvc.perform(get("/laboratorio/{id}/ocupacao", laboratorio.getId())
+                            .param("de", BASE.plusDays(2).toString())
+                            .param("ate", BASE.plusDays(6).toString())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pico").value(2))
+                    .andExpect(jsonPath("$.pontos[*].quantidade").value(contains(1, 2, 0)));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando o início da janela não for anterior ao fim")
+        void janelaInvalida() throws Exception {
+            mockMvc.perform(get("/laboratorio/{id}/ocupacao", laboratorio.getId())
+                            .param("de", BASE.plusDays(6).toString())
+                            .param("ate", BASE.plusDays(2).toString())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 404 para laboratório inexistente")
+        void laboratorioInexistente() throws Exception {
+            mockMvc.perform(get("/laboratorio/{id}/ocupacao", 999999)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /propriedade/{id}/ocupacao")
+    class OcupacaoPropriedade {
+
+        @Test
+        @DisplayName("Deve retornar a ocupação da propriedade")
+        void ocupacaoPropriedade() throws Exception {
+            mockMvc.perform(get("/propriedade/{id}/ocupacao", propriedade.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pico").value(2))
+                    .andExpect(jsonPath("$.pontos.length()").value(4));
+        }
+    }
+}
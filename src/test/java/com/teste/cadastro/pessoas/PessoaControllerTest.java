@@ -12,6 +12,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -208,6 +209,19 @@ class PessoaControllerTest {
             // Exibe o conteúdo da resposta no console
             System.out.println("Response Body (GET /pessoa/{id}):\n" + responseBody);
         }
+
+        @Test
+        @DisplayName("GET /pessoa?ids= - Deve retornar na ordem pedida e informar os IDs inexistentes")
+        void findByIds() throws Exception {
+            mockMvc.perform(get("/pessoa")
+                            .param("ids", idP2 + "," + 999999 + "," + idP1 + "," + idP2))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Pessoa Teste 2"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Pessoa Teste 1"))
+                    .andExpect(jsonPath("$.naoEncontrados.length()").value(1))
+                    .andExpect(jsonPath("$.naoEncontrados[0]").value(999999));
+        }
     }
 
     @Nested
@@ -539,6 +553,25 @@ class PessoaControllerTest {
             System.out.println("Response JSON:\n" + prettyJson);
         }
 
+        @Test
+        @DisplayName("PUT /pessoa/{id} - Deve retornar 409 quando a versão informada estiver desatualizada")
+        void update_VersaoDesatualizada() throws Exception {
+            PessoaDTO dtoToUpdate = new PessoaDTO(
+                    "Pessoa Teste 1",
+                    ZonedDateTime.now().minusDays(3),
+                    ZonedDateTime.now().plusDays(3),
+                    new PropriedadeDTO(propriedadeTeste.getId(), propriedadeTeste.getNome()),
+                    new LaboratorioDTO(laboratorioTeste.getId(), laboratorioTeste.getNome()),
+                    "Observações de teste"
+            );
+            dtoToUpdate.setVersao(repository.findById(idP1).orElseThrow().getVersao() + 1);
+
+            mockMvc.perform(put("/pessoa/" + idP1)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dtoToUpdate)))
+                    .andExpect(status().isConflict());
+        }
+
         @Test
         @DisplayName("PUT /pessoa/{id} - Deve retornar 404 para update em pessoa inexistente")
         void update_NotFound() throws Exception {
@@ -788,6 +821,99 @@ class PessoaControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("PATCH Tests")
+    class PatchTests {
+
+        private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve alterar apenas os campos enviados")
+        void patch_Observacoes() throws Exception {
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"observacoes\": \"Observação alterada\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(idP1))
+                    .andExpect(jsonPath("$.nome").value("Pessoa Teste 1"))
+                    .andExpect(jsonPath("$.observacoes").value("Observação alterada"))
+                    .andExpect(jsonPath("$.laboratorio.id").value(laboratorioTeste.getId()))
+                    .andExpect(jsonPath("$.infosPropriedade.id").value(propriedadeTeste.getId()));
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve limpar as observações com null e trocar o laboratório pelo ID")
+        void patch_NullEReferencia() throws Exception {
+            Laboratorio outro = laboratorioRepository.save(new Laboratorio("Laboratório Patch"));
+
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"observacoes\": null, \"laboratorio\": {\"id\": " + outro.getId() + "}}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.laboratorio.id").value(outro.getId()))
+                    .andExpect(jsonPath("$.laboratorio.nome").value("Laboratório Patch"));
+
+            assertNull(repository.findById(idP1).orElseThrow().getObservacoes());
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve validar o campo alterado")
+        void patch_NomeInvalido() throws Exception {
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"nome\": \"AB\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(Matchers.containsString("Nome deve ter entre 3 e 200 caracteres.")));
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve recusar data final anterior à data inicial atual")
+        void patch_DataFinalIncoerente() throws Exception {
+            String dataFinal = objectMapper.writeValueAsString(ZonedDateTime.now().minusDays(20));
+
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"dataFinal\": " + dataFinal + "}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("A data final deve ser posterior à data inicial."));
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve recusar campos desconhecidos ou não alteráveis")
+        void patch_CampoDesconhecido() throws Exception {
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"id\": 1}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O campo 'id' não existe ou não pode ser alterado."));
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve retornar 409 quando a versão informada estiver desatualizada")
+        void patch_VersaoDesatualizada() throws Exception {
+            long versao = repository.findById(idP1).orElseThrow().getVersao() + 1;
+
+            mockMvc.perform(patch("/pessoa/" + idP1)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"observacoes\": \"x\", \"versao\": " + versao + "}"))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("PATCH /pessoa/{id} - Deve retornar 404 para pessoa inexistente")
+        void patch_NotFound() throws Exception {
+            Long nonExistentId = 999L;
+            while (repository.existsById(nonExistentId)) {
+                nonExistentId++;
+            }
+
+            mockMvc.perform(patch("/pessoa/" + nonExistentId)
+                            .contentType(MERGE_PATCH)
+                            .content("{\"observacoes\": \"x\"}"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     @DisplayName("DELETE Tests")
     class DeleteTests {
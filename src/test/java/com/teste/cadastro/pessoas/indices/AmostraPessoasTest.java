@@ -0,0 +1,170 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.FiltroResumo;
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.laboratorios.LaboratorioResumoDTO;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que o resumo aproximado fica dentro da margem de erro informada em relação ao resumo exato.
+ * A amostra é menor que a tabela para que a estimativa seja de fato aproximada.
+ */
+@SpringBootTest(properties = {"cadastro.resumo.aproximado.habilitado=true", "cadastro.resumo.aproximado.tamanho-amostra=100"})
+@AutoConfigureMockMvc
+@Transactional
+class AmostraPessoasTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 8, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AmostraPessoas amostra;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+
+        Laboratorio grande = laboratorioRepository.save(new Laboratorio("Laboratório Amostra Grande"));
+        Laboratorio pequeno = laboratorioRepository.save(new Laboratorio("Laboratório Amostra Pequeno"));
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Amostra"));
+
+        for (int i = 1; i <= 600; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Amostra " + i);
+            pessoa.setDataInicial(BASE.plusHours(i));
+            pessoa.setDataFinal(BASE.plusHours(i + 48));
+            pessoa.setLaboratorio(i % 4 == 0 ? pequeno : grande);
+            pessoa.setInfosPropriedade(propriedade);
+            pessoa.setObservacoes(i % 2 == 0 ? "Coleta especial" : "Coleta comum");
+            pessoaRepository.save(pessoa);
+        }
+
+        amostra.recarregar();
+    }
+
+    @AfterTransaction
+    void restaurarAmostra() {
+        // A carga do setup leu dados da transação do teste, que já foi desfeita
+        amostra.recarregar();
+    }
+
+    private void compararComExato(FiltroResumo filtro) {
+        Map<Integer, Long> exato = laboratorioRepository.listarLaboratoriosComResumo(
+                        filtro.getDataInicialInicio(), filtro.getDataInicialFim(),
+                        filtro.getDataFinalInicio(), filtro.getDataFinalFim(),
+                        filtro.getObservacoes(), 0L).stream()
+                .collect(Collectors.toMap(LaboratorioResumoDTO::getId, LaboratorioResumoDTO::getQuantidadePessoas));
+
+        List<AmostraPessoas.Estimativa> estimativas = amostra.estimar(filtro);
+        assertTrue(!estimativas.isEmpty());
+        for (AmostraPessoas.Estimativa estimativa : estimativas) {
+            long real = exato.getOrDefault(estimativa.laboratorioId(), 0L);
+            System.out.println("Laboratório " + estimativa.laboratorioId() + ": real=" + real
+                    + " estimado=" + estimativa.quantidade() + " ±" + estimativa.margemErro());
+            assertTrue(estimativa.margemErro() > 0);
+            // Três margens de 95% para que o teste não falhe pelas variações normais do sorteio
+            assertTrue(Math.abs(estimativa.quantidade() - real) <= 3 * estimativa.margemErro(),
+                    "Estimativa fora da margem para o laboratório " + estimativa.laboratorioId());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve estimar as quantidades por laboratório dentro da margem de erro")
+    void estimativaSemFiltros() {
+        assertTrue(amostra.isDisponivel());
+        compararComExato(new FiltroResumo(null, null, null, null, null, 0L));
+    }
+
+    @Test
+    @DisplayName("Deve estimar dentro da margem de erro com filtros de datas e observações")
+    void estimativaComFiltros() {
+        compararComExato(new FiltroResumo(BASE.plusHours(100), BASE.plusHours(500), null, null, null, 0L));
+        compararComExato(new FiltroResumo(null, null, null, null, "ESPECIAL", 0L));
+    }
+
+    @Test
+    @DisplayName("GET /laboratorio/resumo?aproximado=true - Deve retornar estimativas com margem de erro")
+    void resumoAproximado() throws Exception {
+        mockMvc.perform(get("/laboratorio/resumo")
+                        .param("quantidadeMinima", "0")
+                        .param("aproximado", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Laboratório Amostra Grande"))
+                .andExpect(jsonPath("$[0].quantidadePessoas").isNumber())
+                .andExpect(jsonPath("$[0].margemErro").isNumber())
+                .andExpect(jsonPath("$[0].nivelConfianca").value(0.95));
+    }
+
+    @Test
+    @DisplayName("Eventos reaplicados após a recarga só devem alterar a população quando a carga não os refletiu")
+    void eventosReaplicadosAposRecarga() {
+        // Carga que leu as pessoas 1 e 3: a 2 ainda não tinha sido confirmada e a 4 já tinha sido excluída
+        AmostraPessoas.Amostra recarregada = amostra.novoEstado();
+        amostra.carregar(recarregada, new Object[]{1L, 1, BASE, BASE.plusHours(1), null});
+        amostra.carregar(recarregada, new Object[]{3L, 1, BASE, BASE.plusHours(1), null});
+        assertEquals(2, recarregada.populacao());
+
+        // Inclusão de ID menor confirmada depois da varredura conta; a já lida pela carga não conta de novo
+        amostra.aplicar(recarregada, PessoaEvento.criada(pessoa(2L)));
+        amostra.aplicar(recarregada, PessoaEvento.criada(pessoa(3L)));
+        assertEquals(3, recarregada.populacao());
+
+        // Exclusão que a carga não chegou a contar não desconta; a de uma pessoa contada desconta uma vez
+        amostra.aplicar(recarregada, PessoaEvento.removida(4L));
+        amostra.aplicar(recarregada, PessoaEvento.removida(1L));
+        amostra.aplicar(recarregada, PessoaEvento.removida(1L));
+        assertEquals(2, recarregada.populacao());
+    }
+
+    private static PessoaDTO pessoa(Long id) {
+        PessoaDTO pessoa = new PessoaDTO("Pessoa Reaplicada " + id, BASE, BASE.plusHours(1), null,
+                new LaboratorioDTO(1, "Laboratório Reaplicado"), null);
+        pessoa.setId(id);
+        return pessoa;
+    }
+}
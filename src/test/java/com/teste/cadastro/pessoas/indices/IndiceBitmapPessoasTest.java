@@ -0,0 +1,232 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioDTO;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que o índice de bitmaps conta pessoas exatamente como o banco e que ele é usado
+ * nos endpoints de quantidade e na verificação de uso antes das exclusões.
+ */
+@SpringBootTest(properties = "cadastro.indices.bitmap.habilitado=true")
+@AutoConfigureMockMvc
+@Transactional
+class IndiceBitmapPessoasTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 8, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IndiceBitmapPessoas indice;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private final List<Laboratorio> laboratorios = new ArrayList<>();
+    private final List<Propriedade> propriedades = new ArrayList<>();
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+        laboratorios.clear();
+        propriedades.clear();
+        pessoas.clear();
+
+        for (int i = 1; i <= 3; i++) {
+            laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Bitmap " + i)));
+            propriedades.add(propriedadeRepository.save(new Propriedade("Fazenda Bitmap " + i)));
+        }
+        // Laboratório e propriedade sem pessoas, que podem ser excluídos
+        laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Bitmap Vazio")));
+        propriedades.add(propriedadeRepository.save(new Propriedade("Fazenda Bitmap Vazia")));
+
+        for (int i = 1; i <= 30; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Bitmap " + i);
+            pessoa.setDataInicial(BASE.plusDays(i));
+            pessoa.setDataFinal(BASE.plusDays(i + 10));
+            pessoa.setLaboratorio(laboratorios.get(i % 3));
+            pessoa.setInfosPropriedade(propriedades.get(i % 2));
+            pessoa.setObservacoes("Índice de bitmaps");
+            pessoas.add(pessoaRepository.save(pessoa));
+        }
+
+        // O índice é compartilhado pelo contexto e a transação do teste é desfeita no final: recarregá-lo aqui
+        // leria dados que nunca chegam ao commit, então as pessoas entram pelos eventos e saem no @AfterEach
+        pessoas.forEach(pessoa -> indice.aoAlterarPessoa(PessoaEvento.criada(new PessoaDTO(pessoa))));
+    }
+
+    @AfterEach
+    void restaurarIndice() {
+        pessoas.forEach(pessoa -> indice.aoAlterarPessoa(PessoaEvento.removida(pessoa.getId())));
+    }
+
+    @Nested
+    @DisplayName("Contagens")
+    class Contagens {
+
+        @Test
+        @DisplayName("Deve contar por laboratório, por propriedade e pela interseção igual ao banco")
+        void contagensIguaisAoBanco() {
+            assertTrue(indice.isDisponivel());
+            for (Laboratorio laboratorio : laboratorios) {
+                assertEquals(pessoaRepository.countByLaboratorioId(laboratorio.getId()),
+                        indice.contarPorLaboratorio(laboratorio.getId()).getAsLong());
+                for (Propriedade propriedade : propriedades) {
+                    assertEquals(pessoaRepository.countByLaboratorioIdAndInfosPropriedadeId(laboratorio.getId(), propriedade.getId()),
+                            indice.contarPorLaboratorioEPropriedade(laboratorio.getId(), propriedade.getId()).getAsLong());
+                }
+            }
+            for (Propriedade propriedade : propriedades) {
+                assertEquals(pessoaRepository.countByInfosPropriedadeId(propriedade.getId()),
+                        indice.contarPorPropriedade(propriedade.getId()).getAsLong());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve mover a pessoa entre bitmaps ao receber atualização e removê-la na exclusão")
+        void atualizacaoEExclusaoPorEvento() {
+            Pessoa pessoa = pessoas.get(0);
+            Laboratorio anterior = pessoa.getLaboratorio();
+            Laboratorio novo = laboratorios.get(3);
+            long quantidadeAnterior = indice.contarPorLaboratorio(anterior.getId()).getAsLong();
+
+            pessoa.setLaboratorio(novo);
+            pessoaRepository.save(pessoa);
+            indice.aoAlterarPessoa(PessoaEvento.salva(new PessoaDTO(pessoa)));
+
+            assertEquals(quantidadeAnterior - 1, indice.contarPorLaboratorio(anterior.getId()).getAsLong());
+            assertEquals(1, indice.contarPorLaboratorio(novo.getId()).getAsLong());
+
+            pessoaRepository.delete(pessoa);
+            indice.aoAlterarPessoa(PessoaEvento.removida(pessoa.getId()));
+
+            assertEquals(0, indice.contarPorLaboratorio(novo.getId()).getAsLong());
+        }
+
+        @Test
+        @DisplayName("GET /laboratorio/{id}/pessoas/quantidade - Deve retornar a quantidade filtrada por propriedade")
+        void quantidadePorLaboratorioEPropriedade() throws Exception {
+            Laboratorio laboratorio = laboratorios.get(0);
+            Propriedade propriedade = propriedades.get(0);
+            long esperado = pessoaRepository.countByLaboratorioIdAndInfosPropriedadeId(laboratorio.getId(), propriedade.getId());
+
+            mockMvc.perform(get("/laboratorio/{id}/pessoas/quantidade", laboratorio.getId())
+                            .param("propriedadeId", String.valueOf(propriedade.getId()))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.laboratorioId").value(laboratorio.getId()))
+                    .andExpect(jsonPath("$.propriedadeId").value(propriedade.getId()))
+                    .andExpect(jsonPath("$.quantidade").value(esperado));
+        }
+
+        @Test
+        @DisplayName("GET /propriedade/{id}/pessoas/quantidade - Deve retornar a quantidade da propriedade")
+        void quantidadePorPropriedade() throws Exception {
+            Propriedade propriedade = propriedades.get(1);
+
+            mockMvc.perform(get("/propriedade/{id}/pessoas/quantidade", propriedade.getId())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.quantidade").value(pessoaRepository.countByInfosPropriedadeId(propriedade.getId())));
+        }
+    }
+
+    @Nested
+    @DisplayName("Exclusões")
+    class Exclusoes {
+
+        @Test
+        @DisplayName("DELETE /laboratorio/{id} - Deve retornar 409 para laboratório com pessoas")
+        void laboratorioEmUso() throws Exception {
+            mockMvc.perform(delete("/laboratorio/{id}", laboratorios.get(0).getId()))
+                    .andDo(print())
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("DELETE /propriedade/{id} - Deve retornar 409 para propriedade com pessoas")
+        void propriedadeEmUso() throws Exception {
+            mockMvc.perform(delete("/propriedade/{id}", propriedades.get(0).getId()))
+                    .andDo(print())
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("DELETE /laboratorio/{id} - Deve retornar 409 pela chave estrangeira quando o índice não aponta pessoas")
+        void laboratorioEmUsoForaDoIndice() throws Exception {
+            Laboratorio laboratorio = laboratorios.get(1);
+            pessoas.stream()
+                    .filter(pessoa -> pessoa.getLaboratorio().getId().equals(laboratorio.getId()))
+                    .forEach(pessoa -> indice.aoAlterarPessoa(PessoaEvento.removida(pessoa.getId())));
+            assertEquals(0, indice.contarPorLaboratorio(laboratorio.getId()).getAsLong());
+
+            mockMvc.perform(delete("/laboratorio/{id}", laboratorio.getId()))
+                    .andDo(print())
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("DELETE /laboratorio/{id} - Deve excluir laboratório sem pessoas mesmo com o índice defasado")
+        void indiceDefasado() throws Exception {
+            // O índice passa a apontar uma pessoa no laboratório vazio, mas o banco não tem nenhuma
+            PessoaDTO defasada = new PessoaDTO(pessoas.get(0));
+            defasada.setLaboratorio(new LaboratorioDTO(laboratorios.get(3)));
+            indice.aoAlterarPessoa(PessoaEvento.salva(defasada));
+            assertEquals(1, indice.contarPorLaboratorio(laboratorios.get(3).getId()).getAsLong());
+
+            mockMvc.perform(delete("/laboratorio/{id}", laboratorios.get(3).getId()))
+                    .andExpect(status().isNoContent());
+        }
+
+        @Test
+        @DisplayName("DELETE /laboratorio/{id} - Deve excluir laboratório sem pessoas")
+        void laboratorioSemPessoas() throws Exception {
+            mockMvc.perform(delete("/laboratorio/{id}", laboratorios.get(3).getId()))
+                    .andExpect(status().isNoContent());
+        }
+    }
+}
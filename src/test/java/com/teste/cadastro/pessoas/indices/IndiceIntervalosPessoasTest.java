@@ -0,0 +1,184 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaDTO;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que o índice de intervalos encontra exatamente as pessoas ativas em um instante,
+ * comparando com a consulta equivalente no banco.
+ */
+@SpringBootTest(properties = "cadastro.pessoas.intervalos.habilitado=true")
+@AutoConfigureMockMvc
+@Transactional
+class IndiceIntervalosPessoasTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 8, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IndiceIntervalosPessoas indice;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private final List<Laboratorio> laboratorios = new ArrayList<>();
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+        laboratorios.clear();
+        pessoas.clear();
+
+        laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Intervalos 1")));
+        laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Intervalos 2")));
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Intervalos"));
+
+        Random random = new Random(42);
+        for (int i = 1; i <= 80; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Intervalos " + i);
+            int inicio = random.nextInt(60);
+            pessoa.setDataInicial(BASE.plusDays(inicio));
+            pessoa.setDataFinal(BASE.plusDays(inicio + 1 + random.nextInt(20)));
+            pessoa.setLaboratorio(laboratorios.get(i % 2));
+            pessoa.setInfosPropriedade(propriedade);
+            pessoas.add(pessoaRepository.save(pessoa));
+        }
+
+        indice.recarregar();
+    }
+
+    @AfterTransaction
+    void restaurarIndice() {
+        // A carga do setup leu dados da transação do teste, que já foi desfeita
+        indice.recarregar();
+    }
+
+    private void compararComBanco(ZonedDateTime instante, Integer laboratorioId) {
+        List<Long> esperado = pessoaRepository.listarAtivasEm(instante, laboratorioId).stream()
+                .map(Pessoa::getId)
+                .toList();
+        List<Long> obtido = indice.ativasEm(instante, laboratorioId);
+        assertEquals(new HashSet<>(esperado), new HashSet<>(obtido));
+        assertEquals(esperado.size(), obtido.size());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar as mesmas pessoas ativas que o banco, inclusive nos limites dos intervalos")
+    void ativasIguaisAoBanco() {
+        assertTrue(indice.isDisponivel());
+        for (int dia = -1; dia <= 82; dia += 3) {
+            compararComBanco(BASE.plusDays(dia), null);
+            compararComBanco(BASE.plusDays(dia), laboratorios.get(0).getId());
+        }
+        // Início é inclusivo e fim é exclusivo
+        Pessoa pessoa = pessoas.get(0);
+        assertTrue(indice.ativasEm(pessoa.getDataInicial(), null).contains(pessoa.getId()));
+        assertTrue(!indice.ativasEm(pessoa.getDataFinal(), null).contains(pessoa.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar alterações de período e exclusões recebidas por evento")
+    void alteracoesPorEvento() {
+        Pessoa pessoa = pessoas.get(0);
+        pessoa.setDataInicial(BASE.minusDays(30));
+        pessoa.setDataFinal(BASE.minusDays(20));
+        pessoaRepository.save(pessoa);
+        indice.aoAlterarPessoa(PessoaEvento.salva(new PessoaDTO(pessoa)));
+
+        assertEquals(List.of(pessoa.getId()), indice.ativasEm(BASE.minusDays(25), null));
+
+        Pessoa removida = pessoas.get(1);
+        pessoaRepository.delete(removida);
+        indice.aoAlterarPessoa(PessoaEvento.removida(removida.getId()));
+
+        for (int dia = 0; dia <= 80; dia += 5) {
+            compararComBanco(BASE.plusDays(dia), null);
+        }
+    }
+
+    @Test
+    @DisplayName("A árvore deve continuar correta após muitas inserções e remoções")
+    void arvoreComInsercoesERemocoes() {
+        ArvoreIntervalos arvore = new ArvoreIntervalos();
+        Map<Long, long[]> intervalos = new HashMap<>();
+        Random random = new Random(7);
+        for (long id = 1; id <= 5_000; id++) {
+            long inicio = random.nextInt(10_000);
+            long fim = inicio + 1 + random.nextInt(500);
+            arvore.inserir(id, inicio, fim);
+            intervalos.put(id, new long[]{inicio, fim});
+        }
+        for (long id = 1; id <= 5_000; id += 2) {
+            arvore.remover(id, intervalos.remove(id)[0]);
+        }
+        assertEquals(intervalos.size(), arvore.tamanho());
+
+        for (long instante = 0; instante < 10_600; instante += 97) {
+            long t = instante;
+            Set<Long> esperado = new HashSet<>();
+            intervalos.forEach((id, intervalo) -> {
+                if (intervalo[0] <= t && t < intervalo[1]) {
+                    esperado.add(id);
+                }
+            });
+            Set<Long> obtido = new HashSet<>();
+            arvore.consultar(t, obtido::add);
+            assertEquals(esperado, obtido);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /pessoa/ativos - Deve retornar as pessoas ativas no instante ordenadas pela data inicial")
+    void endpointAtivos() throws Exception {
+        ZonedDateTime instante = BASE.plusDays(30);
+        List<Pessoa> esperado = pessoaRepository.listarAtivasEm(instante, laboratorios.get(1).getId());
+
+        mockMvc.perform(get("/pessoa/ativos")
+                        .param("em", instante.toString())
+                        .param("laboratorioId", String.valueOf(laboratorios.get(1).getId()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(esperado.size()))
+                .andExpect(jsonPath("$[0].id").value(esperado.get(0).getId()));
+    }
+}
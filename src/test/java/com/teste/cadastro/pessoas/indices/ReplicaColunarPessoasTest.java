@@ -0,0 +1,150 @@
+package com.teste.cadastro.pessoas.indices;
+
+import com.teste.cadastro.laboratorios.CursorResumo;
+import com.teste.cadastro.laboratorios.FiltroResumo;
+import com.teste.cadastro.laboratorios.Laboratorio;
+import com.teste.cadastro.laboratorios.LaboratorioRepository;
+import com.teste.cadastro.laboratorios.LaboratorioResumoDTO;
+import com.teste.cadastro.pessoas.Pessoa;
+import com.teste.cadastro.pessoas.PessoaEvento;
+import com.teste.cadastro.pessoas.PessoaRepository;
+import com.teste.cadastro.propriedades.Propriedade;
+import com.teste.cadastro.propriedades.PropriedadeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que a réplica colunar responde o resumo exatamente como a consulta do repositório.
+ */
+@SpringBootTest(properties = "cadastro.resumo.memoria.habilitada=true")
+@Transactional
+class ReplicaColunarPessoasTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 8, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+
+    @Autowired
+    private ReplicaColunarPessoas replica;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private PropriedadeRepository propriedadeRepository;
+
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        pessoaRepository.deleteAll();
+        laboratorioRepository.deleteAll();
+        propriedadeRepository.deleteAll();
+        pessoas.clear();
+
+        List<Laboratorio> laboratorios = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            laboratorios.add(laboratorioRepository.save(new Laboratorio("Laboratório Réplica " + i)));
+        }
+        Propriedade propriedade = propriedadeRepository.save(new Propriedade("Fazenda Réplica"));
+
+        String[] observacoes = {"Observação Especial", "observacao comum", null, "Coleta ESPECIAL"};
+        for (int i = 1; i <= 40; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Réplica " + i);
+            pessoa.setDataInicial(BASE.plusDays(i));
+            pessoa.setDataFinal(BASE.plusDays(i + (i % 7) + 1));
+            // Distribuição desigual entre laboratórios para que a ordenação seja determinística
+            pessoa.setLaboratorio(laboratorios.get(i % 10 < 4 ? 0 : i % 10 < 7 ? 1 : i % 10 < 9 ? 2 : 3));
+            pessoa.setInfosPropriedade(propriedade);
+            pessoa.setObservacoes(observacoes[i % observacoes.length]);
+            pessoas.add(pessoaRepository.save(pessoa));
+        }
+
+        replica.recarregar();
+    }
+
+    private void compararComRepositorio(FiltroResumo filtro) {
+        List<LaboratorioResumoDTO> esperado = laboratorioRepository.listarLaboratoriosComResumo(
+                filtro.getDataInicialInicio(), filtro.getDataInicialFim(),
+                filtro.getDataFinalInicio(), filtro.getDataFinalFim(),
+                filtro.getObservacoes(), filtro.getQuantidadeMinima());
+        List<LaboratorioResumoDTO> obtido = replica.resumir(filtro);
+        assertEquals(descrever(esperado), descrever(obtido));
+    }
+
+    private List<String> descrever(List<LaboratorioResumoDTO> resumo) {
+        return resumo.stream().map(r -> r.getId() + ":" + r.getNome() + ":" + r.getQuantidadePessoas()).toList();
+    }
+
+    @Test
+    @DisplayName("Deve responder igual ao banco sem filtros")
+    void semFiltros() {
+        assertTrue(replica.isDisponivel());
+        compararComRepositorio(new FiltroResumo(null, null, null, null, null, 0L));
+    }
+
+    @Test
+    @DisplayName("Deve responder igual ao banco com filtros de datas e quantidade mínima")
+    void filtrosDeDatas() {
+        compararComRepositorio(new FiltroResumo(BASE.plusDays(5), BASE.plusDays(30), null, null, null, 1L));
+        compararComRepositorio(new FiltroResumo(null, null, BASE.plusDays(10), BASE.plusDays(25), null, 3L));
+        compararComRepositorio(new FiltroResumo(BASE.plusDays(3), BASE.plusDays(20), BASE.plusDays(8), BASE.plusDays(40), null, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar observações sem diferenciar maiúsculas e acentos, como o LIKE do MySQL")
+    void filtroObservacoes() {
+        compararComRepositorio(new FiltroResumo(null, null, null, null, "especial", 0L));
+        compararComRepositorio(new FiltroResumo(null, null, null, null, "OBSERVAÇÃO", 0L));
+        compararComRepositorio(new FiltroResumo(null, null, null, null, "", 0L));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a exclusão de pessoas recebida por evento")
+    void exclusaoPorEvento() {
+        Pessoa removida = pessoas.get(0);
+        pessoaRepository.delete(removida);
+        replica.aoAlterarPessoa(PessoaEvento.removida(removida.getId()));
+
+        compararComRepositorio(new FiltroResumo(null, null, null, null, null, 0L));
+    }
+
+    @Test
+    @DisplayName("Deve paginar com heap limitado na mesma ordem e com o mesmo cursor do banco")
+    void paginacao() {
+        FiltroResumo filtro = new FiltroResumo(null, null, null, null, null, 0L);
+        CursorResumo cursor = null;
+        List<String> paginasReplica = new ArrayList<>();
+        do {
+            List<LaboratorioResumoDTO> esperado = laboratorioRepository.listarLaboratoriosComResumoPaginado(
+                    null, null, null, null, null, 0L,
+                    cursor == null ? null : cursor.quantidade(),
+                    cursor == null ? null : cursor.getDataInicial(),
+                    cursor == null ? null : cursor.id(),
+                    PageRequest.of(0, 1));
+            List<LaboratorioResumoDTO> obtido = replica.resumir(filtro, cursor, 1);
+            assertEquals(descrever(esperado), descrever(obtido));
+            paginasReplica.addAll(descrever(obtido));
+            cursor = obtido.isEmpty() ? null : CursorResumo.apos(obtido.get(0));
+        } while (cursor != null);
+
+        assertFalse(paginasReplica.isEmpty());
+        assertEquals(descrever(replica.resumir(filtro)), paginasReplica);
+    }
+}
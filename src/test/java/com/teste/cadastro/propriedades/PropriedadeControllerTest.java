@@ -28,6 +28,9 @@ class PropriedadeControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SugestoesPropriedadeService sugestoesService;
+
     private int idP1;
     private int idP2;
 
@@ -98,6 +101,19 @@ class PropriedadeControllerTest {
             String responseBody = mvcResult.getResponse().getContentAsString();
             System.out.println("Response Body (GET /pessoa/{id}):\n" + responseBody);
         }
+
+        @Test
+        @DisplayName("GET /propriedade?ids= - Deve retornar na ordem pedida e informar os IDs inexistentes")
+        void findByIds() throws Exception {
+            mockMvc.perform(get("/propriedade")
+                            .param("ids", idP2 + "," + 999999 + "," + idP1 + "," + idP2))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens.length()").value(2))
+                    .andExpect(jsonPath("$.itens[0].nome").value("Fazenda Modelo 2"))
+                    .andExpect(jsonPath("$.itens[1].nome").value("Fazenda Modelo 1"))
+                    .andExpect(jsonPath("$.naoEncontrados.length()").value(1))
+                    .andExpect(jsonPath("$.naoEncontrados[0]").value(999999));
+        }
     }
 
     @Nested
@@ -404,4 +420,56 @@ class PropriedadeControllerTest {
             System.out.println("Response Body (DELETE /propriedade/{id}):\n" + responseBody);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("SUGESTOES Tests")
+    class SugestoesTests {
+
+        @BeforeEach
+        void carregarSugestoes() {
+            sugestoesService.recarregar();
+        }
+
+        @Test
+        @DisplayName("GET /propriedade/sugestoes - Deve sugerir pelo prefixo sem diferenciar maiúsculas e acentos")
+        void sugerirPorPrefixo() throws Exception {
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "FAZENDA MOD"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].id").value(idP1))
+                    .andExpect(jsonPath("$[1].nome").value("Fazenda Modelo 2"));
+
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "fazenda mod").param("limite", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "inexistente"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET /propriedade/sugestoes - Deve refletir gravações e exclusões recebidas por evento")
+        void atualizarPorEvento() throws Exception {
+            sugestoesService.aoAlterarPropriedade(PropriedadeEvento.salva(new PropriedadeDTO(idP2, "Fazenda Água Limpa")));
+            sugestoesService.aoAlterarPropriedade(PropriedadeEvento.removida(idP1));
+
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "fazenda agua"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].nome").value("Fazenda Água Limpa"));
+
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "fazenda mod"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET /propriedade/sugestoes - Deve retornar 400 para limite fora do intervalo")
+        void limiteInvalido() throws Exception {
+            mockMvc.perform(get("/propriedade/sugestoes").param("prefixo", "a").param("limite", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("O limite deve estar entre 1 e 100."));
+        }
+    }
+}